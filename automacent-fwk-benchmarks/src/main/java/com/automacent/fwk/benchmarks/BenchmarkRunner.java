@@ -0,0 +1,47 @@
+package com.automacent.fwk.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the framework benchmarks at 1, 4 and 16 threads with the GC profiler to
+ * capture the throughput and the allocation rate. An optional regular
+ * expression can be passed as argument to select the benchmarks to run.
+ * 
+ * <pre>
+ * java -jar automacent-fwk-benchmarks/target/benchmarks.jar [regex]
+ * </pre>
+ * 
+ * @author sighil.sivadas
+ */
+public class BenchmarkRunner {
+
+	private static final int[] THREAD_COUNTS = { 1, 4, 16 };
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+		String reportDir = System.getProperty("automacent.reportdir",
+				String.format("target%sbenchmark-report", File.separator));
+		for (int threads : THREAD_COUNTS) {
+			ChainedOptionsBuilder options = new OptionsBuilder()
+					.include(include)
+					.threads(threads)
+					.forks(1)
+					.warmupIterations(3)
+					.measurementIterations(5)
+					.addProfiler(GCProfiler.class)
+					.jvmArgsAppend("-Djava.awt.headless=true", "-Dautomacent.loglevel=ERROR",
+							"-Dautomacent.reportdir=" + reportDir)
+					.resultFormat(ResultFormatType.JSON)
+					.result(String.format("%s%sjmh-threads-%s.json", reportDir, File.separator, threads));
+			new File(reportDir).mkdirs();
+			new Runner(options.build()).run();
+		}
+	}
+}
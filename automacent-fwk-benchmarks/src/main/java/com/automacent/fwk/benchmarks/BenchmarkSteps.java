@@ -0,0 +1,47 @@
+package com.automacent.fwk.benchmarks;
+
+import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
+
+/**
+ * Steps and actions woven with the framework aspects. The methods do not
+ * interact with a browser so that the benchmarks measure only the overhead
+ * added by the framework
+ * 
+ * @author sighil.sivadas
+ */
+public class BenchmarkSteps {
+
+	/**
+	 * {@link Action} without arguments
+	 * 
+	 * @return constant value
+	 */
+	@Action
+	public int doNothing() {
+		return 1;
+	}
+
+	/**
+	 * {@link Action} with arguments
+	 * 
+	 * @param text   text argument
+	 * @param number numeric argument
+	 * @return sum of the text length and number
+	 */
+	@Action
+	public int doSomethingWith(String text, int number) {
+		return text.length() + number;
+	}
+
+	/**
+	 * {@link Step} calling {@link Action} methods
+	 * 
+	 * @param text text argument
+	 * @return result of the actions
+	 */
+	@Step
+	public int performStep(String text) {
+		return doNothing() + doSomethingWith(text, 1);
+	}
+}
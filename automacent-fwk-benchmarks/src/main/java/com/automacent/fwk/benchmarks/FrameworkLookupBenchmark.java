@@ -0,0 +1,33 @@
+package com.automacent.fwk.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.TestObject;
+import com.automacent.fwk.execution.IterationManager;
+
+/**
+ * Cost of looking up the per test framework objects which are accessed on
+ * every step and action
+ * 
+ * @author sighil.sivadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FrameworkLookupBenchmark {
+
+	@Benchmark
+	public TestObject getTestObject(FrameworkState state) {
+		return BaseTest.getTestObject();
+	}
+
+	@Benchmark
+	public IterationManager getIterationManager(FrameworkState state) {
+		return IterationManager.getManager();
+	}
+}
@@ -0,0 +1,42 @@
+package com.automacent.fwk.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testng.Reporter;
+
+import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.TestObject;
+import com.automacent.fwk.enums.RepeatMode;
+
+/**
+ * Per benchmark thread state. Prepares the {@link TestObject} of the thread the
+ * same way a test thread would be prepared, without the TestNG context and
+ * without a browser
+ * 
+ * @author sighil.sivadas
+ */
+@State(Scope.Thread)
+public class FrameworkState {
+
+	BenchmarkSteps steps;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		TestObject testObject = BaseTest.getTestObject();
+		testObject.setRepeatMode(RepeatMode.OFF);
+		testObject.setSlowdownDurationInSeconds(0);
+		steps = new BenchmarkSteps();
+	}
+
+	/**
+	 * Report entries are held in memory by TestNG. Clear them so that the
+	 * iterations do not measure an ever growing report
+	 */
+	@TearDown(Level.Iteration)
+	public void clearReport() {
+		Reporter.clear();
+	}
+}
@@ -0,0 +1,166 @@
+package com.automacent.fwk.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.automacent.fwk.utils.JacksonUtils;
+import com.automacent.fwk.utils.JsonPath;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Throughput of the {@link JacksonUtils} conversions on REST payloads of 1, 100
+ * and 5000 launcher-event-like records (about 0.2 KB, 20 KB and 1 MB). The
+ * legacy benchmarks repeat the conversions the way {@link JacksonUtils} did
+ * before using cached readers and writers (String input, readValue with the raw
+ * LinkedHashMap class and convertValue), as the baseline. The JSON path
+ * benchmarks compare extracting a few fields in a streaming pass with reading
+ * the whole map.
+ * 
+ * Run with -Dautomacent.jackson.accelerate=true and jackson-module-blackbird in
+ * the classpath to measure the bytecode accelerated POJO binding
+ * 
+ * @author sighil.sivadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+	/**
+	 * Record bound by the POJO benchmarks
+	 */
+	public static class Event {
+		public String type;
+		public String method;
+		public String methodType;
+		public int iteration;
+		public String status;
+		public long duration;
+		public long timestamp;
+		public String error;
+	}
+
+	/**
+	 * Payload bound by the POJO benchmarks
+	 */
+	public static class Payload {
+		public String testInstance;
+		public List<Event> events;
+	}
+
+	private static final List<JsonPath> JSON_PATHS = List.of(JsonPath.compile("$.testInstance"),
+			JsonPath.compile("$.events[0].method"), JsonPath.compile("$.events[0].status"));
+
+	@Param({ "1", "100", "5000" })
+	public int records;
+
+	private final ObjectMapper legacyMapper = new ObjectMapper();
+
+	private String jsonString;
+	private byte[] jsonBytes;
+	private JsonNode jsonNode;
+	private Payload payload;
+
+	@Setup
+	public void setUp() {
+		List<Map<String, Object>> events = new ArrayList<>(records);
+		for (int record = 0; record < records; record++) {
+			Map<String, Object> event = new LinkedHashMap<>();
+			event.put("type", record % 2 == 0 ? "START" : "END");
+			event.put("method", String.format("searchProductsWithKeyword(\"keyword %s\", %s)", record, record));
+			event.put("methodType", "STEP");
+			event.put("iteration", record / 10);
+			event.put("status", record % 50 == 49 ? "FAIL" : "PASS");
+			event.put("duration", 1000L + record);
+			event.put("timestamp", 1700000000000L + record);
+			event.put("error", record % 50 == 49 ? "java.lang.AssertionError: expected [200] but found [503]" : null);
+			events.add(event);
+		}
+		Map<String, Object> document = new LinkedHashMap<>();
+		document.put("testInstance", "benchmark");
+		document.put("events", events);
+
+		jsonBytes = JacksonUtils.getBytes(document);
+		jsonString = new String(jsonBytes, StandardCharsets.UTF_8);
+		jsonNode = JacksonUtils.getJsonNode(jsonBytes);
+		payload = JacksonUtils.getObject(jsonBytes, Payload.class);
+	}
+
+	@Benchmark
+	public Object legacyReadMapFromString() throws Exception {
+		return legacyMapper.readValue(jsonString, LinkedHashMap.class);
+	}
+
+	@Benchmark
+	public Map<String, Object> readMapFromString() {
+		return JacksonUtils.getJsonMap(jsonString);
+	}
+
+	@Benchmark
+	public Map<String, Object> readMapFromBytes() {
+		return JacksonUtils.getJsonMap(jsonBytes);
+	}
+
+	@Benchmark
+	public JsonNode readTreeFromBytes() {
+		return JacksonUtils.getJsonNode(jsonBytes);
+	}
+
+	@Benchmark
+	public JsonNode readTreeFromStream() {
+		return JacksonUtils.getJsonNode(new ByteArrayInputStream(jsonBytes));
+	}
+
+	@Benchmark
+	public Payload bindPojoFromBytes() {
+		return JacksonUtils.getObject(jsonBytes, Payload.class);
+	}
+
+	@Benchmark
+	public Object legacyTreeToMap() {
+		return legacyMapper.convertValue(jsonNode, Map.class);
+	}
+
+	@Benchmark
+	public Map<String, Object> treeToMap() {
+		return JacksonUtils.getJsonMap(jsonNode);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Object readFieldsFromMap() {
+		Map<String, Object> document = JacksonUtils.getJsonMap(jsonBytes);
+		Map<String, Object> event = ((List<Map<String, Object>>) document.get("events")).get(0);
+		return List.of(document.get("testInstance"), event.get("method"), event.get("status"));
+	}
+
+	@Benchmark
+	public Map<JsonPath, Object> readFieldsByJsonPath() {
+		return JsonPath.evaluate(JacksonUtils.getJsonParser(jsonBytes), JSON_PATHS);
+	}
+
+	@Benchmark
+	public byte[] writePojoToBytes() {
+		return JacksonUtils.getBytes(payload);
+	}
+
+	@Benchmark
+	public String writeTreeToString() {
+		return JacksonUtils.getString(jsonNode);
+	}
+}
@@ -0,0 +1,180 @@
+package com.automacent.fwk.benchmarks;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.ITestContext;
+
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.TestStatus;
+import com.automacent.fwk.launcher.LauncherClientManager;
+import com.automacent.fwk.launcher.RestLauncherClient;
+import com.automacent.fwk.utils.JacksonUtils;
+
+/**
+ * Load test of the launcher clients against the {@link LauncherStandInServer}.
+ * For 1 to 64 parallel tests, each test logs start and end events through the
+ * {@link LauncherClientManager} with the {@link RestLauncherClient}, the way
+ * the steps of a test would. The benchmark reports the events per second
+ * received by the server, measured until all the tests are stopped, and the
+ * time the test threads were stalled in the logging calls. The results are
+ * written to launcher-load.json in the report directory.
+ *
+ * <pre>
+ * java -cp automacent-fwk-benchmarks/target/benchmarks.jar com.automacent.fwk.benchmarks.LauncherLoadBenchmark [events per test] [latency ms] [failure rate]
+ * </pre>
+ *
+ * @author sighil.sivadas
+ */
+public class LauncherLoadBenchmark {
+
+	private static final int[] PARALLEL_TESTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+		System.setProperty("automacent.loglevel", System.getProperty("automacent.loglevel", "ERROR"));
+		int eventsPerTest = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		long latencyInMilliSeconds = args.length > 1 ? Long.parseLong(args[1]) : 5;
+		double failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+		String reportDir = System.getProperty("automacent.reportdir",
+				String.format("target%sbenchmark-report", File.separator));
+		System.setProperty("automacent.reportdir", reportDir);
+
+		LauncherStandInServer server = new LauncherStandInServer(0, latencyInMilliSeconds, failureRate).start();
+		try {
+			System.setProperty("automacent.launcher.url", server.getUrl());
+			LauncherClientManager.getManager().generateLauncherClientMasterMap(RestLauncherClient.class.getName());
+			LauncherClientManager.getManager().setEventDispatchParameters(100, 100);
+
+			System.out.println(String.format("Launcher stand-in %s, %s ms latency, %s failure rate, %s events per test",
+					server.getUrl(), latencyInMilliSeconds, failureRate, eventsPerTest));
+			System.out.println(String.format("%8s %12s %10s %12s %12s %12s", "tests", "events/s", "requests",
+					"stall avg us", "stall p99 us", "stall max us"));
+			List<Map<String, Object>> results = new ArrayList<>();
+			for (int parallelTests : PARALLEL_TESTS) {
+				Map<String, Object> result = run(server, parallelTests, eventsPerTest);
+				results.add(result);
+				System.out.println(String.format("%8s %12.0f %10s %12.1f %12.1f %12.1f", parallelTests,
+						result.get("eventsPerSecond"), result.get("requests"), result.get("stallAvgMicroSeconds"),
+						result.get("stallP99MicroSeconds"), result.get("stallMaxMicroSeconds")));
+			}
+
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("latencyInMilliSeconds", latencyInMilliSeconds);
+			report.put("failureRate", failureRate);
+			report.put("eventsPerTest", eventsPerTest);
+			report.put("results", results);
+			Files.createDirectories(Paths.get(reportDir));
+			Files.write(Paths.get(reportDir, "launcher-load.json"),
+					JacksonUtils.getString(JacksonUtils.getJsonNode(report)).getBytes(StandardCharsets.UTF_8));
+		} finally {
+			server.stop();
+		}
+	}
+
+	/**
+	 * Run the tests in parallel and collect the results
+	 */
+	private static Map<String, Object> run(LauncherStandInServer server, int parallelTests, int eventsPerTest)
+			throws InterruptedException {
+		server.resetCounters();
+		long[][] stalls = new long[parallelTests][];
+		CountDownLatch ready = new CountDownLatch(parallelTests);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int test = 0; test < parallelTests; test++) {
+			int testNumber = test;
+			Thread thread = new Thread(() -> {
+				ExecutionContext.bind();
+				LauncherClientManager.getManager().enableClient();
+				LauncherClientManager.getManager().startTest(newTestContext(String.format("load-%s", testNumber)));
+				ready.countDown();
+				try {
+					start.await();
+					stalls[testNumber] = logEvents(eventsPerTest);
+					LauncherClientManager.getManager().stopTest();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					ExecutionContext.unbind();
+				}
+			}, String.format("load-test-%s", test));
+			threads.add(thread);
+			thread.start();
+		}
+		ready.await();
+		long startTime = System.nanoTime();
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+		long elapsedNanoSeconds = System.nanoTime() - startTime;
+
+		long[] allStalls = Arrays.stream(stalls).filter(stall -> stall != null).flatMapToLong(Arrays::stream)
+				.sorted().toArray();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("parallelTests", parallelTests);
+		result.put("receivedEvents", server.getReceivedEvents());
+		result.put("eventsPerSecond",
+				server.getReceivedEvents() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanoSeconds);
+		result.put("requests", server.getRequests());
+		result.put("failedRequests", server.getFailedRequests());
+		result.put("elapsedMilliSeconds", TimeUnit.NANOSECONDS.toMillis(elapsedNanoSeconds));
+		result.put("stallAvgMicroSeconds",
+				allStalls.length == 0 ? 0.0 : Arrays.stream(allStalls).average().getAsDouble() / 1000);
+		result.put("stallP99MicroSeconds",
+				allStalls.length == 0 ? 0.0 : allStalls[(int) Math.ceil(allStalls.length * 0.99) - 1] / 1000.0);
+		result.put("stallMaxMicroSeconds", allStalls.length == 0 ? 0.0 : allStalls[allStalls.length - 1] / 1000.0);
+		return result;
+	}
+
+	/**
+	 * Log the start and end of a step for each pair of events and record how long
+	 * each logging call blocked the test thread
+	 *
+	 * @return Stall in nanoseconds of each call
+	 */
+	private static long[] logEvents(int eventsPerTest) {
+		long[] stalls = new long[eventsPerTest];
+		for (int event = 0; event < eventsPerTest; event++) {
+			String step = String.format("step %s", event / 2);
+			long startTime = System.nanoTime();
+			if (event % 2 == 0)
+				LauncherClientManager.getManager().logStart(step, MethodType.STEP);
+			else
+				LauncherClientManager.getManager().logEnd(step, MethodType.STEP, TestStatus.PASS, 1, null);
+			stalls[event] = System.nanoTime() - startTime;
+		}
+		return stalls;
+	}
+
+	/**
+	 * Minimal {@link ITestContext} providing the name of the test
+	 */
+	private static ITestContext newTestContext(String name) {
+		return (ITestContext) Proxy.newProxyInstance(LauncherLoadBenchmark.class.getClassLoader(),
+				new Class<?>[] { ITestContext.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getName":
+					case "toString":
+						return name;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					default:
+						return null;
+					}
+				});
+	}
+}
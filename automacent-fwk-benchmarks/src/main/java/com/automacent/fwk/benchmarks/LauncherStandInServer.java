@@ -0,0 +1,243 @@
+package com.automacent.fwk.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.automacent.fwk.launcher.RestLauncherClient;
+import com.automacent.fwk.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Lightweight stand-in for the launcher server implementing the endpoints used
+ * by {@link RestLauncherClient}. Each request is delayed by the configured
+ * latency and fails with HTTP 503 at the configured failure rate, so that the
+ * launcher clients can be load tested without the launcher dashboard. The
+ * server only counts what it receives.
+ *
+ * The server can be started in-process or from the command line
+ *
+ * <pre>
+ * java -cp automacent-fwk-benchmarks/target/benchmarks.jar com.automacent.fwk.benchmarks.LauncherStandInServer [port] [latency ms] [failure rate]
+ * </pre>
+ *
+ * @author sighil.sivadas
+ */
+public class LauncherStandInServer {
+
+	private static final Pattern TEST_INSTANCE_PATH = Pattern.compile("/api/testinstances/(\\d+)/(\\w+)");
+
+	private final HttpServer server;
+	private final ExecutorService executorService;
+	private volatile long latencyInMilliSeconds;
+	private volatile double failureRate;
+
+	private final AtomicLong testInstanceIds = new AtomicLong();
+	private final Set<Long> forceCompletedTestInstances = ConcurrentHashMap.newKeySet();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failedRequests = new AtomicLong();
+	private final AtomicLong receivedEvents = new AtomicLong();
+	private final AtomicLong heartBeats = new AtomicLong();
+	private final AtomicLong stoppedTestInstances = new AtomicLong();
+
+	/**
+	 * @param port                  Port to listen on. 0 for any free port
+	 * @param latencyInMilliSeconds Artificial latency added to every request
+	 * @param failureRate           Fraction (0-1) of requests failing with 503
+	 * @throws IOException on failure to bind the port
+	 */
+	public LauncherStandInServer(int port, long latencyInMilliSeconds, double failureRate) throws IOException {
+		this.latencyInMilliSeconds = latencyInMilliSeconds;
+		this.failureRate = failureRate;
+		server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		AtomicInteger threadCount = new AtomicInteger();
+		executorService = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable,
+					String.format("launcher-stand-in-%s", threadCount.incrementAndGet()));
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executorService);
+		server.createContext("/api/testinstances", this::handle);
+	}
+
+	/**
+	 * Start the server
+	 *
+	 * @return this
+	 */
+	public LauncherStandInServer start() {
+		server.start();
+		return this;
+	}
+
+	/**
+	 * Stop the server
+	 */
+	public void stop() {
+		server.stop(0);
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * @return URL to be set in the automacent.launcher.url system property
+	 */
+	public String getUrl() {
+		return String.format("http://localhost:%s", server.getAddress().getPort());
+	}
+
+	public void setLatencyInMilliSeconds(long latencyInMilliSeconds) {
+		this.latencyInMilliSeconds = latencyInMilliSeconds;
+	}
+
+	public void setFailureRate(double failureRate) {
+		this.failureRate = failureRate;
+	}
+
+	/**
+	 * Force complete the test instance. Following heart beats of the test
+	 * instance are answered with status FORCE_COMPLETED
+	 *
+	 * @param testInstanceId Test instance id
+	 */
+	public void forceComplete(long testInstanceId) {
+		forceCompletedTestInstances.add(testInstanceId);
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	public long getFailedRequests() {
+		return failedRequests.get();
+	}
+
+	public long getReceivedEvents() {
+		return receivedEvents.get();
+	}
+
+	public long getHeartBeats() {
+		return heartBeats.get();
+	}
+
+	public long getStartedTestInstances() {
+		return testInstanceIds.get();
+	}
+
+	public long getStoppedTestInstances() {
+		return stoppedTestInstances.get();
+	}
+
+	/**
+	 * Reset the counters. Test instance ids are not reset
+	 */
+	public void resetCounters() {
+		requests.set(0);
+		failedRequests.set(0);
+		receivedEvents.set(0);
+		heartBeats.set(0);
+		stoppedTestInstances.set(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (HttpExchange closeable = exchange) {
+			String body = read(exchange.getRequestBody());
+			requests.incrementAndGet();
+			if (latencyInMilliSeconds > 0)
+				Thread.sleep(latencyInMilliSeconds);
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				respond(exchange, 405, null);
+				return;
+			}
+			if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+				failedRequests.incrementAndGet();
+				respond(exchange, 503, null);
+				return;
+			}
+
+			Map<String, Object> response = new LinkedHashMap<>();
+			String path = exchange.getRequestURI().getPath();
+			Matcher matcher = TEST_INSTANCE_PATH.matcher(path);
+			if (path.equals("/api/testinstances") || path.equals("/api/testinstances/")) {
+				response.put("id", testInstanceIds.incrementAndGet());
+				response.put("status", "RUNNING");
+			} else if (matcher.matches()) {
+				long testInstanceId = Long.parseLong(matcher.group(1));
+				switch (matcher.group(2)) {
+				case "events":
+					JsonNode events = JacksonUtils.getJsonNode(body);
+					int count = events == null ? 0 : events.isArray() ? events.size() : 1;
+					receivedEvents.addAndGet(count);
+					response.put("received", count);
+					break;
+				case "heartbeat":
+					heartBeats.incrementAndGet();
+					response.put("status",
+							forceCompletedTestInstances.contains(testInstanceId) ? "FORCE_COMPLETED" : "RUNNING");
+					break;
+				case "performance":
+					break;
+				case "stop":
+					stoppedTestInstances.incrementAndGet();
+					response.put("status", "COMPLETED");
+					break;
+				default:
+					respond(exchange, 404, null);
+					return;
+				}
+			} else {
+				respond(exchange, 404, null);
+				return;
+			}
+			respond(exchange, 200, response);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String read(InputStream inputStream) throws IOException {
+		return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+	private static void respond(HttpExchange exchange, int status, Map<String, Object> response) throws IOException {
+		byte[] body = response == null ? new byte[0]
+				: JacksonUtils.getString(JacksonUtils.getJsonNode(response)).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		if (body.length > 0)
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+	}
+
+	/**
+	 * Start the server and run until the process is stopped
+	 *
+	 * @param args Port (default 8089), latency in milliseconds (default 0) and
+	 *             failure rate (default 0)
+	 * @throws IOException on failure to bind the port
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+		long latencyInMilliSeconds = args.length > 1 ? Long.parseLong(args[1]) : 0;
+		double failureRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+		LauncherStandInServer server = new LauncherStandInServer(port, latencyInMilliSeconds, failureRate).start();
+		System.out.println(String.format("Launcher stand-in listening on %s with %s ms latency and %s failure rate",
+				server.getUrl(), latencyInMilliSeconds, failureRate));
+	}
+}
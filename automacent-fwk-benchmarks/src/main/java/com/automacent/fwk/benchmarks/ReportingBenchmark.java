@@ -0,0 +1,62 @@
+package com.automacent.fwk.benchmarks;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.runtime.reflect.Factory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.reporting.ReportingTools;
+import com.automacent.fwk.utils.AspectJUtils;
+
+/**
+ * Cost of logging to the text log and the TestNG report and of formatting
+ * method arguments for the logs
+ * 
+ * @author sighil.sivadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReportingBenchmark {
+
+	private static final Logger _logger = Logger.getLogger(ReportingBenchmark.class);
+
+	private ProceedingJoinPoint point;
+
+	@Setup
+	public void setUp() {
+		Factory factory = new Factory("BenchmarkSteps.java", BenchmarkSteps.class);
+		JoinPoint.StaticPart staticPart = factory.makeSJP(JoinPoint.METHOD_EXECUTION,
+				factory.makeMethodSig(Modifier.PUBLIC, "doSomethingWith", BenchmarkSteps.class,
+						new Class[] { String.class, int.class }, new String[] { "text", "number" }, new Class[0],
+						int.class),
+				0);
+		point = (ProceedingJoinPoint) Factory.makeJP(staticPart, null, null,
+				new Object[] { "a benchmark argument longer than forty characters", 42 });
+	}
+
+	@Benchmark
+	public void loggerInfo(FrameworkState state) {
+		_logger.info("Benchmark log message");
+	}
+
+	@Benchmark
+	public void reportingToolsLogMessage(FrameworkState state) {
+		ReportingTools.logMessage("Benchmark report message");
+	}
+
+	@Benchmark
+	public String aspectJUtilsGetArguments() {
+		return AspectJUtils.getArguments(point);
+	}
+}
@@ -0,0 +1,37 @@
+package com.automacent.fwk.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
+
+/**
+ * Overhead of the {@link Step} and {@link Action} aspects on methods which do
+ * no work of their own
+ * 
+ * @author sighil.sivadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StepAndActionBenchmark {
+
+	@Benchmark
+	public int action(FrameworkState state) {
+		return state.steps.doNothing();
+	}
+
+	@Benchmark
+	public int actionWithArguments(FrameworkState state) {
+		return state.steps.doSomethingWith("benchmark argument", 1);
+	}
+
+	@Benchmark
+	public int stepWithActions(FrameworkState state) {
+		return state.steps.performStep("benchmark argument");
+	}
+}
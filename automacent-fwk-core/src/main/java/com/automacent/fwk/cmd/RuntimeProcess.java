@@ -3,10 +3,9 @@ package com.automacent.fwk.cmd;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.HashMap;
 
+import com.automacent.fwk.core.ExecutionContext;
 import com.automacent.fwk.reporting.Logger;
-import com.automacent.fwk.utils.ThreadUtils;
 
 /**
  * Wrapper class for {@link Runtime} mainly for handling {@link Process}
@@ -18,12 +17,8 @@ public class RuntimeProcess {
 
 	private static final Logger _logger = Logger.getLogger(RuntimeProcess.class);
 
-	private static HashMap<Long, RuntimeProcess> runtimeProcessMap = new HashMap<Long, RuntimeProcess>();
-
 	public static RuntimeProcess getExecutor() {
-		if (!runtimeProcessMap.containsKey(ThreadUtils.getThreadId()))
-			runtimeProcessMap.put(ThreadUtils.getThreadId(), new RuntimeProcess());
-		return runtimeProcessMap.get(ThreadUtils.getThreadId());
+		return ExecutionContext.getContext().getAttribute(RuntimeProcess.class, RuntimeProcess::new);
 	}
 
 	private RuntimeProcess() {
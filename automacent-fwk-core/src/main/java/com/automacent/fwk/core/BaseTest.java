@@ -1,8 +1,5 @@
 package com.automacent.fwk.core;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeSuite;
@@ -10,6 +7,8 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Parameters;
 
 import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.enums.LauncherDeliveryMode;
 import com.automacent.fwk.enums.RepeatMode;
 import com.automacent.fwk.enums.RetryMode;
 import com.automacent.fwk.launcher.LauncherClientManager;
@@ -27,21 +26,21 @@ public abstract class BaseTest {
 
 	private static final Logger _logger = Logger.getLogger(BaseTest.class);
 
-	private static Map<Long, TestObject> testObjectMap = new HashMap<>();
-
 	/**
 	 * Get the {@link TestObject} for the current test. If {@link TestObject} is not
 	 * initiated for current Test, a new {@link TestObject}is created
 	 * 
 	 * @return {@link TestObject}
 	 */
-	public synchronized static TestObject getTestObject() {
-		long threadId = ThreadUtils.getThreadId();
-		if (!testObjectMap.containsKey(threadId)) {
-			_logger.info(String.format("Constructing Test Object for threadId %s", threadId));
-			testObjectMap.put(threadId, new TestObject());
+	public static TestObject getTestObject() {
+		ExecutionContext context = ExecutionContext.getContext();
+		TestObject testObject = context.getTestObject();
+		if (testObject == null) {
+			testObject = new TestObject();
+			context.setTestObject(testObject);
+			_logger.info(String.format("Constructing Test Object for threadId %s", ThreadUtils.getThreadId()));
 		}
-		return testObjectMap.get(threadId);
+		return testObject;
 	}
 
 	/**
@@ -106,22 +105,40 @@ public abstract class BaseTest {
 	 * services which can update test run result to a custom dashboard. These
 	 * parameters are set for the whole Test suite
 	 * 
-	 * @param launcherClients Comma seperated list of fully qualified launcher
-	 *                        client class names
-	 * @param runName         Run Name in the logger application
-	 * @param batchNumber     Batch number in the logger application
+	 * @param launcherClients                     Comma seperated list of fully
+	 *                                            qualified launcher client class
+	 *                                            names
+	 * @param runName                             Run Name in the logger
+	 *                                            application
+	 * @param batchNumber                         Batch number in the logger
+	 *                                            application
+	 * @param launcherBatchSize                   Number of events delivered
+	 *                                            together to a launcher client
+	 * @param launcherFlushIntervalInMilliSeconds Maximum time for which events
+	 *                                            are held before delivery to the
+	 *                                            launcher clients
+	 * @param launcherDeliveryMode                {@link LauncherDeliveryMode}
 	 */
 	@BeforeSuite
 	@Parameters({
 			"launcherClients",
 			"runName",
-			"batchNumber"
+			"batchNumber",
+			"launcherBatchSize",
+			"launcherFlushIntervalInMilliSeconds",
+			"launcherDeliveryMode"
 	})
 	public void automacentInternalSetLauncherClients(
 			String launcherClients,
 			String runName,
-			String batchNumber) {
+			String batchNumber,
+			long launcherBatchSize,
+			long launcherFlushIntervalInMilliSeconds,
+			LauncherDeliveryMode launcherDeliveryMode) {
 		LauncherClientManager.getManager().generateLauncherClientMasterMap(launcherClients);
+		LauncherClientManager.getManager().setEventDispatchParameters(launcherBatchSize,
+				launcherFlushIntervalInMilliSeconds);
+		LauncherClientManager.getManager().setLauncherDeliveryMode(launcherDeliveryMode);
 	}
 
 	/**
@@ -139,6 +156,25 @@ public abstract class BaseTest {
 	 *                                       {@link RepeatMode} ==
 	 *                                       {@code INVOCATION_COUNT} ||
 	 *                                       {@code TEST_DURATION}
+	 * @param concurrency                    Number of iteration workers executing
+	 *                                       the iterations in parallel in case
+	 *                                       {@link RepeatMode} ==
+	 *                                       {@code INVOCATION_COUNT} ||
+	 *                                       {@code TEST_DURATION}. Every worker
+	 *                                       runs invocationCount iterations
+	 * @param iterationsPerMinute            Fixed arrival rate at which the
+	 *                                       iterations are started. 0 to disable
+	 *                                       pacing
+	 * @param rampUpDurationInSeconds        Duration in which the arrival rate is
+	 *                                       ramped up to iterationsPerMinute
+	 * @param rampDownDurationInSeconds      Duration at the end of the test in
+	 *                                       which the arrival rate is ramped down
+	 *                                       in case {@link RepeatMode} ==
+	 *                                       {@code TEST_DURATION}
+	 * @param recordLatency                  Record the latency of every
+	 *                                       {@link Step} call and report the
+	 *                                       latency percentiles at the end of the
+	 *                                       test
 	 * @param timeoutInSeconds               Wait time before exception is thrown
 	 * @param slowdownDurationInSeconds      Wait between subsequent {@link Action}
 	 *                                       methods
@@ -155,6 +191,11 @@ public abstract class BaseTest {
 			"testDurationInSeconds",
 			"invocationCount",
 			"delayBetweenIterationInSeconds",
+			"concurrency",
+			"iterationsPerMinute",
+			"rampUpDurationInSeconds",
+			"rampDownDurationInSeconds",
+			"recordLatency",
 			"timeoutInSeconds",
 			"slowdownDurationInSeconds",
 			"retryMode",
@@ -165,6 +206,11 @@ public abstract class BaseTest {
 			long testDurationInSeconds,
 			long invocationCount,
 			long delayBetweenIterationInSeconds,
+			long concurrency,
+			long iterationsPerMinute,
+			long rampUpDurationInSeconds,
+			long rampDownDurationInSeconds,
+			boolean recordLatency,
 			long timeoutInSeconds,
 			long slowdownDurationInSeconds,
 			RetryMode retryMode,
@@ -178,6 +224,11 @@ public abstract class BaseTest {
 		testObject.setTestDurationInSeconds(testDurationInSeconds);
 		testObject.setInvocationCount(invocationCount);
 		testObject.setDelayBetweenIterationInSeconds(delayBetweenIterationInSeconds);
+		testObject.setConcurrency(concurrency);
+		testObject.setIterationsPerMinute(iterationsPerMinute);
+		testObject.setRampUpDurationInSeconds(rampUpDurationInSeconds);
+		testObject.setRampDownDurationInSeconds(rampDownDurationInSeconds);
+		testObject.setRecordLatency(recordLatency);
 		testObject.setTimeoutInSeconds(timeoutInSeconds);
 		testObject.setSlowdownDurationInSeconds(slowdownDurationInSeconds);
 		testObject.setRetryMode(retryMode);
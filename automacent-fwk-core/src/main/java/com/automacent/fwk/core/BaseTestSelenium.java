@@ -7,6 +7,8 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Parameters;
 
 import com.automacent.fwk.enums.BrowserId;
+import com.automacent.fwk.enums.DriverResolutionMode;
+import com.automacent.fwk.enums.ScreenshotFormat;
 import com.automacent.fwk.enums.ScreenshotMode;
 import com.automacent.fwk.enums.ScreenshotModeForIteration;
 import com.automacent.fwk.enums.ScreenshotType;
@@ -37,6 +39,15 @@ public abstract class BaseTestSelenium extends BaseTest {
 	 *                                 script
 	 * @param pageLoadTimeoutInSeconds Timeout for browser page load
 	 * @param socketTimeoutInSeconds   Timeout for socket exceptions
+	 * @param driverPoolSize           Number of warm browser sessions kept in the
+	 *                                 {@link DriverPool} per browser. 0 to start a
+	 *                                 new browser for every test
+	 * @param driverPoolMaxLeases      Number of tests a pooled browser session is
+	 *                                 used for before it is quit. Sessions of
+	 *                                 browsers not based on Chromium are used for
+	 *                                 one test only
+	 * @param driverResolutionMode     {@link DriverResolutionMode} of the driver
+	 *                                 server executables
 	 */
 	@BeforeSuite
 	@Parameters({
@@ -45,7 +56,10 @@ public abstract class BaseTestSelenium extends BaseTest {
 			"geckoDriverLocation",
 			"scriptTimeoutInSeconds",
 			"pageLoadTimeoutInSeconds",
-			"socketTimeoutInSeconds"
+			"socketTimeoutInSeconds",
+			"driverPoolSize",
+			"driverPoolMaxLeases",
+			"driverResolutionMode"
 	})
 	public void automacentInternalSetDriverParameters(
 			String ieDriverLocation,
@@ -53,9 +67,15 @@ public abstract class BaseTestSelenium extends BaseTest {
 			String geckoDriverLocation,
 			long scriptTimeoutInSeconds,
 			long pageLoadTimeoutInSeconds,
-			long socketTimeoutInSeconds) {
+			long socketTimeoutInSeconds,
+			long driverPoolSize,
+			long driverPoolMaxLeases,
+			DriverResolutionMode driverResolutionMode) {
 		Driver.setupDefaultDriver(ieDriverLocation, chromeDriverLocation, geckoDriverLocation,
 				scriptTimeoutInSeconds, pageLoadTimeoutInSeconds, socketTimeoutInSeconds);
+		DriverPool.getPool().setPoolSize(driverPoolSize);
+		DriverPool.getPool().setMaxLeases(driverPoolMaxLeases);
+		DriverBinaryCache.getCache().setDriverResolutionMode(driverResolutionMode);
 	}
 
 	/**
@@ -71,6 +91,14 @@ public abstract class BaseTestSelenium extends BaseTest {
 	 * @param screenshotMode             comma separated {@link ScreenshotMode}
 	 *                                   values
 	 * @param screenshotModeForIteration {@link ScreenshotModeForIteration}
+	 * @param screenshotFormat           {@link ScreenshotFormat}
+	 * @param screenshotQuality          Quality (1-100) of
+	 *                                   {@link ScreenshotFormat#JPEG} screenshots
+	 * @param screenshotThumbnailWidth   Width of the screenshot thumbnails shown
+	 *                                   in the report. 0 to disable thumbnails
+	 * @param screenshotBufferSizeInMB   Size of the memory buffer holding the
+	 *                                   screenshots of the iteration for
+	 *                                   {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED}
 	 * @param baseUrl                    Base URL of the application
 	 * 
 	 * @param testContext                testNg {@link ITestContext}
@@ -83,6 +111,10 @@ public abstract class BaseTestSelenium extends BaseTest {
 			"screenshotType",
 			"screenshotMode",
 			"screenshotModeForIteration",
+			"screenshotFormat",
+			"screenshotQuality",
+			"screenshotThumbnailWidth",
+			"screenshotBufferSizeInMB",
 			"baseUrl"
 	})
 	public void automacentInternalSetWebTestParameters(
@@ -92,6 +124,10 @@ public abstract class BaseTestSelenium extends BaseTest {
 			ScreenshotType screenshotType,
 			String screenshotMode,
 			ScreenshotModeForIteration screenshotModeForIteration,
+			ScreenshotFormat screenshotFormat,
+			long screenshotQuality,
+			long screenshotThumbnailWidth,
+			long screenshotBufferSizeInMB,
 			String baseUrl,
 			ITestContext testContext) {
 		if (baseUrl.trim().isEmpty())
@@ -104,7 +140,12 @@ public abstract class BaseTestSelenium extends BaseTest {
 		testObject.setScreenshotType(screenshotType);
 		testObject.setScreenshotModes(screenshotMode);
 		testObject.setScreenshotModeForIteration(screenshotModeForIteration);
+		testObject.setScreenshotFormat(screenshotFormat);
+		testObject.setScreenshotQuality(screenshotQuality);
+		testObject.setScreenshotThumbnailWidth(screenshotThumbnailWidth);
+		testObject.setScreenshotBufferSizeInMB(screenshotBufferSizeInMB);
 		testObject.setBaseUrl(baseUrl);
+		Driver.getDefaultDriver().warmDriverPool(browser);
 	}
 
 	/**
@@ -139,6 +180,36 @@ public abstract class BaseTestSelenium extends BaseTest {
 		BaseTest.getTestObject().getDriverManager().startDriverManager(this, browserId, driverManagerType);
 	}
 
+	/**
+	 * Start new browsers with provided {@link BrowserId} and default browser
+	 * concurrently. The browser with the active {@link BrowserId} becomes the
+	 * active browser/driver. Use {@link #setActiveDriver(BrowserId)} to change
+	 * the active browser/driver
+	 * 
+	 * @param activeBrowserId {@link BrowserId} of the active browser
+	 * @param browserIds      {@link BrowserId} of the other browsers
+	 */
+	protected void startBrowsers(BrowserId activeBrowserId, BrowserId... browserIds) {
+		startBrowsers(BaseTest.getTestObject().getDriverManager().getDriverManagerType(), activeBrowserId,
+				browserIds);
+	}
+
+	/**
+	 * Start new browsers with provided {@link BrowserId} and provided browser
+	 * concurrently. The browser with the active {@link BrowserId} becomes the
+	 * active browser/driver. Use {@link #setActiveDriver(BrowserId)} to change
+	 * the active browser/driver
+	 * 
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @param activeBrowserId   {@link BrowserId} of the active browser
+	 * @param browserIds        {@link BrowserId} of the other browsers
+	 */
+	protected void startBrowsers(DriverManagerType driverManagerType, BrowserId activeBrowserId,
+			BrowserId... browserIds) {
+		BaseTest.getTestObject().getDriverManager().startDriverManagers(this, activeBrowserId, driverManagerType,
+				browserIds);
+	}
+
 	/**
 	 * Set the browser/driver with the specified {@link BrowserId} as the active
 	 * browser/driver.
@@ -23,7 +23,6 @@ import com.automacent.fwk.exceptions.SetupFailedFatalException;
 import com.automacent.fwk.reporting.Logger;
 
 import io.github.bonigarcia.wdm.config.DriverManagerType;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
 /**
  * Driver object holding {@link WebDriver} instances for Selenium Web Tests
@@ -292,11 +291,80 @@ public class Driver {
 
 	/**
 	 * This method initializes the driver (opens browser), maximizes browser window,
-	 * sets timeouts and deletes the cookies.
+	 * sets timeouts and deletes the cookies. When the {@link DriverPool} is
+	 * enabled, a warm browser session is leased from the pool instead of opening a
+	 * new browser
 	 * 
 	 * @param driverManagerType {@link DriverManagerType}
 	 */
 	public void startDriver(DriverManagerType driverManagerType) {
+		startDriver(driverManagerType, BaseTest.getTestObject().getDebuggerAddress(),
+				BaseTest.getTestObject().getDownloadLocation(), BaseTest.getTestObject().getTimeoutInSeconds());
+	}
+
+	/**
+	 * Initialize the driver with the test parameters passed in, so that the
+	 * driver can be started outside the test thread
+	 * 
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @param debuggerAddress   Debugger address of an already running browser
+	 * @param downloadLocation  Location to download files on browser
+	 * @param timeoutInSeconds  Implicit wait timeout
+	 */
+	void startDriver(DriverManagerType driverManagerType, String debuggerAddress, String downloadLocation,
+			long timeoutInSeconds) {
+		if (debuggerAddress.isEmpty() && DriverPool.getPool().isEnabled())
+			webDriver = DriverPool.getPool().lease(getDriverPoolKey(driverManagerType, downloadLocation),
+					() -> newWebDriver(driverManagerType, debuggerAddress, downloadLocation));
+		else
+			webDriver = newWebDriver(driverManagerType, debuggerAddress, downloadLocation);
+
+		webDriver.manage().timeouts().pageLoadTimeout(getPageLoadTimeoutInSeconds(), TimeUnit.MINUTES);
+		_logger.info(String.format("Page Load timeout set to %s seconds", getPageLoadTimeoutInSeconds()));
+		webDriver.manage().timeouts().implicitlyWait(timeoutInSeconds, TimeUnit.SECONDS);
+		_logger.info(String.format("Implicit wait set on driver to %s seconds", timeoutInSeconds));
+		webDriver.manage().timeouts().setScriptTimeout(getScriptTimeoutInSeconds(), TimeUnit.SECONDS);
+		_logger.info(String.format("Script timeout set on driver to %s seconds", getScriptTimeoutInSeconds()));
+	}
+
+	/**
+	 * Start browser sessions for the {@link DriverPool} in the background, so that
+	 * the browsers of the tests are started from warm sessions
+	 * 
+	 * @param driverManagerType {@link DriverManagerType}
+	 */
+	public void warmDriverPool(DriverManagerType driverManagerType) {
+		String debuggerAddress = BaseTest.getTestObject().getDebuggerAddress();
+		String downloadLocation = BaseTest.getTestObject().getDownloadLocation();
+		if (debuggerAddress.isEmpty() && DriverPool.getPool().isEnabled())
+			DriverPool.getPool().warm(getDriverPoolKey(driverManagerType, downloadLocation),
+					() -> newWebDriver(driverManagerType, debuggerAddress, downloadLocation));
+	}
+
+	/**
+	 * Get the {@link DriverPool} key of the browser sessions started by this
+	 * driver. Sessions started with the same driver server executables and
+	 * options can be used interchangeably
+	 */
+	private DriverPool.Key getDriverPoolKey(DriverManagerType driverManagerType, String downloadLocation) {
+		return new DriverPool.Key(driverManagerType, String.format("ie=%s chrome=%s gecko=%s download=%s",
+				ieDriverLocation, chromeDriverLocation, geckoDriverLocation, downloadLocation));
+	}
+
+	/**
+	 * Open the browser, maximize the browser window and delete the cookies. The
+	 * browser is not modified when attaching to an already running browser. The
+	 * options are passed in, so that sessions can be started for the
+	 * {@link DriverPool} outside the test thread
+	 * 
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @param debuggerAddress   Debugger address of an already running browser
+	 * @param downloadLocation  Location to download files on browser
+	 * @return {@link WebDriver}
+	 */
+	private WebDriver newWebDriver(DriverManagerType driverManagerType, String debuggerAddress,
+			String downloadLocation) {
+		WebDriver webDriver = null;
 		try {
 			if (driverManagerType.name().equals(DriverManagerType.IEXPLORER.name())) {
 				DesiredCapabilities capab = new DesiredCapabilities();
@@ -305,17 +373,16 @@ public class Driver {
 				capab.setCapability(InternetExplorerDriver.ENABLE_PERSISTENT_HOVERING, false);
 				InternetExplorerOptions ieOptions = new InternetExplorerOptions(capab);
 				if (ieDriverLocation == null) {
-					WebDriverManager.getInstance(DriverManagerType.IEXPLORER).setup();
+					DriverBinaryCache.getCache().setup(DriverManagerType.IEXPLORER);
 					_logger.info("Using ieDriver from framework");
 				}
 				webDriver = new InternetExplorerDriver(ieOptions);
 			} else if (driverManagerType.name().equals(DriverManagerType.CHROME.name())) {
 				if (chromeDriverLocation == null) {
-					WebDriverManager.getInstance(DriverManagerType.CHROME).setup();
+					DriverBinaryCache.getCache().setup(DriverManagerType.CHROME);
 					_logger.info("Using chromeDriver from framework");
 				}
 				ChromeOptions chromeOptions = new ChromeOptions();
-				String debuggerAddress = BaseTest.getTestObject().getDebuggerAddress();
 				if (!debuggerAddress.isEmpty()) {
 					chromeOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
 					_logger.debug(
@@ -349,7 +416,6 @@ public class Driver {
 					_logger.debug(
 							"Setting chrome pref {profile.default_content_setting_values.automatic_downloads : 1}");
 
-					String downloadLocation = BaseTest.getTestObject().getDownloadLocation();
 					if (!downloadLocation.isEmpty()) {
 						chromePrefs.put("download.default_directory", downloadLocation);
 						_logger.debug(String.format("Setting chrome pref {download.default_directory : \"%s\"}",
@@ -359,12 +425,11 @@ public class Driver {
 				webDriver = new ChromeDriver(chromeOptions);
 			} else if (driverManagerType.name().equals(DriverManagerType.FIREFOX.name())) {
 				if (geckoDriverLocation == null) {
-					WebDriverManager.getInstance(DriverManagerType.FIREFOX).setup();
+					DriverBinaryCache.getCache().setup(DriverManagerType.FIREFOX);
 					_logger.info("Using geckoDriver from framework");
 				}
 
 				FirefoxOptions option = new FirefoxOptions();
-				String downloadLocation = BaseTest.getTestObject().getDownloadLocation();
 				if (!downloadLocation.isEmpty()) {
 					FirefoxProfile profile = new FirefoxProfile();
 					profile.setPreference("browser.download.folderList", 2);
@@ -394,33 +459,30 @@ public class Driver {
 				}
 				webDriver = new FirefoxDriver(option);
 			} else if (driverManagerType.name().equals(DriverManagerType.CHROMIUM.name())) {
-				WebDriverManager.getInstance(DriverManagerType.CHROMIUM).setup();
+				DriverBinaryCache.getCache().setup(DriverManagerType.CHROMIUM);
 				webDriver = new ChromeDriver();
 			}
 		} catch (Exception e) {
 			throw new SetupFailedFatalException("Error initializing the driver", e);
 		}
 
-		webDriver.manage().timeouts().pageLoadTimeout(getPageLoadTimeoutInSeconds(), TimeUnit.MINUTES);
-		_logger.info(String.format("Page Load timeout set to %s seconds", getPageLoadTimeoutInSeconds()));
-		webDriver.manage().timeouts().implicitlyWait(BaseTest.getTestObject().getTimeoutInSeconds(), TimeUnit.SECONDS);
-		_logger.info(String.format("Implicit wait set on driver to %s seconds",
-				BaseTest.getTestObject().getTimeoutInSeconds()));
-		webDriver.manage().timeouts().setScriptTimeout(getScriptTimeoutInSeconds(), TimeUnit.SECONDS);
-		_logger.info(String.format("Script timeout set on driver to %s seconds", getScriptTimeoutInSeconds()));
-
-		if (BaseTest.getTestObject().getDebuggerAddress().isEmpty()) {
+		if (debuggerAddress.isEmpty()) {
 			webDriver.manage().window().maximize();
 			webDriver.manage().deleteAllCookies();
 			_logger.info("Cookies deleted");
 		}
+		return webDriver;
 	}
 
 	/**
-	 * Close and quit driver
+	 * Close and quit driver. Browser sessions leased from the {@link DriverPool}
+	 * are returned to the pool
 	 */
 	public void terminateDriver() {
-		if (webDriver != null) {
+		if (webDriver != null && DriverPool.getPool().isLeased(webDriver)) {
+			_logger.info(String.format("Returning driver %s to pool", webDriver));
+			DriverPool.getPool().release(webDriver);
+		} else if (webDriver != null) {
 			_logger.info(String.format("Quiting driver %s", webDriver));
 			webDriver.quit();
 		} else {
@@ -0,0 +1,223 @@
+package com.automacent.fwk.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.automacent.fwk.enums.DriverResolutionMode;
+import com.automacent.fwk.exceptions.SetupFailedFatalException;
+import com.automacent.fwk.reporting.Logger;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+/**
+ * Process wide cache of the driver server executables resolved by
+ * WebDriverManager. The executable of each browser type is resolved once and
+ * shared by all the {@link Driver} instances, instead of resolving it for every
+ * browser started.
+ *
+ * With {@link DriverResolutionMode#MANIFEST} and
+ * {@link DriverResolutionMode#OFFLINE} the resolved executables are read from
+ * and recorded in a manifest in the WebDriverManager cache directory, so that
+ * later runs skip the resolution. Manifest entries are used by
+ * {@link DriverResolutionMode#MANIFEST} for a day, after which the executable is
+ * resolved again to pick up browser updates
+ *
+ * @author sighil.sivadas
+ */
+public final class DriverBinaryCache {
+
+	private static final Logger _logger = Logger.getLogger(DriverBinaryCache.class);
+
+	private static final long MANIFEST_MAX_AGE_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(24);
+
+	private static final DriverBinaryCache driverBinaryCache = new DriverBinaryCache();
+
+	/**
+	 * @return Singleton instance of {@link DriverBinaryCache}
+	 */
+	public static DriverBinaryCache getCache() {
+		return driverBinaryCache;
+	}
+
+	private final Map<DriverManagerType, String> driverPaths = new ConcurrentHashMap<>();
+	private final Map<DriverManagerType, Object> locks = new ConcurrentHashMap<>();
+	private volatile DriverResolutionMode driverResolutionMode = DriverResolutionMode.getDefault();
+
+	private DriverBinaryCache() {
+	}
+
+	/**
+	 * @return {@link DriverResolutionMode}
+	 */
+	public DriverResolutionMode getDriverResolutionMode() {
+		return driverResolutionMode;
+	}
+
+	/**
+	 * Set the {@link DriverResolutionMode}
+	 *
+	 * @param driverResolutionMode {@link DriverResolutionMode}
+	 */
+	public void setDriverResolutionMode(DriverResolutionMode driverResolutionMode) {
+		this.driverResolutionMode = driverResolutionMode;
+		_logger.info(String.format("driverResolutionMode set to %s", getDriverResolutionMode()));
+	}
+
+	/**
+	 * @return Location of the driver manifest
+	 */
+	public Path getManifest() {
+		return Paths.get(System.getProperty("user.home"), ".cache", "selenium", "automacent-driver-manifest.properties");
+	}
+
+	/**
+	 * Set up the driver server executable of the browser type. The executable is
+	 * resolved on the first call for the browser type and the resolved
+	 * executable is used for the following calls
+	 *
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @return Path of the driver server executable
+	 */
+	public String setup(DriverManagerType driverManagerType) {
+		String driverPath = driverPaths.get(driverManagerType);
+		if (driverPath != null)
+			return driverPath;
+		synchronized (locks.computeIfAbsent(driverManagerType, type -> new Object())) {
+			driverPath = driverPaths.get(driverManagerType);
+			if (driverPath == null) {
+				driverPath = resolve(driverManagerType);
+				driverPaths.put(driverManagerType, driverPath);
+			}
+		}
+		return driverPath;
+	}
+
+	private String resolve(DriverManagerType driverManagerType) {
+		DriverResolutionMode mode = driverResolutionMode;
+		String key = driverManagerType.name().toLowerCase();
+		if (mode != DriverResolutionMode.ONLINE) {
+			Properties manifest = readManifest();
+			String driverPath = manifest.getProperty(key + ".path");
+			long resolvedAt = getResolvedAt(manifest, key);
+			if (driverPath != null && Files.isExecutable(Paths.get(driverPath))
+					&& (mode == DriverResolutionMode.OFFLINE
+							|| System.currentTimeMillis() - resolvedAt < MANIFEST_MAX_AGE_IN_MILLISECONDS)) {
+				export(driverManagerType, driverPath);
+				_logger.info(String.format("Using %s driver %s %s from manifest", key, driverPath,
+						manifest.getProperty(key + ".version", "")));
+				return driverPath;
+			}
+			if (mode == DriverResolutionMode.OFFLINE)
+				throw new SetupFailedFatalException(String.format(
+						"No usable %s driver in manifest %s. Run with driverResolutionMode %s once or provide "
+								+ "the driver location", key, getManifest(), DriverResolutionMode.MANIFEST.name()));
+		}
+
+		long startTime = System.currentTimeMillis();
+		WebDriverManager webDriverManager = WebDriverManager.getInstance(driverManagerType);
+		webDriverManager.setup();
+		String driverPath = webDriverManager.getDownloadedDriverPath();
+		String driverVersion = webDriverManager.getDownloadedDriverVersion();
+		_logger.info(String.format("Resolved %s driver %s %s in %s ms", key, driverPath, driverVersion,
+				System.currentTimeMillis() - startTime));
+		if (mode == DriverResolutionMode.MANIFEST && driverPath != null)
+			writeManifest(key, driverPath, driverVersion);
+		return driverPath;
+	}
+
+	/**
+	 * Get the time at which the driver was resolved as recorded in the manifest. A
+	 * missing or corrupt entry is treated as expired, so that the driver is
+	 * resolved again
+	 */
+	private long getResolvedAt(Properties manifest, String key) {
+		String resolvedAt = manifest.getProperty(key + ".resolvedAt", "0");
+		try {
+			return Long.parseLong(resolvedAt.trim());
+		} catch (NumberFormatException e) {
+			_logger.warn(String.format("Ignoring invalid %s.resolvedAt %s in driver manifest %s", key, resolvedAt,
+					getManifest()));
+			return 0;
+		}
+	}
+
+	/**
+	 * Set the system property through which Selenium finds the driver server
+	 * executable, the same way WebDriverManager does after resolving it
+	 */
+	private static void export(DriverManagerType driverManagerType, String driverPath) {
+		switch (driverManagerType) {
+		case CHROME:
+		case CHROMIUM:
+			System.setProperty("webdriver.chrome.driver", driverPath);
+			break;
+		case FIREFOX:
+			System.setProperty("webdriver.gecko.driver", driverPath);
+			break;
+		case IEXPLORER:
+			System.setProperty("webdriver.ie.driver", driverPath);
+			break;
+		case EDGE:
+			System.setProperty("webdriver.edge.driver", driverPath);
+			break;
+		case OPERA:
+			System.setProperty("webdriver.opera.driver", driverPath);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private Properties readManifest() {
+		Properties manifest = new Properties();
+		Path manifestFile = getManifest();
+		if (Files.exists(manifestFile))
+			try (InputStream inputStream = Files.newInputStream(manifestFile)) {
+				manifest.load(inputStream);
+			} catch (IOException | IllegalArgumentException e) {
+				_logger.warn(String.format("Error reading driver manifest %s", manifestFile), e);
+			}
+		return manifest;
+	}
+
+	/**
+	 * Record the resolved driver in the manifest. The manifest is replaced
+	 * atomically so that runs reading it in parallel never see a partial file. The
+	 * temporary file is deleted if the manifest cannot be replaced
+	 */
+	private synchronized void writeManifest(String key, String driverPath, String driverVersion) {
+		Path manifestFile = getManifest();
+		Properties manifest = readManifest();
+		manifest.setProperty(key + ".path", driverPath);
+		manifest.setProperty(key + ".version", String.valueOf(driverVersion));
+		manifest.setProperty(key + ".resolvedAt", String.valueOf(System.currentTimeMillis()));
+		Path temporaryFile = null;
+		try {
+			Files.createDirectories(manifestFile.getParent());
+			temporaryFile = Files.createTempFile(manifestFile.getParent(), "automacent-driver-manifest", ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+				manifest.store(outputStream, "Driver server executables resolved by WebDriverManager");
+			}
+			Files.move(temporaryFile, manifestFile, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error writing driver manifest %s", manifestFile), e);
+			if (temporaryFile != null)
+				try {
+					Files.deleteIfExists(temporaryFile);
+				} catch (IOException ex) {
+					_logger.warn(String.format("Error deleting temporary driver manifest %s", temporaryFile), ex);
+				}
+		}
+	}
+}
@@ -1,7 +1,17 @@
 package com.automacent.fwk.core;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.automacent.fwk.annotations.Steps;
 import com.automacent.fwk.annotations.StepsAndPagesProcessor;
@@ -21,6 +31,16 @@ public class DriverManager {
 
 	private static final Logger _logger = Logger.getLogger(DriverManager.class);
 
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ExecutorService driverStartExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(() -> {
+			Logger.setBackgroundThread();
+			runnable.run();
+		}, String.format("automacent-driver-start-%s", threadCount.incrementAndGet()));
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	/**
 	 * Create a new {@link Driver} instance from the default {@link Driver} instance
 	 * 
@@ -56,7 +76,7 @@ public class DriverManager {
 
 	// Driver -------------------------------------------------------
 
-	private final Map<BrowserId, Driver> driverMap = new HashMap<>();
+	private final Map<BrowserId, Driver> driverMap = new ConcurrentHashMap<>();
 
 	/**
 	 * Get Driver instance.
@@ -118,6 +138,88 @@ public class DriverManager {
 
 	}
 
+	/**
+	 * Initialize drivers and open browsers for all the provided {@link BrowserId}
+	 * concurrently using the provided {@link DriverManagerType}. The active
+	 * {@link Driver} is set as soon as the browser with the active
+	 * {@link BrowserId} is open, and the method returns once all the browsers are
+	 * open. The active {@link BrowserId} is started even if it is not in the
+	 * provided {@link BrowserId}
+	 * 
+	 * @param testClassInstance Test class instance
+	 * @param activeBrowserId   {@link BrowserId} to be set as active
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @param browserIds        {@link BrowserId} of the browsers to be opened
+	 */
+	public void startDriverManagers(Object testClassInstance, BrowserId activeBrowserId,
+			DriverManagerType driverManagerType, BrowserId... browserIds) {
+		Set<BrowserId> browserIdSet = new LinkedHashSet<>();
+		browserIdSet.add(activeBrowserId);
+		for (BrowserId browserId : browserIds)
+			browserIdSet.add(browserId);
+		Map<BrowserId, CompletableFuture<Driver>> drivers = startDriverManagersAsync(driverManagerType,
+				browserIdSet.toArray(new BrowserId[0]));
+
+		Throwable failure = null;
+		try {
+			drivers.get(activeBrowserId).join();
+			setActiveDriver(activeBrowserId, testClassInstance);
+		} catch (CompletionException e) {
+			failure = e.getCause();
+		}
+		for (CompletableFuture<Driver> driver : drivers.values())
+			try {
+				driver.join();
+			} catch (CompletionException e) {
+				if (failure == null)
+					failure = e.getCause();
+			}
+		if (failure instanceof SetupFailedFatalException)
+			throw (SetupFailedFatalException) failure;
+		if (failure != null)
+			throw new SetupFailedFatalException("Error starting browsers", failure);
+	}
+
+	/**
+	 * Initialize drivers and open browsers for the provided {@link BrowserId}
+	 * concurrently in the background. Each {@link Driver} is added to the
+	 * {@link DriverManager} once the browser is open. The active {@link Driver} is
+	 * not changed. Messages logged while the browsers are opened are written to the
+	 * Log4J log only, since no test is bound to the background threads
+	 * 
+	 * @param driverManagerType {@link DriverManagerType}
+	 * @param browserIds        {@link BrowserId} of the browsers to be opened
+	 * @return {@link CompletableFuture} of the {@link Driver} of each
+	 *         {@link BrowserId}
+	 */
+	public Map<BrowserId, CompletableFuture<Driver>> startDriverManagersAsync(DriverManagerType driverManagerType,
+			BrowserId... browserIds) {
+		Set<BrowserId> browserIdSet = new LinkedHashSet<>();
+		for (BrowserId browserId : browserIds)
+			if (driverMap.containsKey(browserId) || !browserIdSet.add(browserId))
+				throw new SetupFailedFatalException(
+						String.format("Error starting new browser. The provided browser id, %s, is already in use",
+								browserId));
+
+		String debuggerAddress = BaseTest.getTestObject().getDebuggerAddress();
+		String downloadLocation = BaseTest.getTestObject().getDownloadLocation();
+		long timeoutInSeconds = BaseTest.getTestObject().getTimeoutInSeconds();
+		Map<BrowserId, CompletableFuture<Driver>> drivers = new LinkedHashMap<>();
+		for (BrowserId browserId : browserIdSet) {
+			Driver driver = configureNewDriverFromDefaultDriver(browserId);
+			drivers.put(browserId, CompletableFuture.supplyAsync(() -> {
+				driver.startDriver(driverManagerType, debuggerAddress, downloadLocation, timeoutInSeconds);
+				if (driverMap.putIfAbsent(browserId, driver) != null) {
+					driver.terminateDriver();
+					throw new SetupFailedFatalException(String.format(
+							"Error starting new browser. The provided browser id, %s, is already in use", browserId));
+				}
+				return driver;
+			}, driverStartExecutor));
+		}
+		return drivers;
+	}
+
 	// Active Driver ------------------------------------------------
 
 	private Driver activeDriver;
@@ -152,6 +254,16 @@ public class DriverManager {
 		return driverMap.size();
 	}
 
+	/**
+	 * Get the {@link BrowserId} of the {@link Driver} instances managed by current
+	 * {@link DriverManager} instance
+	 * 
+	 * @return {@link List} of {@link BrowserId}
+	 */
+	public List<BrowserId> getBrowserIds() {
+		return new ArrayList<>(driverMap.keySet());
+	}
+
 	/**
 	 * Close the default {@link Driver} instance with {@link BrowserId} ALPHA
 	 */
@@ -170,6 +282,17 @@ public class DriverManager {
 		driver.terminateDriver();
 	}
 
+	/**
+	 * Retire the browser sessions of the {@link Driver} instances leased from the
+	 * {@link DriverPool}, so that they are quit instead of being leased again. Used
+	 * when the browser has crashed
+	 */
+	public void retireDrivers() {
+		for (Driver driver : driverMap.values())
+			if (driver.getWebDriver() != null)
+				DriverPool.getPool().retire(driver.getWebDriver());
+	}
+
 	/**
 	 * Open the set Base URL parameter
 	 */
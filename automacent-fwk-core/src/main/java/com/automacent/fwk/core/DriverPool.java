@@ -0,0 +1,463 @@
+package com.automacent.fwk.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import com.automacent.fwk.enums.ErrorCode;
+import com.automacent.fwk.reporting.Logger;
+
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+/**
+ * Pool of warm browser sessions shared by the tests of the suite. Sessions are
+ * pooled by {@link DriverManagerType} and the fingerprint of the options the
+ * browser is started with. For each key used, the pool keeps up to the pool
+ * size of sessions, started in the background, and leases the idle sessions to
+ * the {@link Driver} instead of starting a new browser.
+ *
+ * When a session of a Chromium based browser is returned, the cookies, storage
+ * and extra windows are cleared in the background and the session is leased
+ * again. Sessions are quit instead once they reach the maximum number of
+ * leases, when the reset fails or when they are retired after a browser crash.
+ * Sessions of the other browsers are always quit when returned, since their
+ * storage cannot be cleared for all the origins, so that no state leaks to the
+ * next test. For those browsers the pool only starts the sessions ahead of the
+ * lease
+ *
+ * @author sighil.sivadas
+ */
+public final class DriverPool {
+
+	private static final Logger _logger = Logger.getLogger(DriverPool.class);
+	private static final Logger _backgroundLogger = Logger.getBackgroundLogger(DriverPool.class);
+
+	private static final long CLOSE_TIMEOUT_IN_SECONDS = 60;
+
+	private static final DriverPool driverPool = new DriverPool();
+
+	/**
+	 * @return Singleton instance of {@link DriverPool}
+	 */
+	public static DriverPool getPool() {
+		return driverPool;
+	}
+
+	/**
+	 * Key of the sessions which can be used interchangeably
+	 */
+	static final class Key {
+
+		private final DriverManagerType driverManagerType;
+		private final String fingerprint;
+
+		/**
+		 * @param driverManagerType {@link DriverManagerType}
+		 * @param fingerprint       Fingerprint of the options the browser is started
+		 *                          with
+		 */
+		Key(DriverManagerType driverManagerType, String fingerprint) {
+			this.driverManagerType = driverManagerType;
+			this.fingerprint = fingerprint;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key))
+				return false;
+			Key key = (Key) object;
+			return driverManagerType == key.driverManagerType && fingerprint.equals(key.fingerprint);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(driverManagerType, fingerprint);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s", driverManagerType, fingerprint);
+		}
+	}
+
+	private static final class PooledSession {
+
+		private final Key key;
+		private final WebDriver webDriver;
+		private int leases = 0;
+		private boolean retired = false;
+
+		private PooledSession(Key key, WebDriver webDriver) {
+			this.key = key;
+			this.webDriver = webDriver;
+		}
+	}
+
+	private static final class Sessions {
+
+		private final Supplier<WebDriver> factory;
+		private final Deque<PooledSession> idle = new ArrayDeque<>();
+		private int starting = 0;
+		private int leased = 0;
+
+		private int size() {
+			return idle.size() + starting + leased;
+		}
+
+		private Sessions(Supplier<WebDriver> factory) {
+			this.factory = factory;
+		}
+	}
+
+	private final AtomicInteger threadCount = new AtomicInteger();
+	private final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(() -> {
+			Logger.setBackgroundThread();
+			runnable.run();
+		}, String.format("automacent-driver-pool-%s", threadCount.incrementAndGet()));
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Map<Key, Sessions> sessions = new HashMap<>();
+	private final Map<WebDriver, PooledSession> leasedSessions = new IdentityHashMap<>();
+	private volatile int poolSize = 0;
+	private volatile int maxLeases = 20;
+	private boolean closed = false;
+	private int runningTasks = 0;
+
+	private DriverPool() {
+	}
+
+	/**
+	 * @return Number of sessions kept per key. 0 if the pool is disabled
+	 */
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * Set the number of sessions kept per key. 0 disables the pool
+	 *
+	 * @param poolSize Pool size
+	 */
+	public void setPoolSize(long poolSize) {
+		if (poolSize >= 0)
+			this.poolSize = (int) poolSize;
+		else
+			_logger.warn(String.format("%s for driverPoolSize. Expected a value greater than or equal to 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), poolSize));
+		_logger.info(String.format("driverPoolSize set to %s", getPoolSize()));
+	}
+
+	/**
+	 * @return Number of times a session is leased before it is quit
+	 */
+	public int getMaxLeases() {
+		return maxLeases;
+	}
+
+	/**
+	 * Set the number of times a session is leased before it is quit
+	 *
+	 * @param maxLeases Maximum leases per session
+	 */
+	public void setMaxLeases(long maxLeases) {
+		if (maxLeases > 0)
+			this.maxLeases = (int) maxLeases;
+		else
+			_logger.warn(String.format("%s for driverPoolMaxLeases. Expected a value greater than 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), maxLeases));
+		_logger.info(String.format("driverPoolMaxLeases set to %s", getMaxLeases()));
+	}
+
+	/**
+	 * @return true if sessions are pooled
+	 */
+	public boolean isEnabled() {
+		return poolSize > 0;
+	}
+
+	/**
+	 * Start the idle sessions of the key in the background
+	 *
+	 * @param key     {@link Key}
+	 * @param factory Starts a new session for the key
+	 */
+	synchronized void warm(Key key, Supplier<WebDriver> factory) {
+		if (isEnabled() && !closed)
+			replenish(key, sessions.computeIfAbsent(key, k -> new Sessions(factory)));
+	}
+
+	/**
+	 * Lease an idle session of the key. A new session is started on the calling
+	 * thread if no idle session is available, and idle sessions are started in
+	 * the background for the next leases
+	 *
+	 * @param key     {@link Key}
+	 * @param factory Starts a new session for the key
+	 * @return {@link WebDriver} of the session
+	 */
+	WebDriver lease(Key key, Supplier<WebDriver> factory) {
+		Sessions keySessions;
+		PooledSession session;
+		synchronized (this) {
+			keySessions = sessions.computeIfAbsent(key, k -> new Sessions(factory));
+			session = keySessions.idle.pollFirst();
+			keySessions.leased++;
+			replenish(key, keySessions);
+		}
+		if (session == null) {
+			_logger.info(String.format("No idle browser session in pool for %s. Starting new session", key));
+			try {
+				session = new PooledSession(key, factory.get());
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					keySessions.leased--;
+				}
+				throw e;
+			}
+		} else
+			_logger.info(String.format("Browser session leased from pool for %s", key));
+		synchronized (this) {
+			session.leases++;
+			leasedSessions.put(session.webDriver, session);
+		}
+		return session.webDriver;
+	}
+
+	/**
+	 * Start sessions in the background until the key has as many sessions as the
+	 * pool size
+	 */
+	private void replenish(Key key, Sessions keySessions) {
+		while (!closed && sessions.get(key) == keySessions && keySessions.size() < poolSize) {
+			keySessions.starting++;
+			submit(() -> {
+				PooledSession session = null;
+				try {
+					session = new PooledSession(key, keySessions.factory.get());
+				} catch (RuntimeException e) {
+					_backgroundLogger.warn(String.format("Error starting browser session for pool %s", key), e);
+				}
+				synchronized (this) {
+					keySessions.starting--;
+					if (session != null && !closed && sessions.get(key) == keySessions) {
+						keySessions.idle.addLast(session);
+						session = null;
+					}
+				}
+				if (session != null)
+					quit(session);
+			});
+		}
+	}
+
+	/**
+	 * Run the task in the background. Running tasks are tracked so that
+	 * {@link #close()} can wait for them
+	 */
+	private synchronized void submit(Runnable task) {
+		runningTasks++;
+		executorService.submit(() -> {
+			try {
+				task.run();
+			} finally {
+				synchronized (this) {
+					runningTasks--;
+					notifyAll();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Check if the {@link WebDriver} is leased from the pool
+	 *
+	 * @param webDriver {@link WebDriver}
+	 * @return true if leased from the pool
+	 */
+	synchronized boolean isLeased(WebDriver webDriver) {
+		return leasedSessions.containsKey(webDriver);
+	}
+
+	/**
+	 * Retire the leased session. The session is quit when it is returned instead
+	 * of being leased again. Used when the browser has crashed
+	 *
+	 * @param webDriver {@link WebDriver}
+	 */
+	public synchronized void retire(WebDriver webDriver) {
+		PooledSession session = leasedSessions.get(webDriver);
+		if (session != null && !session.retired) {
+			session.retired = true;
+			_logger.info(String.format("Browser session %s retired from pool", webDriver));
+		}
+	}
+
+	/**
+	 * Return the leased session to the pool. The session is reset and added to the
+	 * idle sessions in the background, or quit and replaced if it is retired or
+	 * has reached the maximum leases. Sessions started beyond the pool size are
+	 * quit
+	 *
+	 * @param webDriver {@link WebDriver}
+	 */
+	void release(WebDriver webDriver) {
+		PooledSession session;
+		synchronized (this) {
+			session = leasedSessions.remove(webDriver);
+			if (session == null)
+				return;
+			Sessions keySessions = sessions.get(session.key);
+			if (keySessions != null) {
+				keySessions.leased--;
+				if (!closed && !session.retired && session.leases < maxLeases && keySessions.size() < poolSize
+						&& session.webDriver instanceof ChromiumDriver) {
+					keySessions.starting++;
+					submit(() -> resetAndReturn(session, keySessions));
+					return;
+				}
+				replenish(session.key, keySessions);
+			}
+		}
+		submit(() -> quit(session));
+	}
+
+	/**
+	 * Reset the returned session and add it to the idle sessions. The session is
+	 * quit and replaced if the reset fails
+	 */
+	private void resetAndReturn(PooledSession session, Sessions keySessions) {
+		boolean reset = reset(session);
+		synchronized (this) {
+			keySessions.starting--;
+			if (reset && !closed && sessions.get(session.key) == keySessions) {
+				keySessions.idle.addFirst(session);
+				return;
+			}
+			replenish(session.key, keySessions);
+		}
+		quit(session);
+	}
+
+	/**
+	 * Clear the state left by the test. Extra windows are closed and the browser is
+	 * navigated to a blank page. The cookies of all the domains and the cache are
+	 * cleared, and all the storage types (local and session storage, IndexedDB,
+	 * cache storage, service workers etc.) are cleared for every origin of the
+	 * open windows, of the other targets of the browser like frames and workers,
+	 * and of the domains of the cookies
+	 *
+	 * @return true if the session is reset
+	 */
+	private boolean reset(PooledSession session) {
+		ChromiumDriver webDriver = (ChromiumDriver) session.webDriver;
+		try {
+			Set<String> origins = new LinkedHashSet<>();
+			List<String> windowHandles = new ArrayList<>(webDriver.getWindowHandles());
+			for (int i = windowHandles.size() - 1; i >= 0; i--) {
+				webDriver.switchTo().window(windowHandles.get(i));
+				addOrigin(origins, webDriver.getCurrentUrl());
+				if (i > 0)
+					webDriver.close();
+			}
+			for (Map<?, ?> target : getList(webDriver.executeCdpCommand("Target.getTargets", Collections.emptyMap()),
+					"targetInfos"))
+				addOrigin(origins, String.valueOf(target.get("url")));
+			for (Map<?, ?> cookie : getList(webDriver.executeCdpCommand("Storage.getCookies", Collections.emptyMap()),
+					"cookies")) {
+				String domain = String.valueOf(cookie.get("domain"));
+				domain = domain.startsWith(".") ? domain.substring(1) : domain;
+				origins.add("https://" + domain);
+				origins.add("http://" + domain);
+			}
+			webDriver.get("about:blank");
+			for (String origin : origins)
+				webDriver.executeCdpCommand("Storage.clearDataForOrigin",
+						Map.of("origin", origin, "storageTypes", "all"));
+			webDriver.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+			webDriver.executeCdpCommand("Network.clearBrowserCache", Collections.emptyMap());
+			return true;
+		} catch (RuntimeException e) {
+			_backgroundLogger.warn(String.format("Error resetting browser session for pool %s. Session will be quit",
+					session.key), e);
+			return false;
+		}
+	}
+
+	private static void addOrigin(Set<String> origins, String url) {
+		try {
+			URI uri = new URI(url);
+			if (("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getHost() != null)
+				origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort()));
+		} catch (URISyntaxException e) {
+			_backgroundLogger.debug(String.format("Origin of %s not cleared. %s", url, e.getMessage()));
+		}
+	}
+
+	private static List<Map<?, ?>> getList(Map<String, Object> result, String key) {
+		List<Map<?, ?>> list = new ArrayList<>();
+		Object value = result == null ? null : result.get(key);
+		if (value instanceof List)
+			for (Object item : (List<?>) value)
+				if (item instanceof Map)
+					list.add((Map<?, ?>) item);
+		return list;
+	}
+
+	private void quit(PooledSession session) {
+		try {
+			_backgroundLogger.info(String.format("Quiting pooled browser session %s after %s leases", session.webDriver,
+					session.leases));
+			session.webDriver.quit();
+		} catch (RuntimeException e) {
+			_backgroundLogger.warn(String.format("Error quiting pooled browser session %s", session.webDriver), e);
+		}
+	}
+
+	/**
+	 * Quit the idle sessions once the sessions being started or reset are done.
+	 * Leased sessions are quit when they are returned. Called at the end of the
+	 * suite. The pool starts afresh for the next suite
+	 */
+	public void close() {
+		List<PooledSession> idleSessions = new ArrayList<>();
+		synchronized (this) {
+			closed = true;
+			long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_IN_SECONDS);
+			try {
+				while (runningTasks > 0 && System.currentTimeMillis() < deadline)
+					wait(Math.max(1, deadline - System.currentTimeMillis()));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (runningTasks > 0)
+				_logger.warn("Pooled browser sessions are still being started or reset");
+			for (Sessions keySessions : sessions.values())
+				idleSessions.addAll(keySessions.idle);
+			sessions.clear();
+			closed = false;
+		}
+		for (PooledSession session : idleSessions)
+			quit(session);
+	}
+}
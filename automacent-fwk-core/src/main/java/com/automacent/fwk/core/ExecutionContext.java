@@ -0,0 +1,141 @@
+package com.automacent.fwk.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.testng.ITestContext;
+
+import com.automacent.fwk.cmd.RuntimeProcess;
+import com.automacent.fwk.execution.IterationManager;
+import com.automacent.fwk.launcher.LauncherHeartBeat;
+import com.automacent.fwk.listeners.AutomacentListener;
+
+/**
+ * Holds the state of the XML test executing on the current thread. The context
+ * is bound to the thread when the XML test starts and removed when it finishes
+ * (see {@link AutomacentListener#onStart(ITestContext)} and
+ * {@link AutomacentListener#onFinish(ITestContext)}), so that the state is
+ * accessed without locking and is not retained by pooled threads after the test
+ * completes. A context is created on first access for code executing outside an
+ * XML test, like the Before/After suite methods.
+ * 
+ * Besides the {@link TestObject}, the context holds one instance per type of
+ * the per test managers like {@link IterationManager},
+ * {@link LauncherHeartBeat} and {@link RuntimeProcess}. Since a new context is
+ * bound for every XML test, the managers and their counters are reset for every
+ * test
+ * 
+ * @author sighil.sivadas
+ */
+public final class ExecutionContext {
+
+	private static final ThreadLocal<ExecutionContext> currentContext = new ThreadLocal<>();
+
+	/**
+	 * Bind a new {@link ExecutionContext} to the current thread. Any context
+	 * already bound to the thread is discarded
+	 * 
+	 * @return bound {@link ExecutionContext}
+	 */
+	public static ExecutionContext bind() {
+		ExecutionContext context = new ExecutionContext(null);
+		currentContext.set(context);
+		return context;
+	}
+
+	/**
+	 * Bind a new worker {@link ExecutionContext} to the current thread. Worker
+	 * contexts are used by the iteration workers executing the iterations of a
+	 * test in parallel. Each worker has its own {@link TestObject} and managers
+	 * 
+	 * @param parent     {@link ExecutionContext} of the test which started the
+	 *                   worker
+	 * @param testObject {@link TestObject} of the worker
+	 * @return bound {@link ExecutionContext}
+	 */
+	public static ExecutionContext bindWorker(ExecutionContext parent, TestObject testObject) {
+		ExecutionContext context = new ExecutionContext(parent);
+		context.setTestObject(testObject);
+		currentContext.set(context);
+		return context;
+	}
+
+	/**
+	 * Remove the {@link ExecutionContext} bound to the current thread
+	 */
+	public static void unbind() {
+		currentContext.remove();
+	}
+
+	/**
+	 * Get the {@link ExecutionContext} bound to the current thread. A new context
+	 * is bound if there is none
+	 * 
+	 * @return {@link ExecutionContext}
+	 */
+	public static ExecutionContext getContext() {
+		ExecutionContext context = currentContext.get();
+		return context == null ? bind() : context;
+	}
+
+	private final ExecutionContext parent;
+	private TestObject testObject;
+	private final Map<Class<?>, Object> attributes = new ConcurrentHashMap<>();
+
+	private ExecutionContext(ExecutionContext parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * @return {@link ExecutionContext} of the test which started the worker or
+	 *         null if the context is not a worker context
+	 */
+	public ExecutionContext getParent() {
+		return parent;
+	}
+
+	/**
+	 * @return True if the context belongs to an iteration worker
+	 */
+	public boolean isWorker() {
+		return parent != null;
+	}
+
+	/**
+	 * @return {@link TestObject} of the context or null if not set
+	 */
+	TestObject getTestObject() {
+		return testObject;
+	}
+
+	/**
+	 * Set the {@link TestObject} of the context
+	 * 
+	 * @param testObject {@link TestObject}
+	 */
+	void setTestObject(TestObject testObject) {
+		this.testObject = testObject;
+	}
+
+	/**
+	 * Get the attribute of the given type from the context. If the attribute is
+	 * not present, the attribute is created using the factory and added to the
+	 * context
+	 * 
+	 * @param <T>     Type of the attribute
+	 * @param type    Class of the attribute used as the key
+	 * @param factory {@link Supplier} for creating the attribute
+	 * @return attribute
+	 */
+	public <T> T getAttribute(Class<T> type, Supplier<T> factory) {
+		Object attribute = attributes.get(type);
+		if (attribute == null) {
+			attribute = factory.get();
+			Object existing = attributes.putIfAbsent(type, attribute);
+			if (existing != null)
+				attribute = existing;
+		}
+		return type.cast(attribute);
+	}
+}
@@ -10,13 +10,16 @@ import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
 
 import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
 import com.automacent.fwk.enums.ErrorCode;
 import com.automacent.fwk.enums.RepeatMode;
 import com.automacent.fwk.enums.RetryMode;
+import com.automacent.fwk.enums.ScreenshotFormat;
 import com.automacent.fwk.enums.ScreenshotMode;
 import com.automacent.fwk.enums.ScreenshotModeForIteration;
 import com.automacent.fwk.enums.ScreenshotType;
 import com.automacent.fwk.exceptions.SetupFailedFatalException;
+import com.automacent.fwk.execution.LatencyRecorder;
 import com.automacent.fwk.recovery.RecoveryManager;
 import com.automacent.fwk.reporting.Logger;
 import com.automacent.fwk.utils.EnumUtils;
@@ -362,6 +365,166 @@ public class TestObject {
 		_logger.info(String.format("delayBetweenIterationInSeconds set to %s", getDelayBetweenIterationInSeconds()));
 	}
 
+	// Concurrency --------------------------------------------------
+
+	private long concurrency = 1;
+
+	/**
+	 * Get concurrency. This parameter is used if {@link RepeatMode} is set to
+	 * {@link RepeatMode#TEST_DURATION} or {@link RepeatMode#INVOCATION_COUNT} and
+	 * determines the number of iteration workers executing the iterations of the
+	 * test in parallel. With {@link RepeatMode#INVOCATION_COUNT} every worker
+	 * executes invocationCount iterations
+	 * 
+	 * @return Number of iteration workers
+	 */
+	public long getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Set concurrency. This parameter is used if {@link RepeatMode} is set to
+	 * {@link RepeatMode#TEST_DURATION} or {@link RepeatMode#INVOCATION_COUNT} and
+	 * determines the number of iteration workers executing the iterations of the
+	 * test in parallel. With {@link RepeatMode#INVOCATION_COUNT} every worker
+	 * executes invocationCount iterations, so the test executes invocationCount x
+	 * concurrency iterations in total
+	 * 
+	 * @param concurrency Number of iteration workers
+	 */
+	public void setConcurrency(long concurrency) {
+		if (concurrency > 0)
+			this.concurrency = concurrency;
+		else
+			_logger.warn(String.format("%s for concurrency. Expected a value greater than 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), concurrency));
+		_logger.info(String.format("concurrency set to %s", getConcurrency()));
+	}
+
+	// Pacing -------------------------------------------------------
+
+	private long iterationsPerMinute = 0;
+	private long rampUpDurationInSeconds = 0;
+	private long rampDownDurationInSeconds = 0;
+
+	/**
+	 * Get iterations per minute. This parameter is used if {@link RepeatMode} is
+	 * set to {@link RepeatMode#TEST_DURATION} or
+	 * {@link RepeatMode#INVOCATION_COUNT}. When greater than 0, iterations are
+	 * started at this fixed arrival rate (across all the iteration workers)
+	 * irrespective of the time taken by the iterations and
+	 * delayBetweenIterationInSeconds is not used
+	 *
+	 * @return Iterations per minute. 0 if pacing is disabled
+	 */
+	public long getIterationsPerMinute() {
+		return iterationsPerMinute;
+	}
+
+	/**
+	 * Set iterations per minute. This parameter is used if {@link RepeatMode} is
+	 * set to {@link RepeatMode#TEST_DURATION} or
+	 * {@link RepeatMode#INVOCATION_COUNT}. When greater than 0, iterations are
+	 * started at this fixed arrival rate (across all the iteration workers)
+	 * irrespective of the time taken by the iterations and
+	 * delayBetweenIterationInSeconds is not used
+	 *
+	 * @param iterationsPerMinute Iterations per minute. 0 to disable pacing
+	 */
+	public void setIterationsPerMinute(long iterationsPerMinute) {
+		if (iterationsPerMinute >= 0)
+			this.iterationsPerMinute = iterationsPerMinute;
+		else
+			_logger.warn(String.format("%s for iterationsPerMinute. Expected a value greater than or equal to 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), iterationsPerMinute));
+		_logger.info(String.format("iterationsPerMinute set to %s", getIterationsPerMinute()));
+	}
+
+	/**
+	 * Get ramp up duration. This parameter is used if iterationsPerMinute is set.
+	 * The arrival rate is increased linearly from 0 to iterationsPerMinute during
+	 * the ramp up duration
+	 *
+	 * @return Ramp up duration in seconds
+	 */
+	public long getRampUpDurationInSeconds() {
+		return rampUpDurationInSeconds;
+	}
+
+	/**
+	 * Set ramp up duration. This parameter is used if iterationsPerMinute is set.
+	 * The arrival rate is increased linearly from 0 to iterationsPerMinute during
+	 * the ramp up duration
+	 *
+	 * @param rampUpDurationInSeconds Ramp up duration in seconds
+	 */
+	public void setRampUpDurationInSeconds(long rampUpDurationInSeconds) {
+		if (rampUpDurationInSeconds >= 0)
+			this.rampUpDurationInSeconds = rampUpDurationInSeconds;
+		else
+			_logger.warn(String.format(
+					"%s for rampUpDurationInSeconds. Expected a value greater than or equal to 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), rampUpDurationInSeconds));
+		_logger.info(String.format("rampUpDurationInSeconds set to %s", getRampUpDurationInSeconds()));
+	}
+
+	/**
+	 * Get ramp down duration. This parameter is used if iterationsPerMinute is set
+	 * and {@link RepeatMode} is set to {@link RepeatMode#TEST_DURATION}. The
+	 * arrival rate is decreased linearly from iterationsPerMinute to 0 during the
+	 * last seconds of the test duration
+	 *
+	 * @return Ramp down duration in seconds
+	 */
+	public long getRampDownDurationInSeconds() {
+		return rampDownDurationInSeconds;
+	}
+
+	/**
+	 * Set ramp down duration. This parameter is used if iterationsPerMinute is set
+	 * and {@link RepeatMode} is set to {@link RepeatMode#TEST_DURATION}. The
+	 * arrival rate is decreased linearly from iterationsPerMinute to 0 during the
+	 * last seconds of the test duration
+	 *
+	 * @param rampDownDurationInSeconds Ramp down duration in seconds
+	 */
+	public void setRampDownDurationInSeconds(long rampDownDurationInSeconds) {
+		if (rampDownDurationInSeconds >= 0)
+			this.rampDownDurationInSeconds = rampDownDurationInSeconds;
+		else
+			_logger.warn(String.format(
+					"%s for rampDownDurationInSeconds. Expected a value greater than or equal to 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), rampDownDurationInSeconds));
+		_logger.info(String.format("rampDownDurationInSeconds set to %s", getRampDownDurationInSeconds()));
+	}
+
+	// Latency ------------------------------------------------------
+
+	private boolean recordLatency = false;
+
+	/**
+	 * Check if latency recording is enabled. When enabled, the latency of every
+	 * {@link Step} call is recorded in the {@link LatencyRecorder} of the test
+	 * and the latency summary is reported at the end of the test
+	 *
+	 * @return True if latency recording is enabled
+	 */
+	public boolean isRecordLatency() {
+		return recordLatency;
+	}
+
+	/**
+	 * Enable or disable latency recording. When enabled, the latency of every
+	 * {@link Step} call is recorded in the {@link LatencyRecorder} of the test
+	 * and the latency summary is reported at the end of the test
+	 *
+	 * @param recordLatency True to enable latency recording
+	 */
+	public void setRecordLatency(boolean recordLatency) {
+		this.recordLatency = recordLatency;
+		_logger.info(String.format("recordLatency set to %s", isRecordLatency()));
+	}
+
 	// Screenshot ---------------------------------------------------
 
 	private ScreenshotType screenshotType;
@@ -449,6 +612,117 @@ public class TestObject {
 		_logger.info(String.format("screenshotModeForIteration set to %s", getScreenshotModeForIteration()));
 	}
 
+	private ScreenshotFormat screenshotFormat = ScreenshotFormat.getDefault();
+	private long screenshotQuality = 80;
+	private long screenshotThumbnailWidth = 0;
+	private long screenshotBufferSizeInMB = 32;
+
+	/**
+	 * Get {@link ScreenshotFormat}. This parameter determines the image format in
+	 * which screenshots are saved
+	 * 
+	 * @return {@link ScreenshotFormat}
+	 */
+	public ScreenshotFormat getScreenshotFormat() {
+		return screenshotFormat;
+	}
+
+	/**
+	 * Set {@link ScreenshotFormat}. This parameter determines the image format in
+	 * which screenshots are saved
+	 * 
+	 * @param screenshotFormat {@link ScreenshotFormat}
+	 */
+	public void setScreenshotFormat(ScreenshotFormat screenshotFormat) {
+		this.screenshotFormat = screenshotFormat;
+		_logger.info(String.format("screenshotFormat set to %s", getScreenshotFormat()));
+	}
+
+	/**
+	 * Get screenshot quality. This parameter is used if {@link ScreenshotFormat}
+	 * is set to {@link ScreenshotFormat#JPEG} and determines the compression
+	 * quality of the screenshots
+	 * 
+	 * @return Quality between 1 and 100
+	 */
+	public long getScreenshotQuality() {
+		return screenshotQuality;
+	}
+
+	/**
+	 * Set screenshot quality. This parameter is used if {@link ScreenshotFormat}
+	 * is set to {@link ScreenshotFormat#JPEG} and determines the compression
+	 * quality of the screenshots
+	 * 
+	 * @param screenshotQuality Quality between 1 and 100
+	 */
+	public void setScreenshotQuality(long screenshotQuality) {
+		if (screenshotQuality > 0 && screenshotQuality <= 100)
+			this.screenshotQuality = screenshotQuality;
+		else
+			_logger.warn(String.format("%s for screenshotQuality. Expected a value between 1 and 100. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), screenshotQuality));
+		_logger.info(String.format("screenshotQuality set to %s", getScreenshotQuality()));
+	}
+
+	/**
+	 * Get screenshot thumbnail width. When greater than 0, a thumbnail of the
+	 * screenshot downscaled to this width is displayed in the report and links to
+	 * the full screenshot
+	 * 
+	 * @return Thumbnail width in pixels. 0 if thumbnails are disabled
+	 */
+	public long getScreenshotThumbnailWidth() {
+		return screenshotThumbnailWidth;
+	}
+
+	/**
+	 * Set screenshot thumbnail width. When greater than 0, a thumbnail of the
+	 * screenshot downscaled to this width is displayed in the report and links to
+	 * the full screenshot
+	 * 
+	 * @param screenshotThumbnailWidth Thumbnail width in pixels. 0 to disable
+	 *                                 thumbnails
+	 */
+	public void setScreenshotThumbnailWidth(long screenshotThumbnailWidth) {
+		if (screenshotThumbnailWidth >= 0)
+			this.screenshotThumbnailWidth = screenshotThumbnailWidth;
+		else
+			_logger.warn(String.format(
+					"%s for screenshotThumbnailWidth. Expected a value greater than or equal to 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), screenshotThumbnailWidth));
+		_logger.info(String.format("screenshotThumbnailWidth set to %s", getScreenshotThumbnailWidth()));
+	}
+
+	/**
+	 * Get screenshot buffer size. This parameter is used if
+	 * {@link ScreenshotModeForIteration} is set to
+	 * {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED} and caps the
+	 * memory holding the screenshots of the current iteration
+	 * 
+	 * @return Buffer size in MB
+	 */
+	public long getScreenshotBufferSizeInMB() {
+		return screenshotBufferSizeInMB;
+	}
+
+	/**
+	 * Set screenshot buffer size. This parameter is used if
+	 * {@link ScreenshotModeForIteration} is set to
+	 * {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED} and caps the
+	 * memory holding the screenshots of the current iteration
+	 * 
+	 * @param screenshotBufferSizeInMB Buffer size in MB
+	 */
+	public void setScreenshotBufferSizeInMB(long screenshotBufferSizeInMB) {
+		if (screenshotBufferSizeInMB > 0)
+			this.screenshotBufferSizeInMB = screenshotBufferSizeInMB;
+		else
+			_logger.warn(String.format("%s for screenshotBufferSizeInMB. Expected a value greater than 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), screenshotBufferSizeInMB));
+		_logger.info(String.format("screenshotBufferSizeInMB set to %s", getScreenshotBufferSizeInMB()));
+	}
+
 	// Retry mode ---------------------------------------------------
 
 	private RetryMode retryMode;
@@ -516,4 +790,44 @@ public class TestObject {
 	public void setBaseUrl(String baseUrl) {
 		this.baseUrl = baseUrl;
 	}
+
+	// Iteration worker ---------------------------------------------
+
+	/**
+	 * Create a copy of the {@link TestObject} for an iteration worker. The
+	 * parameters are copied from the current {@link TestObject}. The worker gets
+	 * its own test name and no {@link DriverManager}
+	 * 
+	 * @param worker Worker number
+	 * @return {@link TestObject} for the worker
+	 */
+	public TestObject newWorkerTestObject(int worker) {
+		TestObject testObject = new TestObject();
+		testObject.testContext = testContext;
+		testObject.debuggerAddress = debuggerAddress;
+		testObject.downloadLocation = downloadLocation;
+		testObject.testName = String.format("%s_worker_%s", testName, worker);
+		testObject.timeoutInSeconds = timeoutInSeconds;
+		testObject.slowdownDurationInSeconds = slowdownDurationInSeconds;
+		testObject.repeatMode = repeatMode;
+		testObject.testDurationInSeconds = testDurationInSeconds;
+		testObject.delayBetweenIterationInSeconds = delayBetweenIterationInSeconds;
+		testObject.invocationCount = invocationCount;
+		testObject.concurrency = concurrency;
+		testObject.iterationsPerMinute = iterationsPerMinute;
+		testObject.rampUpDurationInSeconds = rampUpDurationInSeconds;
+		testObject.rampDownDurationInSeconds = rampDownDurationInSeconds;
+		testObject.recordLatency = recordLatency;
+		testObject.screenshotType = screenshotType;
+		testObject.screenshotModes.addAll(screenshotModes);
+		testObject.screenshotModeForIteration = screenshotModeForIteration;
+		testObject.screenshotFormat = screenshotFormat;
+		testObject.screenshotQuality = screenshotQuality;
+		testObject.screenshotThumbnailWidth = screenshotThumbnailWidth;
+		testObject.screenshotBufferSizeInMB = screenshotBufferSizeInMB;
+		testObject.retryMode = retryMode;
+		testObject.recoveryManager = recoveryManager;
+		testObject.baseUrl = baseUrl;
+		return testObject;
+	}
 }
@@ -1,13 +1,25 @@
 package com.automacent.fwk.core;
 
+import com.automacent.fwk.rest.RestClient;
+
 /**
  * Base class for Web Service Test Step classes. All Step classes must extend
  * this class. Inheriting this class will enforce parity in constructor
- * signature and provide common functions for use in step libraries.
+ * signature and provide common functions for use in step libraries. This
+ * class provides the {@link RestClient} of the services under test
  * 
  * @author sighil.sivadas
  *
  */
 public abstract class WebServiceTestSteps {
 
+	/**
+	 * Get the {@link RestClient} of the service for the running test
+	 * 
+	 * @param baseUrl Base URL of the service
+	 * @return {@link RestClient}
+	 */
+	protected RestClient getRestClient(String baseUrl) {
+		return RestClient.getClient(baseUrl);
+	}
 }
@@ -0,0 +1,22 @@
+package com.automacent.fwk.enums;
+
+/**
+ * Enum describing how the driver server executables are resolved when no
+ * custom driver location is provided. This can be set in the suite (TestNG xml
+ * file) as a parameter.
+ *
+ * ONLINE resolves the executable with WebDriverManager once per browser type
+ * in the run. MANIFEST uses the executable recorded in the driver manifest by
+ * an earlier run, so that the run skips the resolution, and records the
+ * executable resolved online otherwise. OFFLINE only uses the driver manifest
+ * and never resolves online
+ *
+ * @author sighil.sivadas
+ */
+public enum DriverResolutionMode {
+	ONLINE, MANIFEST, OFFLINE;
+
+	public static DriverResolutionMode getDefault() {
+		return ONLINE;
+	}
+}
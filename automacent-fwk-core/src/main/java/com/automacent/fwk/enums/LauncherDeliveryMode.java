@@ -0,0 +1,21 @@
+package com.automacent.fwk.enums;
+
+/**
+ * Enum describing how launcher events are delivered to the launcher clients.
+ * This can be set in the suite (TestNG xml file) as a parameter.
+ *
+ * DIRECT delivers the events from memory to the launcher clients. SPOOL writes
+ * the events to a spool on disk under the report directory first and forwards
+ * them to the launcher clients from the spool with retry, so events are not
+ * lost when the launcher server is slow or down and can be replayed after the
+ * run
+ *
+ * @author sighil.sivadas
+ */
+public enum LauncherDeliveryMode {
+	DIRECT, SPOOL;
+
+	public static LauncherDeliveryMode getDefault() {
+		return DIRECT;
+	}
+}
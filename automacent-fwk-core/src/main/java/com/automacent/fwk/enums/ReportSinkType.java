@@ -0,0 +1,19 @@
+package com.automacent.fwk.enums;
+
+/**
+ * Enum describing where the HTML report entries are written. This can be set in
+ * the suite (TestNG xml file) as a parameter.
+ *
+ * TESTNG_REPORTER keeps the entries in the TestNG Reporter till the end of the
+ * suite. STREAMING writes the entries of each test to disk as they are produced
+ * and assembles the report at the end of the suite
+ *
+ * @author sighil.sivadas
+ */
+public enum ReportSinkType {
+	TESTNG_REPORTER, STREAMING;
+
+	public static ReportSinkType getDefault() {
+		return TESTNG_REPORTER;
+	}
+}
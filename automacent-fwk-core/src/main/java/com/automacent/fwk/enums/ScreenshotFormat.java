@@ -0,0 +1,40 @@
+package com.automacent.fwk.enums;
+
+/**
+ * ENUM describing the image format in which screenshots are saved. PNG is
+ * lossless. JPEG is lossy and the compression is controlled by the
+ * screenshotQuality parameter. This can be set in the test (TestNG xml file)
+ * as a parameter so that the format will be set for the whole SUITE or for a
+ * particular test instance
+ *
+ * @author sighil.sivadas
+ */
+public enum ScreenshotFormat {
+	PNG("png", "png"), JPEG("jpeg", "jpg");
+
+	private String formatName;
+	private String extension;
+
+	private ScreenshotFormat(String formatName, String extension) {
+		this.formatName = formatName;
+		this.extension = extension;
+	}
+
+	/**
+	 * @return ImageIO format name
+	 */
+	public String getFormatName() {
+		return formatName;
+	}
+
+	/**
+	 * @return File extension
+	 */
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ScreenshotFormat getDefault() {
+		return PNG;
+	}
+}
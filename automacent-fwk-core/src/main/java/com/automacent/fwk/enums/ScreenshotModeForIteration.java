@@ -5,13 +5,18 @@ package com.automacent.fwk.enums;
  * ENUM describing the MODE in which screenshots have to be taken for
  * iterations. This can be set in the test (TestNG xml file) as a parameter so
  * that the MODE will be set for the whole SUITE or for a particular test
- * instance
+ * instance.
+ * 
+ * {@link #LAST_ITERATION_BUFFERED} keeps the screenshots of the current
+ * iteration in memory and saves them only if the iteration fails or is the last
+ * iteration, instead of saving and then wiping the screenshots of each passed
+ * iteration like {@link #LAST_ITERATION}
  * 
  * @author sighil.sivadas
  *
  */
 public enum ScreenshotModeForIteration {
-	FAILED_ITERATION, EACH_ITERATION, LAST_ITERATION;
+	FAILED_ITERATION, EACH_ITERATION, LAST_ITERATION, LAST_ITERATION_BUFFERED;
 
 	public static ScreenshotModeForIteration getDefault() {
 		return FAILED_ITERATION;
@@ -0,0 +1,17 @@
+package com.automacent.fwk.exceptions;
+
+/**
+ * Exception thrown when a JSON path expression cannot be compiled
+ * 
+ * @author sighil.sivadas
+ */
+public class InvalidJsonPathException extends RuntimeException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public InvalidJsonPathException(String message) {
+		super(message);
+	}
+}
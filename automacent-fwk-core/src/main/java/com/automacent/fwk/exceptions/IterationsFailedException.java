@@ -1,5 +1,6 @@
 package com.automacent.fwk.exceptions;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -15,10 +16,6 @@ public class IterationsFailedException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 8187605870144828935L;
 
-	private IterationsFailedException(String message) {
-		super(message);
-	}
-
 	/**
 	 * initialize the Exception with the map of test failure errors
 	 * 
@@ -26,10 +23,36 @@ public class IterationsFailedException extends RuntimeException {
 	 *                 iterations
 	 */
 	public IterationsFailedException(Map<Integer, String> errorMap) {
-		String message = "Test failed because there are iteration failures";
-		for (int iteration : errorMap.keySet()) {
-			message += String.format("%s\nIteration %s - %s", message, iteration, errorMap.get(iteration));
-		}
-		new IterationsFailedException(message);
+		this(errorMap, Collections.emptyMap());
+	}
+
+	/**
+	 * initialize the Exception with the map of test failure errors of the test and
+	 * of its iteration workers
+	 * 
+	 * @param errorMap       Error map containing the errors that occurred in the
+	 *                       iterations
+	 * @param workerErrorMap Error map per iteration worker containing the errors
+	 *                       that occurred in the iterations of the worker. The
+	 *                       error which stopped the worker has iteration number 0
+	 */
+	public IterationsFailedException(Map<Integer, String> errorMap,
+			Map<Integer, ? extends Map<Integer, String>> workerErrorMap) {
+		super(formatErrorMap(errorMap, workerErrorMap));
+	}
+
+	private static String formatErrorMap(Map<Integer, String> errorMap,
+			Map<Integer, ? extends Map<Integer, String>> workerErrorMap) {
+		StringBuilder message = new StringBuilder("Test failed because there are iteration failures");
+		for (Map.Entry<Integer, String> error : errorMap.entrySet())
+			message.append(String.format("\nIteration %s - %s", error.getKey(), error.getValue()));
+		for (Map.Entry<Integer, ? extends Map<Integer, String>> worker : workerErrorMap.entrySet())
+			for (Map.Entry<Integer, String> error : worker.getValue().entrySet())
+				if (error.getKey() == 0)
+					message.append(String.format("\nWorker %s - %s", worker.getKey(), error.getValue()));
+				else
+					message.append(String.format("\nWorker %s Iteration %s - %s", worker.getKey(), error.getKey(),
+							error.getValue()));
+		return message.toString();
 	}
 }
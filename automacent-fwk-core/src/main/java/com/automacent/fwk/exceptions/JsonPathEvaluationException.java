@@ -0,0 +1,18 @@
+package com.automacent.fwk.exceptions;
+
+/**
+ * Exception thrown when the JSON being evaluated against JSON paths cannot be
+ * parsed
+ * 
+ * @author sighil.sivadas
+ */
+public class JsonPathEvaluationException extends RuntimeException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public JsonPathEvaluationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -1,5 +1,7 @@
 package com.automacent.fwk.exceptions;
 
+import com.automacent.fwk.rest.Response;
+
 /**
  * Exception thrown on the executing rest client
  * 
@@ -11,6 +13,8 @@ public class RestClientExecutionException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private transient Response response;
+
 	public RestClientExecutionException(String message, Throwable cause) {
 		super(message, cause);
 	}
@@ -18,4 +22,16 @@ public class RestClientExecutionException extends RuntimeException {
 	public RestClientExecutionException(String message) {
 		super(message);
 	}
+
+	public RestClientExecutionException(String message, Response response) {
+		super(message);
+		this.response = response;
+	}
+
+	/**
+	 * @return {@link Response} of the failed call, if the service responded
+	 */
+	public Response getResponse() {
+		return response;
+	}
 }
@@ -0,0 +1,32 @@
+package com.automacent.fwk.exceptions;
+
+/**
+ * Exception standing in for the failure of a launcher event read back from the
+ * launcher spool. The class name, message and stack trace of the original
+ * exception are preserved
+ * 
+ * @author sighil.sivadas
+ */
+public class SpooledLauncherEventException extends RuntimeException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	private final String exceptionClassName;
+
+	public SpooledLauncherEventException(String exceptionClassName, String message,
+			StackTraceElement[] stackTrace) {
+		super(message == null ? exceptionClassName : String.format("%s: %s", exceptionClassName, message));
+		this.exceptionClassName = exceptionClassName;
+		setStackTrace(stackTrace);
+	}
+
+	/**
+	 * @return Class name of the original exception
+	 */
+	public String getExceptionClassName() {
+		return exceptionClassName;
+	}
+}
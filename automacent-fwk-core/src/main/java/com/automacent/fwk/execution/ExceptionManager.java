@@ -184,12 +184,6 @@ public class ExceptionManager {
 	 * @return True if method is a test
 	 */
 	public static boolean isMethodUnderExecutionATest() {
-		StackTraceElement[] stackTraceElements = Thread.currentThread().getStackTrace();
-		for (StackTraceElement stackTraceElement : stackTraceElements) {
-			String methodName = stackTraceElement.getMethodName();
-			if (methodName.contains("aroundTestCompilerAspect"))
-				return true;
-		}
-		return false;
+		return ExecutionFrameStack.isTestInProgress();
 	}
 }
@@ -0,0 +1,113 @@
+package com.automacent.fwk.execution;
+
+import java.util.Arrays;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+
+import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.enums.MethodType;
+
+/**
+ * Per thread stack of the framework methods ({@link MethodType#TEST},
+ * {@link MethodType#BEFORE}, {@link MethodType#AFTER}, {@link Step} and
+ * {@link Action}) under execution. Frames are pushed and popped by the
+ * framework aspects so that the nesting level of logs and the type of method
+ * under execution can be queried without walking the thread stack trace.
+ *
+ * Every frame adds two levels of nesting when entered and two more while the
+ * body of the intercepted method is being executed.
+ *
+ * @author sighil.sivadas
+ */
+public final class ExecutionFrameStack {
+
+	private static final ThreadLocal<ExecutionFrameStack> frameStack = ThreadLocal
+			.withInitial(ExecutionFrameStack::new);
+
+	private static final int NESTING_LEVEL_PER_FRAME = 2;
+
+	private MethodType[] frames = new MethodType[16];
+	private int size = 0;
+	private int nestingLevel = 0;
+	private int testFrameCount = 0;
+
+	private ExecutionFrameStack() {
+	}
+
+	/**
+	 * Push a new frame for the method about to be executed
+	 *
+	 * @param methodType {@link MethodType} of the method
+	 */
+	public static void push(MethodType methodType) {
+		ExecutionFrameStack stack = frameStack.get();
+		if (stack.size == stack.frames.length)
+			stack.frames = Arrays.copyOf(stack.frames, stack.size * 2);
+		stack.frames[stack.size++] = methodType;
+		stack.nestingLevel += NESTING_LEVEL_PER_FRAME;
+		if (methodType == MethodType.TEST)
+			stack.testFrameCount++;
+	}
+
+	/**
+	 * Pop the frame of the method which completed execution
+	 */
+	public static void pop() {
+		ExecutionFrameStack stack = frameStack.get();
+		if (stack.size == 0)
+			return;
+		MethodType methodType = stack.frames[--stack.size];
+		stack.frames[stack.size] = null;
+		stack.nestingLevel -= NESTING_LEVEL_PER_FRAME;
+		if (methodType == MethodType.TEST)
+			stack.testFrameCount--;
+	}
+
+	/**
+	 * Proceed with the execution of the intercepted method body. The nesting
+	 * level is increased for the duration of the body execution
+	 *
+	 * @param point {@link ProceedingJoinPoint}
+	 * @return Result of execution
+	 * @throws Throwable Throwable thrown by the method
+	 */
+	public static Object proceed(ProceedingJoinPoint point) throws Throwable {
+		ExecutionFrameStack stack = frameStack.get();
+		stack.nestingLevel += NESTING_LEVEL_PER_FRAME;
+		try {
+			return point.proceed();
+		} finally {
+			stack.nestingLevel -= NESTING_LEVEL_PER_FRAME;
+		}
+	}
+
+	/**
+	 * Get the nesting level of the method under execution
+	 *
+	 * @return nesting level
+	 */
+	public static int getNestingLevel() {
+		return frameStack.get().nestingLevel;
+	}
+
+	/**
+	 * Check if a {@link MethodType#TEST} method is under execution in the current
+	 * thread
+	 *
+	 * @return True if a test method is in the execution stack
+	 */
+	public static boolean isTestInProgress() {
+		return frameStack.get().testFrameCount > 0;
+	}
+
+	/**
+	 * Get the {@link MethodType} of the innermost method under execution
+	 *
+	 * @return {@link MethodType} or null if no framework method is under execution
+	 */
+	public static MethodType getCurrentMethodType() {
+		ExecutionFrameStack stack = frameStack.get();
+		return stack.size == 0 ? null : stack.frames[stack.size - 1];
+	}
+}
@@ -2,11 +2,15 @@ package com.automacent.fwk.execution;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import com.automacent.fwk.annotations.Repeat;
 import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.core.TestObject;
 import com.automacent.fwk.enums.RepeatMode;
 import com.automacent.fwk.exceptions.TestDurationExceededException;
 import com.automacent.fwk.reporting.ExecutionLogManager;
@@ -27,7 +31,21 @@ public class IterationManager {
 		startTimeInMilliSeconds = new Date().getTime();
 	}
 
-	private static HashMap<Long, IterationManager> timeKeepersMap = new HashMap<Long, IterationManager>();
+	/**
+	 * Create {@link IterationManager} for an iteration worker. The worker shares
+	 * the start time of the test so that the test duration is measured from the
+	 * start of the test. When the iterations are paced, the worker starts every
+	 * concurrency-th arrival of the test beginning with arrival worker - 1
+	 * 
+	 * @param startTimeInMilliSeconds Start time of the test
+	 * @param worker                  Worker number
+	 * @param concurrency             Number of iteration workers
+	 */
+	IterationManager(long startTimeInMilliSeconds, int worker, int concurrency) {
+		this.startTimeInMilliSeconds = startTimeInMilliSeconds;
+		this.arrivalOffset = worker - 1;
+		this.arrivalStride = concurrency;
+	}
 
 	/**
 	 * Get the {@link IterationManager} instance for the test. Using the instance
@@ -36,10 +54,8 @@ public class IterationManager {
 	 * 
 	 * @return TimeKeeper
 	 */
-	public synchronized static IterationManager getManager() {
-		if (!timeKeepersMap.containsKey(ThreadUtils.getThreadId()))
-			timeKeepersMap.put(ThreadUtils.getThreadId(), new IterationManager());
-		return timeKeepersMap.get(ThreadUtils.getThreadId());
+	public static IterationManager getManager() {
+		return ExecutionContext.getContext().getAttribute(IterationManager.class, IterationManager::new);
 	}
 
 	private int iteration = 0;
@@ -47,9 +63,19 @@ public class IterationManager {
 	private long elapsedTimeInMilliSeconds = 0;
 	private boolean executeRecoveryScenarios = false;
 	private Map<Integer, String> errorMap = new HashMap<>();
+	private int workerIterations = 0;
+	private Map<Integer, Map<Integer, String>> workerErrorMap = new LinkedHashMap<>();
+
+	private IterationPacer pacer;
+	private int arrivalOffset = 0;
+	private int arrivalStride = 1;
+	private long pacedIterations = 0;
+	private long totalScheduleLagInMilliSeconds = 0;
+	private long maxScheduleLagInMilliSeconds = 0;
 
 	/**
-	 * Get the current iteration count
+	 * Get the current iteration count. Iterations run by iteration workers are not
+	 * counted, see {@link #getTotalIterations()}
 	 * 
 	 * @return 0 if no iteration is run else iteration count
 	 */
@@ -57,6 +83,16 @@ public class IterationManager {
 		return iteration;
 	}
 
+	/**
+	 * Get the number of iterations run by the test, including the iterations run
+	 * by its iteration workers
+	 * 
+	 * @return Total iteration count
+	 */
+	public int getTotalIterations() {
+		return iteration + workerIterations;
+	}
+
 	/**
 	 * Get the elapsed time recorded before the last iteration is executed
 	 * 
@@ -104,6 +140,52 @@ public class IterationManager {
 		return errorMap;
 	}
 
+	/**
+	 * @return Start time of the test in milliseconds
+	 */
+	long getStartTimeInMilliSeconds() {
+		return startTimeInMilliSeconds;
+	}
+
+	/**
+	 * Get the errors of the iteration workers of the test containing &lt;Worker
+	 * number, &lt;Iteration number of the worker, Error&gt;&gt;. The error which
+	 * stopped a worker is added with iteration number 0
+	 * 
+	 * @return Worker error map
+	 */
+	public Map<Integer, Map<Integer, String>> getWorkerErrorMap() {
+		return workerErrorMap;
+	}
+
+	/**
+	 * Add the iterations and errors of an iteration worker to the test. The
+	 * iterations and errors are kept apart from those of the test, so that the
+	 * error map of the test stays keyed by its own iterations
+	 * 
+	 * @param worker        Worker number
+	 * @param workerManager {@link IterationManager} of the worker
+	 */
+	void addWorkerResults(int worker, IterationManager workerManager) {
+		workerIterations += workerManager.getIteration();
+		pacedIterations += workerManager.pacedIterations;
+		totalScheduleLagInMilliSeconds += workerManager.totalScheduleLagInMilliSeconds;
+		maxScheduleLagInMilliSeconds = Math.max(maxScheduleLagInMilliSeconds,
+				workerManager.maxScheduleLagInMilliSeconds);
+		if (!workerManager.getErrorMap().isEmpty())
+			workerErrorMap.computeIfAbsent(worker, key -> new TreeMap<>()).putAll(workerManager.getErrorMap());
+	}
+
+	/**
+	 * Add the error which stopped an iteration worker to the test
+	 * 
+	 * @param worker Worker number
+	 * @param e      {@link Throwable}
+	 */
+	void addWorkerError(int worker, Throwable e) {
+		workerErrorMap.computeIfAbsent(worker, key -> new TreeMap<>()).put(0, e.getMessage());
+	}
+
 	/**
 	 * Check if the current iteration is failed
 	 * 
@@ -143,9 +225,12 @@ public class IterationManager {
 	 */
 	public boolean isIterationRemaining() {
 		RepeatMode repeatMode = BaseTest.getTestObject().getRepeatMode();
-		if ((repeatMode == RepeatMode.TEST_DURATION && IterationManager.getManager().isTimeRemaining())
+		if (((repeatMode == RepeatMode.TEST_DURATION && IterationManager.getManager().isTimeRemaining())
 				|| (repeatMode == RepeatMode.INVOCATION_COUNT && IterationManager.getManager().isCountRemaining()))
+				&& isArrivalScheduled()) {
+			ReportingTools.wipeScreenshotDirectory();
 			return true;
+		}
 		return false;
 	}
 
@@ -162,7 +247,6 @@ public class IterationManager {
 				.toMillis(BaseTest.getTestObject().getTestDurationInSeconds());
 		elapsedTimeInMilliSeconds = new Date().getTime() - startTimeInMilliSeconds;
 		if (testDurationInMilliSeconds > elapsedTimeInMilliSeconds) {
-			ReportingTools.wipeScreenshotDirectory();
 			timeRemaining = true;
 		}
 		_logger.debug(
@@ -181,7 +265,6 @@ public class IterationManager {
 		boolean countRemaining = false;
 		int invocationCount = (int) BaseTest.getTestObject().getInvocationCount();
 		if (invocationCount > iteration) {
-			ReportingTools.wipeScreenshotDirectory();
 			countRemaining = true;
 		}
 		_logger.debug(String.format("Is count remaining  - invocationCount[%s], iteration[%s]? %s", invocationCount,
@@ -218,16 +301,121 @@ public class IterationManager {
 	}
 
 	/**
-	 * Sleep for the set delayBetweenIterationInSeconds parameter set for the test
+	 * Sleep for the set delayBetweenIterationInSeconds parameter set for the test.
+	 * If iterationsPerMinute is set for the test, sleep till the scheduled start
+	 * time of the iteration instead
 	 */
 	public void sleepBetweenIteration() {
-		if (getIteration() > 1) {
+		if (BaseTest.getTestObject().getIterationsPerMinute() > 0) {
+			sleepTillScheduledStart();
+		} else if (getIteration() > 1) {
 			int sleepTimeInSeconds = (int) BaseTest.getTestObject().getDelayBetweenIterationInSeconds();
 			_logger.info("Test will sleep for " + sleepTimeInSeconds + " seconds as the set value between iteration");
 			ThreadUtils.sleepFor(sleepTimeInSeconds);
 		}
 	}
 
+	// Pacing -------------------------------------------------------
+
+	/**
+	 * Get the {@link IterationPacer} for the test. The pacer is created on first
+	 * use from the pacing parameters of the test
+	 * 
+	 * @return {@link IterationPacer}
+	 */
+	private IterationPacer getPacer() {
+		if (pacer == null) {
+			TestObject testObject = BaseTest.getTestObject();
+			pacer = new IterationPacer(testObject.getIterationsPerMinute(), testObject.getRampUpDurationInSeconds(),
+					testObject.getRampDownDurationInSeconds(),
+					testObject.getRepeatMode() == RepeatMode.TEST_DURATION ? testObject.getTestDurationInSeconds()
+							: 0);
+		}
+		return pacer;
+	}
+
+	/**
+	 * Get the scheduled start time of the next iteration relative to the start of
+	 * the test
+	 * 
+	 * @param iteration Iteration number of the current thread starting from 1
+	 * @return Scheduled start time in milliseconds or -1 if no more iterations are
+	 *         scheduled
+	 */
+	private long getScheduledStartInMilliSeconds(int iteration) {
+		return getPacer().getScheduledStartInMilliSeconds((long) (iteration - 1) * arrivalStride + arrivalOffset);
+	}
+
+	/**
+	 * Check if the next iteration is scheduled. Always true if the iterations are
+	 * not paced. When paced, iterations are not scheduled after the ramp down and,
+	 * in case of {@link RepeatMode#TEST_DURATION}, after the test duration
+	 * 
+	 * @return True if the next iteration is scheduled
+	 */
+	private boolean isArrivalScheduled() {
+		TestObject testObject = BaseTest.getTestObject();
+		if (testObject.getIterationsPerMinute() == 0)
+			return true;
+		long scheduledStart = getScheduledStartInMilliSeconds(iteration + 1);
+		boolean arrivalScheduled = scheduledStart >= 0 && (testObject.getRepeatMode() != RepeatMode.TEST_DURATION
+				|| scheduledStart < TimeUnit.SECONDS.toMillis(testObject.getTestDurationInSeconds()));
+		_logger.debug(String.format("Is arrival scheduled - scheduledStartInMilliSeconds[%s]? %s", scheduledStart,
+				arrivalScheduled));
+		return arrivalScheduled;
+	}
+
+	/**
+	 * Sleep till the scheduled start time of the current iteration. If the
+	 * iteration is started after the scheduled start time, the delay is recorded
+	 * as schedule lag
+	 */
+	private void sleepTillScheduledStart() {
+		long scheduledStart = startTimeInMilliSeconds + getScheduledStartInMilliSeconds(iteration);
+		long sleepTimeInMilliSeconds = scheduledStart - new Date().getTime();
+		if (sleepTimeInMilliSeconds > 0) {
+			_logger.debug(String.format("Test will sleep for %s milliseconds till the scheduled start of iteration",
+					sleepTimeInMilliSeconds));
+			ThreadUtils.sleepForMilliSeconds(sleepTimeInMilliSeconds);
+		}
+
+		long scheduleLag = Math.max(0, new Date().getTime() - scheduledStart);
+		if (scheduleLag > 0)
+			_logger.debug(String.format("Iteration started %s milliseconds behind schedule", scheduleLag));
+		pacedIterations++;
+		totalScheduleLagInMilliSeconds += scheduleLag;
+		maxScheduleLagInMilliSeconds = Math.max(maxScheduleLagInMilliSeconds, scheduleLag);
+	}
+
+	/**
+	 * Get the number of iterations started by the pacer
+	 * 
+	 * @return Number of paced iterations
+	 */
+	public long getPacedIterations() {
+		return pacedIterations;
+	}
+
+	/**
+	 * Get the average delay between the scheduled and actual start time of the
+	 * paced iterations
+	 * 
+	 * @return Average schedule lag in milliseconds
+	 */
+	public long getAverageScheduleLagInMilliSeconds() {
+		return pacedIterations == 0 ? 0 : totalScheduleLagInMilliSeconds / pacedIterations;
+	}
+
+	/**
+	 * Get the maximum delay between the scheduled and actual start time of the
+	 * paced iterations
+	 * 
+	 * @return Maximum schedule lag in milliseconds
+	 */
+	public long getMaxScheduleLagInMilliSeconds() {
+		return maxScheduleLagInMilliSeconds;
+	}
+
 	/**
 	 * Check if test duration is exceeded. This method comes into picture when the
 	 * method under execution is a test and {@link RepeatMode} is
@@ -0,0 +1,75 @@
+package com.automacent.fwk.execution;
+
+import java.util.concurrent.TimeUnit;
+
+import com.automacent.fwk.enums.RepeatMode;
+
+/**
+ * Computes the scheduled start time of iterations when the test is paced at a
+ * fixed arrival rate (iterations per minute). The rate is ramped up linearly
+ * from zero to the target rate during the ramp up phase, held during the steady
+ * phase and, in case of {@link RepeatMode#TEST_DURATION}, ramped down linearly
+ * to zero during the last seconds of the test duration.
+ *
+ * Arrivals are numbered from 0 across all the iteration workers of the test.
+ * Worker n of c executes arrivals n - 1, n - 1 + c, n - 1 + 2c ... so that the
+ * workers together generate the target rate.
+ *
+ * @author sighil.sivadas
+ */
+class IterationPacer {
+
+	private final double iterationsPerMilliSecond;
+	private final double rampUpInMilliSeconds;
+	private final double rampDownStartInMilliSeconds;
+	private final double rampDownInMilliSeconds;
+	private final double rampUpArrivals;
+	private final double steadyArrivals;
+
+	/**
+	 * Create the pacer
+	 *
+	 * @param iterationsPerMinute       Target arrival rate
+	 * @param rampUpDurationInSeconds   Duration of the ramp up phase
+	 * @param rampDownDurationInSeconds Duration of the ramp down phase. 0 if there
+	 *                                  is no ramp down phase
+	 * @param testDurationInSeconds     Test duration. 0 if the test is not bound by
+	 *                                  duration
+	 */
+	IterationPacer(long iterationsPerMinute, long rampUpDurationInSeconds, long rampDownDurationInSeconds,
+			long testDurationInSeconds) {
+		iterationsPerMilliSecond = (double) iterationsPerMinute / TimeUnit.MINUTES.toMillis(1);
+		rampUpInMilliSeconds = TimeUnit.SECONDS.toMillis(rampUpDurationInSeconds);
+		rampDownInMilliSeconds = testDurationInSeconds > 0 ? TimeUnit.SECONDS.toMillis(rampDownDurationInSeconds) : 0;
+		rampDownStartInMilliSeconds = rampDownInMilliSeconds > 0
+				? Math.max(rampUpInMilliSeconds, TimeUnit.SECONDS.toMillis(testDurationInSeconds) - rampDownInMilliSeconds)
+				: Double.MAX_VALUE;
+		rampUpArrivals = iterationsPerMilliSecond * rampUpInMilliSeconds / 2;
+		steadyArrivals = rampDownInMilliSeconds > 0
+				? iterationsPerMilliSecond * (rampDownStartInMilliSeconds - rampUpInMilliSeconds)
+				: Double.MAX_VALUE;
+	}
+
+	/**
+	 * Get the scheduled start time of the arrival relative to the start of the
+	 * test
+	 *
+	 * @param arrival Arrival number starting from 0
+	 * @return Scheduled start time in milliseconds from the start of the test or
+	 *         -1 if the arrival falls after the end of the ramp down phase
+	 */
+	long getScheduledStartInMilliSeconds(long arrival) {
+		if (arrival < rampUpArrivals)
+			return (long) Math.sqrt(2 * rampUpInMilliSeconds * arrival / iterationsPerMilliSecond);
+
+		double steadyArrival = arrival - rampUpArrivals;
+		if (steadyArrival < steadyArrivals)
+			return (long) (rampUpInMilliSeconds + steadyArrival / iterationsPerMilliSecond);
+
+		double rampDownFraction = 2 * (steadyArrival - steadyArrivals)
+				/ (iterationsPerMilliSecond * rampDownInMilliSeconds);
+		if (rampDownFraction >= 1)
+			return -1;
+		return (long) (rampDownStartInMilliSeconds + rampDownInMilliSeconds * (1 - Math.sqrt(1 - rampDownFraction)));
+	}
+}
@@ -0,0 +1,242 @@
+package com.automacent.fwk.execution;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestObjectFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import com.automacent.fwk.annotations.Pages;
+import com.automacent.fwk.annotations.Repeat;
+import com.automacent.fwk.annotations.Steps;
+import com.automacent.fwk.annotations.StepsAndPagesProcessor;
+import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.Driver;
+import com.automacent.fwk.core.DriverManager;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.core.IPageObject;
+import com.automacent.fwk.core.TestObject;
+import com.automacent.fwk.enums.BrowserId;
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.RepeatMode;
+import com.automacent.fwk.exceptions.SetupFailedFatalException;
+import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.reporting.ReportingTools;
+import com.automacent.fwk.utils.ThreadUtils;
+
+/**
+ * Executes the iterations of a {@link Repeat} test in parallel iteration
+ * workers. Each worker runs on its own thread with a worker
+ * {@link ExecutionContext}, i.e., its own {@link TestObject}, its own
+ * {@link IterationManager} counters and, for web tests, its own browsers
+ * started by its own {@link DriverManager}. The test method is invoked on a
+ * copy of the test class instance with {@link Steps} and {@link Pages}
+ * initialized for the worker. The other fields of the test class instance are
+ * shared by the workers, so fields set in the configuration methods of the test
+ * class must be safe to share. A field holding a browser or a page object of
+ * the test fails the test, as workers must not drive the browsers of the test.
+ *
+ * Every worker executes the iterations as per the {@link RepeatMode} of the
+ * test, i.e., with {@link RepeatMode#INVOCATION_COUNT} every worker executes
+ * invocationCount iterations and the test executes invocationCount x
+ * concurrency iterations in total. Once all the workers complete, the
+ * iterations and errors of the workers are added to the
+ * {@link IterationManager} of the test, per worker and apart from the
+ * iterations of the test itself. The launcher clients of the test are shared by
+ * the workers
+ *
+ * @author sighil.sivadas
+ */
+class IterationWorkerPool {
+
+	private static final Logger _logger = Logger.getLogger(IterationWorkerPool.class);
+
+	private final ProceedingJoinPoint point;
+	private final Method method;
+	private final int concurrency;
+
+	/**
+	 * Create the pool for the test method
+	 *
+	 * @param point       {@link ProceedingJoinPoint} of the test method
+	 * @param concurrency Number of iteration workers
+	 */
+	IterationWorkerPool(ProceedingJoinPoint point, int concurrency) {
+		this.point = point;
+		this.method = MethodSignature.class.cast(point.getSignature()).getMethod();
+		this.method.setAccessible(true);
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Start the iteration workers and wait for all the workers to complete
+	 */
+	void run() {
+		ExecutionContext parentContext = ExecutionContext.getContext();
+		TestObject parentTestObject = BaseTest.getTestObject();
+		IterationManager parentManager = IterationManager.getManager();
+		ITestResult testResult = Reporter.getCurrentTestResult();
+
+		String threadName = ThreadUtils.getThreadName();
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(concurrency, runnable -> new Thread(runnable,
+				String.format("%s-worker-%s", threadName, threadCount.incrementAndGet())));
+
+		List<Future<IterationManager>> workers = new ArrayList<>();
+		try {
+			for (int worker = 1; worker <= concurrency; worker++) {
+				int workerNumber = worker;
+				workers.add(executorService.submit(() -> runWorker(workerNumber, parentContext, parentTestObject,
+						parentManager.getStartTimeInMilliSeconds(), testResult)));
+			}
+			executorService.shutdown();
+
+			for (int worker = 1; worker <= concurrency; worker++) {
+				try {
+					parentManager.addWorkerResults(worker, workers.get(worker - 1).get());
+				} catch (ExecutionException e) {
+					_logger.error(String.format("Iteration worker %s failed", worker), e.getCause());
+					parentManager.addWorkerError(worker, e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			_logger.warn("Interrupted while waiting for the iteration workers. Workers will be stopped");
+			parentManager.addWorkerError(0, e);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Execute the iterations in the current worker thread
+	 *
+	 * @return {@link IterationManager} of the worker
+	 */
+	private IterationManager runWorker(int worker, ExecutionContext parentContext, TestObject parentTestObject,
+			long startTimeInMilliSeconds, ITestResult testResult) throws Exception {
+		ExecutionContext.bindWorker(parentContext, parentTestObject.newWorkerTestObject(worker));
+		Reporter.setCurrentTestResult(testResult);
+		IterationManager workerManager = ExecutionContext.getContext().getAttribute(IterationManager.class,
+				() -> new IterationManager(startTimeInMilliSeconds, worker, concurrency));
+		// The TEST frame of the worker, so that the test duration is checked between
+		// iterations as well. The test method aspect does not push another one
+		ExecutionFrameStack.push(MethodType.TEST);
+		try {
+			_logger.info(String.format("Starting iteration worker %s", worker));
+			Object testInstance = newWorkerTestInstance(point.getThis(), parentTestObject.getDriverManager(),
+					testResult);
+			TestNgCompiler.runIterations(point, () -> invoke(testInstance));
+			_logger.info(String.format("Iteration worker %s completed %s iterations", worker,
+					workerManager.getIteration()));
+			return workerManager;
+		} finally {
+			ExecutionFrameStack.pop();
+			ReportingTools.flushScreenshots();
+			ReportingTools.wipeScreenshotEntryInReports();
+			stopWorkerDrivers();
+			Reporter.setCurrentTestResult(null);
+			ExecutionContext.unbind();
+		}
+	}
+
+	/**
+	 * Invoke the test method on the test class instance of the worker
+	 */
+	private Object invoke(Object testInstance) throws Throwable {
+		try {
+			return method.invoke(testInstance, point.getArgs());
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Create a shallow copy of the test class instance for the worker. The
+	 * instance is created with the TestNG object factory of the suite and the
+	 * fields of the test class instance, other than the {@link Steps} and
+	 * {@link Pages} fields, are copied. Browsers are started for the worker for
+	 * each {@link BrowserId} used by the test and the {@link Steps} and
+	 * {@link Pages} fields are initialized with the browsers of the worker
+	 *
+	 * @param testInstance        Test class instance
+	 * @param parentDriverManager {@link DriverManager} of the test or null
+	 * @param testResult          TestNG {@link ITestResult} of the test or null
+	 * @return Test class instance for the worker
+	 * @throws SetupFailedFatalException if the instance cannot be created or a
+	 *                                   field holds a browser or a page object
+	 *                                   of the test
+	 */
+	private Object newWorkerTestInstance(Object testInstance, DriverManager parentDriverManager,
+			ITestResult testResult) {
+		Class<?> testClass = testInstance.getClass();
+		Object workerTestInstance;
+		try {
+			ITestObjectFactory objectFactory = testResult == null ? new ITestObjectFactory() {
+			} : testResult.getTestContext().getSuite().getObjectFactory();
+			workerTestInstance = objectFactory.newInstance(testClass);
+		} catch (RuntimeException e) {
+			throw new SetupFailedFatalException(String.format("Error creating test class instance %s for iteration "
+					+ "worker with the TestNG object factory", testClass.getName()), e);
+		}
+
+		for (Class<?> clazz = testClass; clazz != Object.class; clazz = clazz.getSuperclass())
+			for (Field field : clazz.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(Steps.class)
+						|| field.isAnnotationPresent(Pages.class))
+					continue;
+				try {
+					field.setAccessible(true);
+					Object value = field.get(testInstance);
+					if (value instanceof WebDriver || value instanceof Driver || value instanceof IPageObject)
+						throw new SetupFailedFatalException(String.format("Field %s of test class %s holds %s of the "
+								+ "test, which cannot be shared by iteration workers. Use a @Steps or @Pages field "
+								+ "instead", field.getName(), testClass.getName(), value.getClass().getName()));
+					field.set(workerTestInstance, value);
+				} catch (ReflectiveOperationException | SecurityException | InaccessibleObjectException e) {
+					throw new SetupFailedFatalException(String.format("Error copying field %s of test class %s for "
+							+ "iteration worker", field.getName(), testClass.getName()), e);
+				}
+			}
+
+		if (parentDriverManager != null && parentDriverManager.getActiveDriver() != null) {
+			DriverManager driverManager = new DriverManager();
+			driverManager.setDriverManagerType(parentDriverManager.getDriverManagerType());
+			BaseTest.getTestObject().setDriverManager(driverManager);
+			driverManager.startDriverManagers(workerTestInstance, parentDriverManager.getActiveDriver().getBrowserId(),
+					driverManager.getDriverManagerType(),
+					parentDriverManager.getBrowserIds().toArray(new BrowserId[0]));
+		} else {
+			StepsAndPagesProcessor.processAnnotation(workerTestInstance);
+		}
+		return workerTestInstance;
+	}
+
+	/**
+	 * Close the browsers started for the worker
+	 */
+	private void stopWorkerDrivers() {
+		DriverManager driverManager = BaseTest.getTestObject().getDriverManager();
+		if (driverManager != null)
+			for (BrowserId browserId : driverManager.getBrowserIds())
+				try {
+					driverManager.killDriverManager(browserId);
+				} catch (Exception e) {
+					_logger.warn(String.format("Error closing browser %s of iteration worker", browserId), e);
+				}
+	}
+}
@@ -0,0 +1,112 @@
+package com.automacent.fwk.execution;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.core.TestObject;
+import com.automacent.fwk.reporting.LatencyHistogram;
+
+/**
+ * Records the latency of every {@link Step} call of the test in a
+ * {@link LatencyHistogram} per step, when latency recording is enabled in the
+ * {@link TestObject}. The iteration workers of the test record in the recorder
+ * of the test, so that the histograms cover all the calls made by the workers
+ * together, which turns {@link Step} libraries run at a concurrency or arrival
+ * rate into a load test
+ * 
+ * @author sighil.sivadas
+ */
+public class LatencyRecorder {
+
+	/**
+	 * Get the {@link LatencyRecorder} of the test executing on the current thread
+	 * 
+	 * @return {@link LatencyRecorder}
+	 */
+	public static LatencyRecorder getRecorder() {
+		ExecutionContext context = ExecutionContext.getContext();
+		if (context.isWorker())
+			context = context.getParent();
+		return context.getAttribute(LatencyRecorder.class, LatencyRecorder::new);
+	}
+
+	private final Map<String, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+	private final long startTimeInNanoSeconds = System.nanoTime();
+
+	private LatencyRecorder() {
+	}
+
+	/**
+	 * Record a call
+	 * 
+	 * @param name        Name of the method called
+	 * @param nanoSeconds Duration of the call
+	 * @param failed      True if the call failed
+	 */
+	public void record(String name, long nanoSeconds, boolean failed) {
+		LatencyHistogram latencyHistogram = latencyHistograms.get(name);
+		if (latencyHistogram == null)
+			latencyHistogram = latencyHistograms.computeIfAbsent(name, key -> new LatencyHistogram());
+		latencyHistogram.record(nanoSeconds);
+		if (failed)
+			failures.computeIfAbsent(name, key -> new LongAdder()).increment();
+	}
+
+	/**
+	 * @return True if no call is recorded
+	 */
+	public boolean isEmpty() {
+		return latencyHistograms.isEmpty();
+	}
+
+	/**
+	 * @return {@link LatencyHistogram} per method name
+	 */
+	public Map<String, LatencyHistogram> getLatencyHistograms() {
+		return Collections.unmodifiableMap(latencyHistograms);
+	}
+
+	/**
+	 * @param name Name of the method
+	 * @return Number of failed calls of the method
+	 */
+	public long getFailures(String name) {
+		LongAdder failureCount = failures.get(name);
+		return failureCount == null ? 0 : failureCount.sum();
+	}
+
+	/**
+	 * @return Seconds elapsed since the recorder was created
+	 */
+	public double getElapsedTimeInSeconds() {
+		return (System.nanoTime() - startTimeInNanoSeconds) / (double) TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * Get the summary of the calls of each method, i.e., the
+	 * {@link LatencyHistogram#getSummary()} with the number of failed calls and
+	 * the throughput in calls per second
+	 * 
+	 * @return Summary per method name, sorted by method name
+	 */
+	public Map<String, Map<String, Object>> getSummary() {
+		double elapsedTimeInSeconds = getElapsedTimeInSeconds();
+		Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+		latencyHistograms.keySet().stream().sorted().forEach(name -> {
+			LatencyHistogram latencyHistogram = latencyHistograms.get(name);
+			Map<String, Object> methodSummary = latencyHistogram.getSummary();
+			methodSummary.put("failures", getFailures(name));
+			methodSummary.put("callsPerSecond", elapsedTimeInSeconds == 0 ? 0
+					: Math.round(latencyHistogram.getCount() / elapsedTimeInSeconds * 100) / 100.0);
+			summary.put(name, methodSummary);
+		});
+		return summary;
+	}
+}
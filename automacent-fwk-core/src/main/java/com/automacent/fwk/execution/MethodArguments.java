@@ -0,0 +1,59 @@
+package com.automacent.fwk.execution;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+
+import com.automacent.fwk.utils.AspectJUtils;
+
+/**
+ * Arguments of a single method invocation. The arguments are formatted lazily
+ * on first use and the formatted value is shared by all the consumers (logs,
+ * launcher clients and exceptions) of the invocation
+ *
+ * @author sighil.sivadas
+ */
+public final class MethodArguments {
+
+	private final String displayName;
+	private final Object[] args;
+	private String arguments;
+	private String methodNameWithArguments;
+
+	/**
+	 * Capture arguments of the method invocation
+	 *
+	 * @param metadata {@link MethodMetadata} of the invoked method
+	 * @param point    {@link ProceedingJoinPoint}
+	 */
+	public MethodArguments(MethodMetadata metadata, ProceedingJoinPoint point) {
+		this.displayName = metadata.getDisplayName();
+		this.args = point.getArgs();
+	}
+
+	/**
+	 * Get the arguments in the format (arg1_value, arg2_value ...)
+	 *
+	 * @return Formatted arguments or empty String if there are no arguments
+	 */
+	public String getArguments() {
+		if (arguments == null)
+			arguments = AspectJUtils.formatArguments(args);
+		return arguments;
+	}
+
+	/**
+	 * Get method name with arguments in the format method name (arg1_value,
+	 * arg2_value ...)
+	 *
+	 * @return Formatted method name with arguments
+	 */
+	public String getMethodNameWithArguments() {
+		if (methodNameWithArguments == null)
+			methodNameWithArguments = displayName + getArguments();
+		return methodNameWithArguments;
+	}
+
+	@Override
+	public String toString() {
+		return getMethodNameWithArguments();
+	}
+}
@@ -0,0 +1,91 @@
+package com.automacent.fwk.execution;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import com.automacent.fwk.annotations.Action;
+import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.utils.LoggingUtils;
+
+/**
+ * Metadata of a method intercepted by the framework aspects. Everything that
+ * can be derived from the {@link Method} alone (display name and logger) is
+ * computed once and cached, so that the {@link Action} and {@link Step} aspects
+ * do not repeat the work on every call
+ *
+ * @author sighil.sivadas
+ */
+public final class MethodMetadata {
+
+	private static final Map<Method, MethodMetadata> metadataCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the cached {@link MethodMetadata} of the method behind the
+	 * {@link ProceedingJoinPoint}. Metadata is created on first access
+	 *
+	 * @param point {@link ProceedingJoinPoint}
+	 * @return {@link MethodMetadata}
+	 */
+	public static MethodMetadata getMetadata(ProceedingJoinPoint point) {
+		Method method = MethodSignature.class.cast(point.getSignature()).getMethod();
+		MethodMetadata metadata = metadataCache.get(method);
+		if (metadata == null)
+			metadata = metadataCache.computeIfAbsent(method, MethodMetadata::new);
+		return metadata;
+	}
+
+	private final String methodName;
+	private final String qualifiedName;
+	private final String displayName;
+	private final Logger logger;
+	private final boolean question;
+
+	private MethodMetadata(Method method) {
+		methodName = method.getName();
+		qualifiedName = String.format("%s.%s", method.getDeclaringClass().getSimpleName(), methodName);
+		displayName = LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName));
+		logger = Logger.getLogger(method.getDeclaringClass());
+		question = methodName.startsWith("is");
+	}
+
+	/**
+	 * @return Name of the method
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * @return Name of the method prefixed with the simple name of the class
+	 *         declaring the method
+	 */
+	public String getQualifiedName() {
+		return qualifiedName;
+	}
+
+	/**
+	 * @return Human readable name of the method used in logs
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * @return {@link Logger} for the class declaring the method
+	 */
+	public Logger getLogger() {
+		return logger;
+	}
+
+	/**
+	 * @return True if the method is a question/query (name starts with is)
+	 */
+	public boolean isQuestion() {
+		return question;
+	}
+}
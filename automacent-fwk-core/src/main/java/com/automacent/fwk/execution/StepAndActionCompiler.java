@@ -1,16 +1,14 @@
 package com.automacent.fwk.execution;
 
-import java.util.Date;
-
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 
 import com.automacent.fwk.annotations.Action;
 import com.automacent.fwk.annotations.Step;
 import com.automacent.fwk.core.BaseTest;
 import com.automacent.fwk.core.PageObject;
+import com.automacent.fwk.core.TestObject;
 import com.automacent.fwk.enums.MethodType;
 import com.automacent.fwk.enums.ScreenshotMode;
 import com.automacent.fwk.enums.TestStatus;
@@ -18,9 +16,7 @@ import com.automacent.fwk.exceptions.ActionExecutionException;
 import com.automacent.fwk.exceptions.StepExecutionException;
 import com.automacent.fwk.launcher.LauncherHeartBeat;
 import com.automacent.fwk.reporting.ExecutionLogManager;
-import com.automacent.fwk.reporting.Logger;
 import com.automacent.fwk.reporting.ReportingTools;
-import com.automacent.fwk.utils.AspectJUtils;
 import com.automacent.fwk.utils.ThreadUtils;
 
 /**
@@ -43,19 +39,37 @@ public class StepAndActionCompiler {
 	 */
 	@Around("execution(* *(..)) && @annotation(com.automacent.fwk.annotations.Action)")
 	public Object aroundActionCompilerAspect(ProceedingJoinPoint point) {
-		long startTime = new Date().getTime();
-		ExecutionLogManager.logMethodStart(point, MethodType.ACTION);
-		String methodNameWithArguments = AspectJUtils.getMethodNameWithArguments(point);
+		ExecutionFrameStack.push(MethodType.ACTION);
+		try {
+			return executeAction(point);
+		} finally {
+			ExecutionFrameStack.pop();
+		}
+	}
 
-		if (BaseTest.getTestObject().getScreenshotModes().contains(ScreenshotMode.BEFORE_ACTION))
+	/**
+	 * Execute the {@link Action} method along with the pre and post execution logic
+	 * 
+	 * @param point
+	 *            {@link ProceedingJoinPoint} to get access to {@link Action} method
+	 * @return Result Result of execution
+	 */
+	private Object executeAction(ProceedingJoinPoint point) {
+		long startTime = System.currentTimeMillis();
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		MethodArguments arguments = new MethodArguments(metadata, point);
+		TestObject testObject = BaseTest.getTestObject();
+		ExecutionLogManager.logMethodStart(metadata, arguments, MethodType.ACTION);
+
+		if (testObject.getScreenshotModes().contains(ScreenshotMode.BEFORE_ACTION))
 			ReportingTools.takeScreenshot(ScreenshotMode.BEFORE_ACTION.name());
 
 		Object result = null;
 		TestStatus testStatus = TestStatus.PASS;
 		Throwable t = null;
 		try {
-			ThreadUtils.sleepFor((int) BaseTest.getTestObject().getSlowdownDurationInSeconds());
-			result = point.proceed();
+			ThreadUtils.sleepFor((int) testObject.getSlowdownDurationInSeconds());
+			result = ExecutionFrameStack.proceed(point);
 		} catch (Throwable e) {
 			testStatus = TestStatus.FAIL;
 			boolean retry = ExceptionManager.shouldPerformActionRetry(e);
@@ -63,28 +77,27 @@ public class StepAndActionCompiler {
 				retry = ((PageObject) point.getThis()).reInitializePageObject();
 			if (retry) {
 				try {
-					Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-							.info("Retrying action");
-					result = point.proceed();
+					metadata.getLogger().info("Retrying action");
+					result = ExecutionFrameStack.proceed(point);
 					testStatus = TestStatus.PASS;
 				} catch (Throwable ee) {
 					t = ee;
-					throw new ActionExecutionException(methodNameWithArguments, ee);
+					throw new ActionExecutionException(arguments.getMethodNameWithArguments(), ee);
 				}
 			} else {
 				t = e;
-				throw new ActionExecutionException(methodNameWithArguments, e);
+				throw new ActionExecutionException(arguments.getMethodNameWithArguments(), e);
 			}
 		} finally {
-			ExecutionLogManager.logMethodEnd(point, MethodType.ACTION, testStatus, new Date().getTime() - startTime,
-					result, t);
+			ExecutionLogManager.logMethodEnd(metadata, arguments, MethodType.ACTION, testStatus,
+					System.currentTimeMillis() - startTime, result, t);
 		}
 
-		if (BaseTest.getTestObject().getScreenshotModes().contains(ScreenshotMode.AFTER_ACTION))
+		if (testObject.getScreenshotModes().contains(ScreenshotMode.AFTER_ACTION))
 			ReportingTools.takeScreenshot(ScreenshotMode.AFTER_ACTION.name());
 
 		IterationManager.getManager().checkIfTestDurationExceeded();
-		LauncherHeartBeat.getManager().ping();
+		LauncherHeartBeat.getManager().checkIfForceCompleted();
 
 		return result;
 
@@ -100,31 +113,53 @@ public class StepAndActionCompiler {
 	 */
 	@Around("execution(* *(..)) && @annotation(com.automacent.fwk.annotations.Step)")
 	public Object aroundStepCompilerAspect(ProceedingJoinPoint point) {
-		LauncherHeartBeat.getManager().ping();
-		long startTime = new Date().getTime();
-		ExecutionLogManager.logMethodStart(point, MethodType.STEP);
-		String methodNameWithArguments = AspectJUtils.getMethodNameWithArguments(point);
+		ExecutionFrameStack.push(MethodType.STEP);
+		try {
+			return executeStep(point);
+		} finally {
+			ExecutionFrameStack.pop();
+		}
+	}
 
-		if (BaseTest.getTestObject().getScreenshotModes().contains(ScreenshotMode.BEFORE_STEP))
+	/**
+	 * Execute the {@link Step} method along with the pre and post execution logic
+	 * 
+	 * @param point
+	 *            {@link ProceedingJoinPoint} to get access to {@link Step} method
+	 * @return Result Result of execution
+	 */
+	private Object executeStep(ProceedingJoinPoint point) {
+		LauncherHeartBeat.getManager().checkIfForceCompleted();
+		long startTime = System.currentTimeMillis();
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		MethodArguments arguments = new MethodArguments(metadata, point);
+		TestObject testObject = BaseTest.getTestObject();
+		ExecutionLogManager.logMethodStart(metadata, arguments, MethodType.STEP);
+
+		if (testObject.getScreenshotModes().contains(ScreenshotMode.BEFORE_STEP))
 			ReportingTools.takeScreenshot(ScreenshotMode.BEFORE_STEP.name());
 
 		Object result = null;
 		TestStatus testStatus = TestStatus.PASS;
 		Throwable t = null;
+		long startTimeInNanoSeconds = System.nanoTime();
 		try {
-			result = point.proceed();
+			result = ExecutionFrameStack.proceed(point);
 		} catch (Throwable e) {
 			testStatus = TestStatus.FAIL;
 			t = e;
-			throw new StepExecutionException(methodNameWithArguments, e);
+			throw new StepExecutionException(arguments.getMethodNameWithArguments(), e);
 		} finally {
-			ExecutionLogManager.logMethodEnd(point, MethodType.STEP, testStatus, new Date().getTime() - startTime,
-					result, t);
+			if (testObject.isRecordLatency())
+				LatencyRecorder.getRecorder().record(metadata.getQualifiedName(),
+						System.nanoTime() - startTimeInNanoSeconds, testStatus == TestStatus.FAIL);
+			ExecutionLogManager.logMethodEnd(metadata, arguments, MethodType.STEP, testStatus,
+					System.currentTimeMillis() - startTime, result, t);
 		}
 
-		if (BaseTest.getTestObject().getScreenshotModes().contains(ScreenshotMode.AFTER_STEP))
+		if (testObject.getScreenshotModes().contains(ScreenshotMode.AFTER_STEP))
 			ReportingTools.takeScreenshot(ScreenshotMode.AFTER_STEP.name());
 
 		return result;
 	}
-}
\ No newline at end of file
+}
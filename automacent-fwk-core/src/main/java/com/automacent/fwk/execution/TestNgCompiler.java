@@ -13,6 +13,7 @@ import org.testng.annotations.Test;
 
 import com.automacent.fwk.annotations.Repeat;
 import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.ExecutionContext;
 import com.automacent.fwk.enums.MethodType;
 import com.automacent.fwk.enums.RepeatMode;
 import com.automacent.fwk.enums.RetryMode;
@@ -21,6 +22,7 @@ import com.automacent.fwk.exceptions.MainTestInvocationFailedException;
 import com.automacent.fwk.exceptions.TestDurationExceededException;
 import com.automacent.fwk.reporting.ExecutionLogManager;
 import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.reporting.ReportingTools;
 
 /**
  * This class contains aspects for manipulating TestNG Test, Before* and After*
@@ -48,11 +50,27 @@ public class TestNgCompiler {
 			+ "(execution(* *(..)) && @annotation(org.testng.annotations.BeforeTest)) || "
 			+ "(execution(* *(..)) && @annotation(org.testng.annotations.BeforeMethod))")
 	public Object aroundBeforeCompilerAspect(ProceedingJoinPoint point) throws Throwable {
+		ExecutionFrameStack.push(MethodType.BEFORE);
+		try {
+			return executeBefore(point);
+		} finally {
+			ExecutionFrameStack.pop();
+		}
+	}
+
+	/**
+	 * Execute the TestNG Before* method along with the pre and post execution logic
+	 * 
+	 * @param point {@link ProceedingJoinPoint} to get access to method
+	 * @return Result of execution
+	 * @throws Throwable Throwable resulting in test failure
+	 */
+	private Object executeBefore(ProceedingJoinPoint point) throws Throwable {
 		long startTime = new Date().getTime();
 		ExecutionLogManager.logTestStart(point, MethodType.BEFORE);
 		Object result = null;
 		try {
-			result = point.proceed();
+			result = ExecutionFrameStack.proceed(point);
 			ExecutionLogManager.logTestSuccess(point, MethodType.BEFORE, new Date().getTime() - startTime);
 		} catch (Throwable e) {
 			ExecutionLogManager.logTestFailure(point, MethodType.BEFORE, e, new Date().getTime() - startTime);
@@ -75,11 +93,27 @@ public class TestNgCompiler {
 			+ "(execution(* *(..)) && @annotation(org.testng.annotations.AfterTest)) || "
 			+ "(execution(* *(..)) && @annotation(org.testng.annotations.AfterMethod))")
 	public Object aroundAfterCompilerAspect(ProceedingJoinPoint point) throws Throwable {
+		ExecutionFrameStack.push(MethodType.AFTER);
+		try {
+			return executeAfter(point);
+		} finally {
+			ExecutionFrameStack.pop();
+		}
+	}
+
+	/**
+	 * Execute the TestNG After* method along with the pre and post execution logic
+	 * 
+	 * @param point {@link ProceedingJoinPoint} to get access to method
+	 * @return Result of execution
+	 * @throws Throwable Throwable resulting in test failure
+	 */
+	private Object executeAfter(ProceedingJoinPoint point) throws Throwable {
 		long startTime = new Date().getTime();
 		ExecutionLogManager.logTestStart(point, MethodType.AFTER);
 		Object result = null;
 		try {
-			result = point.proceed();
+			result = ExecutionFrameStack.proceed(point);
 			ExecutionLogManager.logTestSuccess(point, MethodType.AFTER, new Date().getTime() - startTime);
 		} catch (Throwable e) {
 			ExecutionLogManager.logTestFailure(point, MethodType.AFTER, e, new Date().getTime() - startTime);
@@ -98,6 +132,25 @@ public class TestNgCompiler {
 	 */
 	@Around("execution(* *(..)) && @annotation(org.testng.annotations.Test)")
 	public Object aroundTestCompilerAspect(ProceedingJoinPoint point) throws Throwable {
+		// Iteration workers push the TEST frame before invoking the test method
+		if (ExecutionContext.getContext().isWorker())
+			return ExecutionFrameStack.proceed(point);
+		ExecutionFrameStack.push(MethodType.TEST);
+		try {
+			return executeTest(point);
+		} finally {
+			ExecutionFrameStack.pop();
+		}
+	}
+
+	/**
+	 * Execute the TestNG {@link Test} method along with the pre and post execution logic
+	 * 
+	 * @param point {@link ProceedingJoinPoint} to get access to method
+	 * @return Result of execution
+	 * @throws Throwable Throwable resulting in test failure
+	 */
+	private Object executeTest(ProceedingJoinPoint point) throws Throwable {
 		long startTime = new Date().getTime();
 		Method method = MethodSignature.class.cast(point.getSignature()).getMethod();
 		ExecutionLogManager.logTestStart(point, MethodType.TEST);
@@ -123,45 +176,24 @@ public class TestNgCompiler {
 		Object result = null;
 		if (repeat) {
 			_logger.info(String.format("Starting test with the repeat logic. Repeat mode is %s", repeatMode.name()));
-			while (IterationManager.getManager().isIterationRemaining()) {
-				IterationManager.getManager().startIteration();
-				long iterationStartTime = new Date().getTime();
-				try {
-					try {
-						IterationManager.getManager().sleepBetweenIteration();
-					} catch (TestDurationExceededException e) {
-						_logger.warn("Test Duration exceeded during sleep between iterations");
-						throw e;
-					}
-					BaseTest.getTestObject().getRecoveryManager().executeRecoveryScenarios();
-					result = point.proceed();
-					ExecutionLogManager.logIterationSuccess(point, new Date().getTime() - iterationStartTime);
-				} catch (Throwable e) {
-					if (ExceptionManager.isTestDurationExceededException(e)
-							&& IterationManager.getManager().getIteration() > 1) {
-						_logger.warn("Test Duration exceeded during execution. "
-								+ "Iteration will exit without failure as at least one iteration is completed.");
-					} else {
-						ExecutionLogManager.logIterationFailure(point, e, new Date().getTime() - iterationStartTime);
-						IterationManager.getManager().addError(e);
-						if (ExceptionManager.isLauncherForceCompletedException(e)
-								|| ExceptionManager.isBrowserCrashException(e))
-							break;
-						IterationManager.getManager().setExecuteRecoveryScenarios(true);
-					}
-				} finally {
-					IterationManager.getManager().stopIteration();
-				}
+			int concurrency = (int) BaseTest.getTestObject().getConcurrency();
+			if (concurrency > 1) {
+				_logger.info(String.format("Starting %s iteration workers", concurrency));
+				new IterationWorkerPool(point, concurrency).run();
+			} else {
+				result = runIterations(point, () -> ExecutionFrameStack.proceed(point));
 			}
 
-			if (IterationManager.getManager().getIteration() == 0) {
+			if (IterationManager.getManager().getTotalIterations() == 0) {
 				Throwable e = new MainTestInvocationFailedException(method.getName(), repeatMode);
 				IterationManager.getManager().addError(e);
 			}
 			Map<Integer, String> errorMap = IterationManager.getManager().getErrorMap();
+			Map<Integer, Map<Integer, String>> workerErrorMap = IterationManager.getManager().getWorkerErrorMap();
 
-			if (!errorMap.isEmpty()) {
-				IterationsFailedException iterationsFailedException = new IterationsFailedException(errorMap);
+			if (!errorMap.isEmpty() || !workerErrorMap.isEmpty()) {
+				IterationsFailedException iterationsFailedException = new IterationsFailedException(errorMap,
+						workerErrorMap);
 				ExecutionLogManager.logTestFailure(point, MethodType.TEST, iterationsFailedException,
 						new Date().getTime() - startTime);
 				throw iterationsFailedException;
@@ -171,7 +203,7 @@ public class TestNgCompiler {
 		} else {
 			RetryMode retryMode = BaseTest.getTestObject().getRetryMode();
 			try {
-				result = point.proceed();
+				result = ExecutionFrameStack.proceed(point);
 				ExecutionLogManager.logTestSuccess(point, MethodType.TEST, new Date().getTime() - startTime);
 			} catch (Throwable e) {
 				ExecutionLogManager.logTestFailure(point, MethodType.TEST, e, new Date().getTime() - startTime);
@@ -181,7 +213,7 @@ public class TestNgCompiler {
 					_logger.info("Retrying test as Retry Mode is ON");
 					BaseTest.getTestObject().getRecoveryManager().executeRecoveryScenarios();
 					try {
-						result = point.proceed();
+						result = ExecutionFrameStack.proceed(point);
 						ExecutionLogManager.logTestSuccess(point, MethodType.RETRY,
 								new Date().getTime() - retryStartTime);
 					} catch (Throwable ee) {
@@ -197,4 +229,61 @@ public class TestNgCompiler {
 		}
 		return result;
 	}
+
+	/**
+	 * Body of a single iteration of a {@link Repeat} test
+	 */
+	@FunctionalInterface
+	interface IterationBody {
+		Object execute() throws Throwable;
+	}
+
+	/**
+	 * Execute the iterations of a {@link Repeat} test on the current thread till
+	 * the iterations are exhausted as per the {@link RepeatMode}. Iteration
+	 * failures are recorded in the {@link IterationManager} of the current thread
+	 * 
+	 * @param point         {@link ProceedingJoinPoint} of the test method
+	 * @param iterationBody {@link IterationBody} executing the test method
+	 * @return Result of the last successful iteration
+	 */
+	static Object runIterations(ProceedingJoinPoint point, IterationBody iterationBody) {
+		Object result = null;
+		while (IterationManager.getManager().isIterationRemaining()) {
+			IterationManager.getManager().startIteration();
+			long iterationStartTime = new Date().getTime();
+			try {
+				try {
+					IterationManager.getManager().sleepBetweenIteration();
+				} catch (TestDurationExceededException e) {
+					_logger.warn("Test Duration exceeded during sleep between iterations");
+					throw e;
+				}
+				BaseTest.getTestObject().getRecoveryManager().executeRecoveryScenarios();
+				result = iterationBody.execute();
+				ExecutionLogManager.logIterationSuccess(point, new Date().getTime() - iterationStartTime);
+			} catch (Throwable e) {
+				if (ExceptionManager.isTestDurationExceededException(e)
+						&& IterationManager.getManager().getIteration() > 1) {
+					_logger.warn("Test Duration exceeded during execution. "
+							+ "Iteration will exit without failure as at least one iteration is completed.");
+				} else {
+					ExecutionLogManager.logIterationFailure(point, e, new Date().getTime() - iterationStartTime);
+					IterationManager.getManager().addError(e);
+					if (ExceptionManager.isBrowserCrashException(e)) {
+						if (BaseTest.getTestObject().getDriverManager() != null)
+							BaseTest.getTestObject().getDriverManager().retireDrivers();
+						break;
+					}
+					if (ExceptionManager.isLauncherForceCompletedException(e))
+						break;
+					IterationManager.getManager().setExecuteRecoveryScenarios(true);
+				}
+			} finally {
+				IterationManager.getManager().stopIteration();
+			}
+		}
+		ReportingTools.saveBufferedScreenshots();
+		return result;
+	}
 }
@@ -1,5 +1,8 @@
 package com.automacent.fwk.launcher;
 
+import java.util.List;
+import java.util.Map;
+
 import org.testng.ITestContext;
 
 import com.automacent.fwk.enums.MethodType;
@@ -8,7 +11,19 @@ import com.automacent.fwk.exceptions.LauncherForceCompletedException;
 
 /**
  * 
- * Rest client for updating results to Launcher DB
+ * Rest client for updating results to Launcher DB. The start, end, success and
+ * failure of methods are delivered in the background as {@link LauncherEvent}
+ * batches through {@link #logBatch(List)}, and {@link #ping()} is invoked at a
+ * fixed interval from the shared scheduler of {@link LauncherHeartBeat}. An
+ * instance is shared by the test and its iteration workers and is called from
+ * several threads, but the framework synchronizes its calls on the instance, so
+ * implementations need not be thread safe.
+ * 
+ * {@link #logBatch(List)}, {@link #stopTest()} and {@link #ping()} run on
+ * background threads of the framework, off the test thread. State bound to the
+ * test thread, like {@link com.automacent.fwk.core.BaseTest#getTestObject()}
+ * and {@link com.automacent.fwk.execution.IterationManager#getManager()}, is
+ * not available there, and messages logged are written to the Log4J log only
  * 
  * @author sighil.sivadas
  *
@@ -86,6 +101,30 @@ public interface ILauncherClient {
 	 */
 	public void logEnd(String methodWithArguments, MethodType methodType, TestStatus testStatus, long duration,
 			Throwable t);
-	
+
+	/**
+	 * Log a batch of {@link LauncherEvent} in the order they occurred. Launcher
+	 * clients which can update multiple results in one request should override
+	 * this method. By default the logging method matching each event is invoked
+	 * 
+	 * @param launcherEvents List of {@link LauncherEvent}
+	 */
+	default void logBatch(List<LauncherEvent> launcherEvents) {
+		for (LauncherEvent launcherEvent : launcherEvents)
+			launcherEvent.dispatchTo(this);
+	}
+
 	void logPerformance();
+
+	/**
+	 * Log the latency summary of the test, recorded when latency recording is
+	 * enabled. Launcher clients which can store the summary should override this
+	 * method. By default {@link #logPerformance()} is invoked
+	 * 
+	 * @param latencySummary Count, failures, calls per second and mean, p50, p90,
+	 *                       p99 and max latency in milliseconds per method name
+	 */
+	default void logPerformance(Map<String, Map<String, Object>> latencySummary) {
+		logPerformance();
+	}
 }
\ No newline at end of file
@@ -1,23 +1,29 @@
 package com.automacent.fwk.launcher;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.ITestContext;
 
 import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.enums.ErrorCode;
+import com.automacent.fwk.enums.LauncherDeliveryMode;
 import com.automacent.fwk.enums.MethodType;
 import com.automacent.fwk.enums.TestStatus;
 import com.automacent.fwk.exceptions.LauncherForceCompletedException;
 import com.automacent.fwk.reporting.Logger;
-import com.automacent.fwk.utils.ThreadUtils;
 
 /**
  * This class manages the Launcher clients and is responsible for invoking all
- * the specified Launcher clients
+ * the specified Launcher clients. Method start, end, success and failure are
+ * queued as {@link LauncherEvent} and delivered in the background by the
+ * {@link LauncherEventDispatcher}
  * 
  * @author sighil.sivadas
  *
@@ -26,6 +32,8 @@ public class LauncherClientManager implements ILauncherClient {
 
 	private static final Logger _logger = Logger.getLogger(LauncherClientManager.class);
 
+	private static final long SPOOL_DELIVERY_TIMEOUT_IN_SECONDS = 10;
+
 	private static LauncherClientManager launcherClientManager;
 
 	/**
@@ -41,7 +49,17 @@ public class LauncherClientManager implements ILauncherClient {
 		return launcherClientManager;
 	}
 
-	private boolean isEnabled = false;
+	private volatile boolean isEnabled = false;
+
+	/**
+	 * Check if launcher client service is enabled. Callers can use this to skip
+	 * building log messages which are only consumed by launcher clients
+	 * 
+	 * @return true if at least one launcher client is set up
+	 */
+	public boolean isEnabled() {
+		return isEnabled;
+	}
 
 	/**
 	 * Enable all launcher clients
@@ -49,8 +67,10 @@ public class LauncherClientManager implements ILauncherClient {
 	@Override
 	public void enableClient() {
 		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.enableClient();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.enableClient();
+				}
 	}
 
 	/**
@@ -58,31 +78,100 @@ public class LauncherClientManager implements ILauncherClient {
 	 */
 	@Override
 	public void disableClient() {
-		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.disableClient();
+		if (isEnabled) {
+			LauncherEventDispatcher.getDispatcher().flush();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.disableClient();
+				}
+		}
+	}
+
+	private LauncherDeliveryMode launcherDeliveryMode = LauncherDeliveryMode.getDefault();
+
+	/**
+	 * @return {@link LauncherDeliveryMode} in use
+	 */
+	public LauncherDeliveryMode getLauncherDeliveryMode() {
+		return launcherDeliveryMode;
+	}
+
+	/**
+	 * Set the {@link LauncherDeliveryMode}. With
+	 * {@link LauncherDeliveryMode#SPOOL} the events are written to the
+	 * {@link LauncherSpool} under the report directory and forwarded to the
+	 * launcher clients from there. If the spool cannot be created the events are
+	 * delivered directly
+	 * 
+	 * @param launcherDeliveryMode {@link LauncherDeliveryMode}
+	 */
+	public void setLauncherDeliveryMode(LauncherDeliveryMode launcherDeliveryMode) {
+		if (launcherDeliveryMode == LauncherDeliveryMode.SPOOL
+				&& LauncherEventDispatcher.getDispatcher().getLauncherSpool() == null)
+			try {
+				LauncherEventDispatcher.getDispatcher()
+						.setLauncherSpool(new LauncherSpool(LauncherSpool.getDefaultDirectory()));
+			} catch (IOException e) {
+				_logger.warn(String.format("Error creating launcher spool %s. Events will be delivered directly",
+						LauncherSpool.getDefaultDirectory()), e);
+				launcherDeliveryMode = LauncherDeliveryMode.DIRECT;
+			}
+		this.launcherDeliveryMode = launcherDeliveryMode;
+		_logger.info(String.format("launcherDeliveryMode set to %s", launcherDeliveryMode));
+	}
+
+	/**
+	 * Set the parameters for delivering the {@link LauncherEvent} to the launcher
+	 * clients in the background
+	 * 
+	 * @param batchSize                   Number of events of a launcher client
+	 *                                    delivered together
+	 * @param flushIntervalInMilliSeconds Maximum time for which events are held
+	 *                                    before delivery
+	 */
+	public void setEventDispatchParameters(long batchSize, long flushIntervalInMilliSeconds) {
+		if (batchSize > 0)
+			LauncherEventDispatcher.getDispatcher().setBatchSize((int) batchSize);
+		else
+			_logger.warn(String.format("%s for launcherBatchSize. Expected a value greater than 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), batchSize));
+		if (flushIntervalInMilliSeconds > 0)
+			LauncherEventDispatcher.getDispatcher().setFlushIntervalInMilliSeconds(flushIntervalInMilliSeconds);
+		else
+			_logger.warn(String.format(
+					"%s for launcherFlushIntervalInMilliSeconds. Expected a value greater than 0. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(), flushIntervalInMilliSeconds));
+		_logger.info(String.format("Launcher events will be delivered in batches of %s every %s ms", batchSize,
+				flushIntervalInMilliSeconds));
 	}
 
-	private Map<Class<?>, Map<Long, ILauncherClient>> launcherClientMasterMap = new HashMap<>();
+	private volatile List<Class<? extends ILauncherClient>> launcherClientClasses = Collections.emptyList();
 
-	public Map<Class<?>, Map<Long, ILauncherClient>> getLauncherClientMasterMap() {
-		return launcherClientMasterMap;
+	/**
+	 * @return Immutable list of the registered launcher client classes
+	 */
+	public List<Class<? extends ILauncherClient>> getLauncherClientClasses() {
+		return launcherClientClasses;
 	}
 
 	/**
-	 * Get the comma separated launcher client classes and map it to Java classes
+	 * Get the comma separated launcher client classes and map it to Java classes.
+	 * The classes are published as an immutable list, so that the threads of the
+	 * tests started later see the complete registration
 	 * 
 	 * @param launcherClientClasses Comma separated launcher client classes
 	 */
-	public void generateLauncherClientMasterMap(String launcherClientClasses) {
+	public synchronized void generateLauncherClientMasterMap(String launcherClientClasses) {
 		if (!launcherClientClasses.trim().isEmpty()) {
+			List<Class<? extends ILauncherClient>> classes = new ArrayList<>(this.launcherClientClasses);
 			String launcherClients[] = launcherClientClasses.split(",");
 			for (String launcherClient : launcherClients)
 				try {
-					Class<?> clazz = Class.forName(launcherClient);
+					Class<?> clazz = Class.forName(launcherClient.trim());
 					// TODO Consider changing the assignable class to interface
 					if (AbstractLauncherClient.class.isAssignableFrom(clazz)) {
-						this.launcherClientMasterMap.put(clazz, new HashMap<>());
+						if (!classes.contains(clazz))
+							classes.add(clazz.asSubclass(ILauncherClient.class));
 					} else
 						_logger.warn(String.format(
 								"Provided Launcher client class %s is not an sub class of com.automacent.fwk.launcher.AbstractLauncherClient",
@@ -91,7 +180,8 @@ public class LauncherClientManager implements ILauncherClient {
 					_logger.warn(String.format("Provided Launcher client class %s is not found in the classpath",
 							launcherClient));
 				}
-			if (getLauncherClientMasterMap().isEmpty()) {
+			this.launcherClientClasses = Collections.unmodifiableList(classes);
+			if (classes.isEmpty()) {
 				_logger.warn("Launcher clients provided are not usable. Launcher clients service will be disabled");
 			} else {
 				isEnabled = true;
@@ -103,32 +193,58 @@ public class LauncherClientManager implements ILauncherClient {
 	}
 
 	/**
-	 * Get list of launcher client instances
-	 * 
-	 * @return List of launcher client instances
+	 * Launcher client instances of a test. The instances are created once when
+	 * first used in the {@link ExecutionContext} of the test, which is when the
+	 * test is started, and iteration workers use the instances of the test which
+	 * started them, so that the iterations executed by the workers are logged
+	 * against the test instance started by the test
 	 */
-	public List<ILauncherClient> getLauncherClients() {
-		List<ILauncherClient> activeLauncherClientList = new ArrayList<>();
+	private static final class LauncherClients {
+
+		private final ILauncherClient[] launcherClients;
+
+		private LauncherClients(ILauncherClient[] launcherClients) {
+			this.launcherClients = launcherClients;
+		}
+	}
 
-		Set<Class<?>> launcherClientClasses = getLauncherClientMasterMap().keySet();
-		for (Class<?> launcherClientClass : launcherClientClasses) {
-			Map<Long, ILauncherClient> launcherClientMap = getLauncherClientMasterMap().get(launcherClientClass);
-			ILauncherClient launcherClient = launcherClientMap.get(ThreadUtils.getThreadId());
+	private LauncherClients newLauncherClients(ExecutionContext context) {
+		if (context.isWorker())
+			return context.getParent().getAttribute(LauncherClients.class,
+					() -> newLauncherClients(context.getParent()));
+
+		List<ILauncherClient> activeLauncherClientList = new ArrayList<>();
+		for (Class<? extends ILauncherClient> launcherClientClass : launcherClientClasses)
 			try {
-				if (launcherClient == null)
-					launcherClient = (ILauncherClient) launcherClientClass.newInstance();
-				launcherClientMap.put(ThreadUtils.getThreadId(), launcherClient);
-				activeLauncherClientList.add(launcherClient);
-			} catch (InstantiationException | IllegalAccessException e) {
+				activeLauncherClientList.add(launcherClientClass.getDeclaredConstructor().newInstance());
+			} catch (ReflectiveOperationException e) {
 				_logger.warn(String.format("Error initializing launcher client class %s.",
 						launcherClientClass.getName()), e);
 			}
+		return new LauncherClients(activeLauncherClientList.toArray(new ILauncherClient[0]));
+	}
 
-		}
+	/**
+	 * Get the launcher client instances of the test executing on the current
+	 * thread. The array is shared and must not be modified. The instances are
+	 * shared with the iteration workers of the test, so calls to an instance are
+	 * synchronized on the instance
+	 * 
+	 * @return Array of launcher client instances
+	 */
+	private ILauncherClient[] getLauncherClientArray() {
+		ExecutionContext context = ExecutionContext.getContext();
+		return context.getAttribute(LauncherClients.class, () -> newLauncherClients(context)).launcherClients;
+	}
 
-		if (!activeLauncherClientList.isEmpty())
-			isEnabled = true;
-		return activeLauncherClientList;
+	/**
+	 * Get list of launcher client instances of the test executing on the current
+	 * thread
+	 * 
+	 * @return Immutable list of launcher client instances
+	 */
+	public List<ILauncherClient> getLauncherClients() {
+		return Collections.unmodifiableList(Arrays.asList(getLauncherClientArray()));
 	}
 
 	/**
@@ -138,8 +254,10 @@ public class LauncherClientManager implements ILauncherClient {
 	 */
 	public void startTest(ITestContext testContext) {
 		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.startTest(testContext);
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.startTest(testContext);
+				}
 	}
 
 	/**
@@ -152,8 +270,7 @@ public class LauncherClientManager implements ILauncherClient {
 	 */
 	public void logSuccess(String methodName, MethodType methodType, int iteration, long duration) {
 		if (isEnabled && !methodName.toLowerCase().startsWith("automacentinternal"))
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.logSuccess(methodName, methodType, iteration, duration);
+			dispatch(LauncherEvent.success(methodName, methodType, iteration, duration));
 	}
 
 	/**
@@ -167,29 +284,64 @@ public class LauncherClientManager implements ILauncherClient {
 	 */
 	public void logFailure(String methodName, MethodType methodType, int iteration, Throwable e, long duration) {
 		if (isEnabled && !methodName.toLowerCase().startsWith("automacentinternal"))
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.logFailure(methodName, methodType, iteration, e, duration);
+			dispatch(LauncherEvent.failure(methodName, methodType, iteration, e, duration));
 	}
 
 	/**
-	 * Mark completion of test on all launcher client
+	 * Mark completion of test on all launcher client once the queued
+	 * {@link LauncherEvent} are delivered. With {@link LauncherDeliveryMode#SPOOL}
+	 * the completion is spooled as well and the test does not wait for the
+	 * launcher server
 	 */
 	public void stopTest() {
-		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.stopTest();
+		if (isEnabled) {
+			if (launcherDeliveryMode == LauncherDeliveryMode.SPOOL) {
+				dispatch(LauncherEvent.stop());
+				return;
+			}
+			LauncherEventDispatcher.getDispatcher().flush();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.stopTest();
+				}
+		}
+	}
+
+	/**
+	 * Complete the delivery of the events at the end of the suite. With
+	 * {@link LauncherDeliveryMode#SPOOL} the spool is given a short time to be
+	 * forwarded. Events left in the spool can be pushed later with
+	 * {@link LauncherSpoolReplay}
+	 */
+	public void close() {
+		if (!isEnabled)
+			return;
+		LauncherEventDispatcher.getDispatcher().flush();
+		LauncherSpool launcherSpool = LauncherEventDispatcher.getDispatcher().getLauncherSpool();
+		if (launcherSpool != null
+				&& !launcherSpool.awaitDelivery(TimeUnit.SECONDS.toMillis(SPOOL_DELIVERY_TIMEOUT_IN_SECONDS)))
+			_logger.warn(String.format("Launcher events are not yet delivered. Push them once the launcher server "
+					+ "is available with: java -cp <test classpath> %s %s", LauncherSpoolReplay.class.getName(),
+					launcherSpool.getDirectory().toAbsolutePath()));
 	}
 
 	/**
-	 * Send heart beat to the launcher server
+	 * Send heart beat to the launcher server from the launcher clients of the
+	 * current thread
+	 * @deprecated Heart beats of the tests are sent in the background by
+	 *             {@link LauncherHeartBeat}, which also records force completion
+	 *             of the test. Use {@link LauncherHeartBeat#checkIfForceCompleted()}
 	 *
 	 * @throws LauncherForceCompletedException when test instance status is not
 	 *                                         RUNNING
 	 */
+	@Deprecated
 	public void ping() throws LauncherForceCompletedException {
 		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.ping();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.ping();
+				}
 	}
 
 	/**
@@ -200,8 +352,7 @@ public class LauncherClientManager implements ILauncherClient {
 	 */
 	public void logStart(String method, MethodType methodType) {
 		if (isEnabled && !method.toLowerCase().startsWith("automacentinternal"))
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.logStart(method, methodType);
+			dispatch(LauncherEvent.start(method, methodType));
 	}
 
 	/**
@@ -217,15 +368,45 @@ public class LauncherClientManager implements ILauncherClient {
 	public void logEnd(String methodWithArguments, MethodType methodType, TestStatus testStatus, long duration,
 			Throwable t) {
 		if (isEnabled && !methodWithArguments.toLowerCase().startsWith("automacentinternal"))
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.logEnd(methodWithArguments, methodType, testStatus, duration, t);
+			dispatch(LauncherEvent.end(methodWithArguments, methodType, testStatus, duration, t));
 	}
 
 	@Override
 	public void logPerformance() {
-		if (isEnabled)
-			for (ILauncherClient launcherClient : getLauncherClients())
-				launcherClient.logPerformance();
+		if (isEnabled) {
+			LauncherEventDispatcher.getDispatcher().flush();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				synchronized (launcherClient) {
+					launcherClient.logPerformance();
+				}
+		}
+	}
+
+	@Override
+	public void logPerformance(Map<String, Map<String, Object>> latencySummary) {
+		if (isEnabled) {
+			LauncherEventDispatcher.getDispatcher().flush();
+			for (ILauncherClient launcherClient : getLauncherClientArray())
+				try {
+					synchronized (launcherClient) {
+						launcherClient.logPerformance(latencySummary);
+					}
+				} catch (Exception e) {
+					_logger.warn(String.format("Error logging latency summary in launcher client %s",
+							launcherClient.getClass().getName()), e);
+				}
+		}
+	}
+
+	/**
+	 * Queue the {@link LauncherEvent} for delivery to all the launcher clients of
+	 * the current thread
+	 * 
+	 * @param launcherEvent {@link LauncherEvent}
+	 */
+	private void dispatch(LauncherEvent launcherEvent) {
+		for (ILauncherClient launcherClient : getLauncherClientArray())
+			LauncherEventDispatcher.getDispatcher().dispatch(launcherClient, launcherEvent);
 	}
 
 }
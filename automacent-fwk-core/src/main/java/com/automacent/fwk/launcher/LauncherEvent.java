@@ -0,0 +1,212 @@
+package com.automacent.fwk.launcher;
+
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.TestStatus;
+
+/**
+ * Event logged to the launcher clients. Events are queued by the
+ * {@link LauncherClientManager} and delivered to the {@link ILauncherClient} in
+ * batches by the {@link LauncherEventDispatcher}
+ * 
+ * @author sighil.sivadas
+ */
+public final class LauncherEvent {
+
+	/**
+	 * Type of the {@link LauncherEvent}, matching the logging methods of
+	 * {@link ILauncherClient}. {@link #STOP} marks the completion of the test and
+	 * is delivered with {@link ILauncherClient#stopTest()} instead of being part
+	 * of a batch
+	 */
+	public enum Type {
+		START, END, SUCCESS, FAILURE, STOP
+	}
+
+	private final Type type;
+	private final String methodName;
+	private final MethodType methodType;
+	private final int iteration;
+	private final TestStatus testStatus;
+	private final long duration;
+	private final Throwable throwable;
+	private final long timestamp;
+
+	private LauncherEvent(Type type, String methodName, MethodType methodType, int iteration, TestStatus testStatus,
+			long duration, Throwable throwable) {
+		this(type, methodName, methodType, iteration, testStatus, duration, throwable, System.currentTimeMillis());
+	}
+
+	private LauncherEvent(Type type, String methodName, MethodType methodType, int iteration, TestStatus testStatus,
+			long duration, Throwable throwable, long timestamp) {
+		this.type = type;
+		this.methodName = methodName;
+		this.methodType = methodType;
+		this.iteration = iteration;
+		this.testStatus = testStatus;
+		this.duration = duration;
+		this.throwable = throwable;
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * Recreate an event read back from the launcher spool
+	 */
+	static LauncherEvent restore(Type type, String methodName, MethodType methodType, int iteration,
+			TestStatus testStatus, long duration, Throwable throwable, long timestamp) {
+		return new LauncherEvent(type, methodName, methodType, iteration, testStatus, duration, throwable,
+				timestamp);
+	}
+
+	/**
+	 * Event for {@link ILauncherClient#logStart(String, MethodType)}
+	 * 
+	 * @param methodWithArguments Method name with arguments
+	 * @param methodType          {@link MethodType}
+	 * @return {@link LauncherEvent}
+	 */
+	public static LauncherEvent start(String methodWithArguments, MethodType methodType) {
+		return new LauncherEvent(Type.START, methodWithArguments, methodType, 0, null, 0, null);
+	}
+
+	/**
+	 * Event for
+	 * {@link ILauncherClient#logEnd(String, MethodType, TestStatus, long, Throwable)}
+	 * 
+	 * @param methodWithArguments Method name with arguments
+	 * @param methodType          {@link MethodType}
+	 * @param testStatus          {@link TestStatus}
+	 * @param duration            Duration in milliseconds
+	 * @param t                   {@link Throwable}
+	 * @return {@link LauncherEvent}
+	 */
+	public static LauncherEvent end(String methodWithArguments, MethodType methodType, TestStatus testStatus,
+			long duration, Throwable t) {
+		return new LauncherEvent(Type.END, methodWithArguments, methodType, 0, testStatus, duration, t);
+	}
+
+	/**
+	 * Event for {@link ILauncherClient#logSuccess(String, MethodType, int, long)}
+	 * 
+	 * @param methodName Name of test method
+	 * @param methodType {@link MethodType}
+	 * @param iteration  Iteration number
+	 * @param duration   Duration of execution of method
+	 * @return {@link LauncherEvent}
+	 */
+	public static LauncherEvent success(String methodName, MethodType methodType, int iteration, long duration) {
+		return new LauncherEvent(Type.SUCCESS, methodName, methodType, iteration, TestStatus.PASS, duration, null);
+	}
+
+	/**
+	 * Event for
+	 * {@link ILauncherClient#logFailure(String, MethodType, int, Throwable, long)}
+	 * 
+	 * @param methodName Name of test method
+	 * @param methodType {@link MethodType}
+	 * @param iteration  Iteration number
+	 * @param e          {@link Throwable} resulting in failure
+	 * @param duration   Duration of execution of method
+	 * @return {@link LauncherEvent}
+	 */
+	public static LauncherEvent failure(String methodName, MethodType methodType, int iteration, Throwable e,
+			long duration) {
+		return new LauncherEvent(Type.FAILURE, methodName, methodType, iteration, TestStatus.FAIL, duration, e);
+	}
+
+	/**
+	 * Event for {@link ILauncherClient#stopTest()}
+	 * 
+	 * @return {@link LauncherEvent}
+	 */
+	public static LauncherEvent stop() {
+		return new LauncherEvent(Type.STOP, null, null, 0, null, 0, null);
+	}
+
+	/**
+	 * @return {@link Type} of the event
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return Method name. Includes the arguments for {@link Type#START} and
+	 *         {@link Type#END} events
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * @return {@link MethodType}
+	 */
+	public MethodType getMethodType() {
+		return methodType;
+	}
+
+	/**
+	 * @return Iteration number
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * @return {@link TestStatus} or null for {@link Type#START} events
+	 */
+	public TestStatus getTestStatus() {
+		return testStatus;
+	}
+
+	/**
+	 * @return Duration in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return {@link Throwable} or null
+	 */
+	public Throwable getThrowable() {
+		return throwable;
+	}
+
+	/**
+	 * @return Time at which the event occurred in milliseconds since epoch
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Deliver the event to the launcher client by invoking the logging method
+	 * matching the {@link Type}
+	 * 
+	 * @param launcherClient {@link ILauncherClient}
+	 */
+	public void dispatchTo(ILauncherClient launcherClient) {
+		switch (type) {
+		case START:
+			launcherClient.logStart(methodName, methodType);
+			break;
+		case END:
+			launcherClient.logEnd(methodName, methodType, testStatus, duration, throwable);
+			break;
+		case SUCCESS:
+			launcherClient.logSuccess(methodName, methodType, iteration, duration);
+			break;
+		case FAILURE:
+			launcherClient.logFailure(methodName, methodType, iteration, throwable, duration);
+			break;
+		case STOP:
+			launcherClient.stopTest();
+			break;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s %s", type, methodType, methodName);
+	}
+}
@@ -0,0 +1,297 @@
+package com.automacent.fwk.launcher;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.automacent.fwk.reporting.Logger;
+
+/**
+ * Delivers {@link LauncherEvent} to the launcher clients in the background so
+ * that the latency of the launcher server does not add to the duration of the
+ * test.
+ * 
+ * Events are added to a bounded lock free queue by the test threads. A single
+ * dispatcher thread drains the queue, groups the events per
+ * {@link ILauncherClient} in the order they were logged and hands them over
+ * with {@link ILauncherClient#logBatch(List)} once the batch size is reached or
+ * the flush interval has elapsed. When the queue is full, the test thread waits
+ * for the dispatcher to catch up instead of dropping events. A flush queues a
+ * marker behind the events of the calling thread and waits till the dispatcher
+ * reaches the marker and delivers all the batches held, so that the events of
+ * the calling test are delivered irrespective of the events of other tests.
+ * 
+ * When a {@link LauncherSpool} is set, the batches are appended to the spool
+ * instead and the spool forwards them to the launcher clients.
+ * 
+ * The dispatcher thread is a background thread of the framework, so messages
+ * logged by the launcher clients while delivering are written to the Log4J log
+ * only and no test state is bound to the thread
+ * 
+ * @author sighil.sivadas
+ */
+final class LauncherEventDispatcher {
+
+	private static final Logger _logger = Logger.getLogger(LauncherEventDispatcher.class);
+	private static final Logger _backgroundLogger = Logger.getBackgroundLogger(LauncherEventDispatcher.class);
+
+	private static final int QUEUE_CAPACITY = 10000;
+	private static final long FLUSH_TIMEOUT_IN_SECONDS = 60;
+	private static final long WAIT_IN_NANOSECONDS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final LauncherEventDispatcher launcherEventDispatcher = new LauncherEventDispatcher();
+
+	/**
+	 * @return Singleton instance of {@link LauncherEventDispatcher}
+	 */
+	static LauncherEventDispatcher getDispatcher() {
+		return launcherEventDispatcher;
+	}
+
+	private static final class QueuedEvent {
+
+		private final ILauncherClient launcherClient;
+		private final LauncherEvent launcherEvent;
+		private final CountDownLatch flushed;
+
+		private QueuedEvent(ILauncherClient launcherClient, LauncherEvent launcherEvent) {
+			this.launcherClient = launcherClient;
+			this.launcherEvent = launcherEvent;
+			this.flushed = null;
+		}
+
+		/**
+		 * Flush marker, counted down once the events queued ahead of it are
+		 * delivered
+		 */
+		private QueuedEvent(CountDownLatch flushed) {
+			this.launcherClient = null;
+			this.launcherEvent = null;
+			this.flushed = flushed;
+		}
+	}
+
+	private final Queue<QueuedEvent> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+
+	private volatile int batchSize = 50;
+	private volatile long flushIntervalInMilliSeconds = 1000;
+
+	private volatile Thread dispatcherThread;
+	private volatile LauncherSpool launcherSpool;
+
+	private LauncherEventDispatcher() {
+	}
+
+	/**
+	 * Set the number of events of a launcher client which are delivered together
+	 * 
+	 * @param batchSize Batch size
+	 */
+	void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the maximum time for which events are held before being delivered to the
+	 * launcher client
+	 * 
+	 * @param flushIntervalInMilliSeconds Flush interval in milliseconds
+	 */
+	void setFlushIntervalInMilliSeconds(long flushIntervalInMilliSeconds) {
+		this.flushIntervalInMilliSeconds = flushIntervalInMilliSeconds;
+	}
+
+	/**
+	 * Set the {@link LauncherSpool} to which the batches are appended
+	 * 
+	 * @param launcherSpool {@link LauncherSpool} or null to deliver the batches to
+	 *                      the launcher clients directly
+	 */
+	void setLauncherSpool(LauncherSpool launcherSpool) {
+		this.launcherSpool = launcherSpool;
+	}
+
+	/**
+	 * @return {@link LauncherSpool} in use or null
+	 */
+	LauncherSpool getLauncherSpool() {
+		return launcherSpool;
+	}
+
+	/**
+	 * Queue the event for delivery to the launcher client
+	 * 
+	 * @param launcherClient {@link ILauncherClient}
+	 * @param launcherEvent  {@link LauncherEvent}
+	 */
+	void dispatch(ILauncherClient launcherClient, LauncherEvent launcherEvent) {
+		int size;
+		while ((size = queueSize.get()) >= QUEUE_CAPACITY || !queueSize.compareAndSet(size, size + 1)) {
+			if (size >= QUEUE_CAPACITY) {
+				LockSupport.unpark(getDispatcherThread());
+				LockSupport.parkNanos(WAIT_IN_NANOSECONDS);
+			}
+		}
+		queue.add(new QueuedEvent(launcherClient, launcherEvent));
+		Thread thread = getDispatcherThread();
+		if (size + 1 >= batchSize)
+			LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Wait till the events queued so far by the calling thread are delivered to
+	 * the launcher clients, or appended to the {@link LauncherSpool} when
+	 * spooling. Events queued by other threads before the flush are delivered as
+	 * well
+	 */
+	void flush() {
+		CountDownLatch flushed = new CountDownLatch(1);
+		queueSize.incrementAndGet();
+		queue.add(new QueuedEvent(flushed));
+		LockSupport.unpark(getDispatcherThread());
+		try {
+			if (!flushed.await(FLUSH_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS))
+				_logger.warn(String.format("Launcher events not delivered in %s seconds. %s events pending",
+						FLUSH_TIMEOUT_IN_SECONDS, queueSize.get()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			_logger.warn("Interrupted while waiting for launcher events to be delivered");
+		}
+	}
+
+	/**
+	 * Get the dispatcher thread, starting it if it is not running. The thread is
+	 * restarted if it died, so that the test threads never wait for a dispatcher
+	 * which is gone
+	 */
+	private Thread getDispatcherThread() {
+		Thread thread = dispatcherThread;
+		if (thread == null || !thread.isAlive())
+			synchronized (this) {
+				thread = dispatcherThread;
+				if (thread == null || !thread.isAlive()) {
+					if (thread != null)
+						_backgroundLogger.warn("Launcher event dispatcher stopped unexpectedly. Restarting");
+					thread = new Thread(() -> {
+						Logger.setBackgroundThread();
+						run();
+					}, "automacent-launcher-dispatcher");
+					thread.setDaemon(true);
+					thread.start();
+					dispatcherThread = thread;
+				}
+			}
+		return thread;
+	}
+
+	/**
+	 * Loop of the dispatcher thread
+	 */
+	private void run() {
+		Map<ILauncherClient, List<LauncherEvent>> batches = new IdentityHashMap<>();
+		int pendingEvents = 0;
+		long firstPendingEventTime = 0;
+		while (true) {
+			QueuedEvent queuedEvent;
+			while ((queuedEvent = queue.poll()) != null) {
+				queueSize.decrementAndGet();
+				if (queuedEvent.flushed != null) {
+					// The events queued ahead of the flush are all held in the batches
+					deliverAll(batches);
+					pendingEvents = 0;
+					queuedEvent.flushed.countDown();
+					continue;
+				}
+				if (pendingEvents++ == 0)
+					firstPendingEventTime = System.currentTimeMillis();
+				List<LauncherEvent> batch = batches.computeIfAbsent(queuedEvent.launcherClient,
+						key -> new ArrayList<>());
+				batch.add(queuedEvent.launcherEvent);
+				if (batch.size() >= batchSize || queuedEvent.launcherEvent.getType() == LauncherEvent.Type.STOP) {
+					deliver(queuedEvent.launcherClient, batch);
+					pendingEvents -= batch.size();
+					batches.remove(queuedEvent.launcherClient);
+				}
+			}
+
+			long waitInMilliSeconds = flushIntervalInMilliSeconds;
+			if (pendingEvents > 0) {
+				long elapsedTimeInMilliSeconds = System.currentTimeMillis() - firstPendingEventTime;
+				if (elapsedTimeInMilliSeconds >= flushIntervalInMilliSeconds) {
+					deliverAll(batches);
+					pendingEvents = 0;
+				} else {
+					waitInMilliSeconds -= elapsedTimeInMilliSeconds;
+				}
+			}
+			if (queue.isEmpty())
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, waitInMilliSeconds)));
+		}
+	}
+
+	private void deliverAll(Map<ILauncherClient, List<LauncherEvent>> batches) {
+		for (Map.Entry<ILauncherClient, List<LauncherEvent>> batch : batches.entrySet())
+			deliver(batch.getKey(), batch.getValue());
+		batches.clear();
+	}
+
+	/**
+	 * Deliver the batch of events to the launcher client or append it to the
+	 * {@link LauncherSpool}. Failure of a launcher client, including an
+	 * {@link Error} thrown by it, is logged and does not stop the delivery of
+	 * other events. If the spool cannot be written the batch is delivered
+	 * directly
+	 */
+	private void deliver(ILauncherClient launcherClient, List<LauncherEvent> batch) {
+		try {
+			LauncherSpool spool = launcherSpool;
+			if (spool != null)
+				try {
+					spool.append(launcherClient, batch);
+					return;
+				} catch (IOException e) {
+					_backgroundLogger.warn(String.format("Appending %s events to launcher spool %s failed. "
+							+ "Delivering to launcher client directly", batch.size(), spool.getDirectory()), e);
+				}
+			deliverTo(launcherClient, batch);
+		} catch (Throwable e) {
+			_backgroundLogger.warn(String.format("Delivering %s events to launcher client %s failed", batch.size(),
+					launcherClient.getClass().getName()), e);
+		}
+	}
+
+	/**
+	 * Deliver the events to the launcher client. Events are delivered with
+	 * {@link ILauncherClient#logBatch(List)} and {@link LauncherEvent.Type#STOP}
+	 * events with {@link ILauncherClient#stopTest()}, synchronized on the launcher
+	 * client like the other calls of the framework to the launcher client
+	 * 
+	 * @param launcherClient {@link ILauncherClient}
+	 * @param launcherEvents List of {@link LauncherEvent}
+	 */
+	static void deliverTo(ILauncherClient launcherClient, List<LauncherEvent> launcherEvents) {
+		synchronized (launcherClient) {
+			int start = 0;
+			for (int i = 0; i < launcherEvents.size(); i++)
+				if (launcherEvents.get(i).getType() == LauncherEvent.Type.STOP) {
+					if (i > start)
+						launcherClient.logBatch(Collections.unmodifiableList(launcherEvents.subList(start, i)));
+					launcherClient.stopTest();
+					start = i + 1;
+				}
+			if (start < launcherEvents.size())
+				launcherClient.logBatch(Collections.unmodifiableList(launcherEvents.subList(start,
+						launcherEvents.size())));
+		}
+	}
+}
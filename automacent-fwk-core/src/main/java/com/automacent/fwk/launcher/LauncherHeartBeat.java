@@ -1,60 +1,140 @@
 package com.automacent.fwk.launcher;
 
-import java.util.Date;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.automacent.fwk.core.ExecutionContext;
 import com.automacent.fwk.exceptions.LauncherForceCompletedException;
 import com.automacent.fwk.reporting.Logger;
-import com.automacent.fwk.utils.ThreadUtils;
 
 /**
- * This class manages sending of heart beat to the launcher server
- * 
+ * This class manages sending of heart beat to the launcher server. Heart beats
+ * of all the running tests are sent at a fixed interval from a shared scheduler,
+ * so that heart beats are sent during long sleeps and hung driver calls without
+ * blocking the test thread.
+ *
+ * When the launcher server force completes the test instance, the heart beat
+ * records it and the next {@link #checkIfForceCompleted()} on each thread of
+ * the test throws {@link LauncherForceCompletedException}. Iteration workers
+ * share the heart beat of the test which started them
+ *
  * @author sighil.sivadas
  */
 public class LauncherHeartBeat {
-	private static final Logger _logger = Logger.getLogger(LauncherHeartBeat.class);
+	private static final Logger _logger = Logger.getBackgroundLogger(LauncherHeartBeat.class);
 
-	protected LauncherHeartBeat() {
-		pingCounter = new Date().getTime();
+	private static final long HEART_BEAT_INTERVAL_IN_SECONDS = 60;
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2, runnable -> {
+		Thread thread = new Thread(() -> {
+			Logger.setBackgroundThread();
+			runnable.run();
+		}, String.format("automacent-launcher-heartbeat-%s", threadCount.incrementAndGet()));
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		scheduler.setRemoveOnCancelPolicy(true);
 	}
 
-	boolean isTestInstanceStopped = false;
+	private final LauncherHeartBeat testHeartBeat;
 
-	private static HashMap<Long, LauncherHeartBeat> heartBeatMap = new HashMap<Long, LauncherHeartBeat>();
+	protected LauncherHeartBeat(LauncherHeartBeat testHeartBeat) {
+		this.testHeartBeat = testHeartBeat == null ? this : testHeartBeat;
+	}
 
 	/**
 	 * Get the {@link LauncherHeartBeat} instance for the test.
-	 * 
+	 *
 	 * @return {@link LauncherHeartBeat}
 	 */
 	public static LauncherHeartBeat getManager() {
-		if (!heartBeatMap.containsKey(ThreadUtils.getThreadId()))
-			heartBeatMap.put(ThreadUtils.getThreadId(), new LauncherHeartBeat());
-		return heartBeatMap.get(ThreadUtils.getThreadId());
+		return getManager(ExecutionContext.getContext());
 	}
 
-	private long pingCounter;
+	private static LauncherHeartBeat getManager(ExecutionContext context) {
+		return context.getAttribute(LauncherHeartBeat.class, () -> new LauncherHeartBeat(
+				context.isWorker() ? getManager(context.getParent()) : null));
+	}
+
+	private volatile String forceCompletedMessage;
+	private ScheduledFuture<?> heartBeat;
+	private boolean forceCompletionThrown = false;
 
 	/**
-	 * Send heart beat to the launcher server
+	 * Start sending heart beats for the test to the launcher clients
 	 *
-	 * @throws LauncherForceCompletedException
-	 *             when test instance status is not RUNNING
+	 * @param launcherClients {@link ILauncherClient} instances of the test
 	 */
-	public void ping() throws LauncherForceCompletedException {
-		if (isTestInstanceStopped)
+	public synchronized void start(List<ILauncherClient> launcherClients) {
+		if (testHeartBeat != this || heartBeat != null || launcherClients.isEmpty())
 			return;
-		if (new Date().getTime() - pingCounter > 60 * 1 * 1000) {
-			pingCounter = new Date().getTime();
-			_logger.debug("Sending heart beat to launcher");
+		List<ILauncherClient> clients = Collections.unmodifiableList(new ArrayList<>(launcherClients));
+		heartBeat = scheduler.scheduleWithFixedDelay(() -> ping(clients), HEART_BEAT_INTERVAL_IN_SECONDS,
+				HEART_BEAT_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stop sending heart beats for the test
+	 */
+	public synchronized void stop() {
+		if (heartBeat != null) {
+			heartBeat.cancel(false);
+			heartBeat = null;
+		}
+	}
+
+	/**
+	 * Send heart beat to the launcher clients. Runs on the scheduler, a background
+	 * thread of the framework, so logs, including those of the launcher clients,
+	 * are written to the Log4J log only
+	 */
+	private void ping(List<ILauncherClient> launcherClients) {
+		_logger.debug("Sending heart beat to launcher");
+		for (ILauncherClient launcherClient : launcherClients)
 			try {
-				LauncherClientManager.getManager().ping();
+				synchronized (launcherClient) {
+					launcherClient.ping();
+				}
 			} catch (LauncherForceCompletedException e) {
-				isTestInstanceStopped = true;
-				throw e;
+				_logger.warn(String.format("Test instance force completed in launcher. %s", e.getMessage()));
+				forceCompletedMessage = String.valueOf(e.getMessage());
+				stop();
+				return;
+			} catch (RuntimeException e) {
+				_logger.warn(String.format("Sending heart beat to launcher client %s failed",
+						launcherClient.getClass().getName()), e);
 			}
-		}
+	}
 
+	/**
+	 * Check if the test instance is force completed in the launcher
+	 *
+	 * @return true if force completed
+	 */
+	public boolean isForceCompleted() {
+		return testHeartBeat.forceCompletedMessage != null;
+	}
+
+	/**
+	 * Check if the test instance is force completed in the launcher. The
+	 * exception is thrown once on each thread of the test
+	 *
+	 * @throws LauncherForceCompletedException when test instance status is not
+	 *                                         RUNNING
+	 */
+	public void checkIfForceCompleted() throws LauncherForceCompletedException {
+		String message = testHeartBeat.forceCompletedMessage;
+		if (message != null && !forceCompletionThrown) {
+			forceCompletionThrown = true;
+			throw new LauncherForceCompletedException(message);
+		}
 	}
 }
@@ -0,0 +1,561 @@
+package com.automacent.fwk.launcher;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.TestStatus;
+import com.automacent.fwk.exceptions.SpooledLauncherEventException;
+import com.automacent.fwk.reporting.Logger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Append only spool of {@link LauncherEvent} on disk. Each batch of events of a
+ * launcher client is appended as a JSON line to segment files under
+ * &lt;reportdir&gt;/launcher-spool. A forwarder thread reads the segments and
+ * delivers the batches to the launcher clients, retrying with backoff while the
+ * launcher server is failing. The position up to which the spool is delivered
+ * is saved in the delivered.offset file, so a spool left behind by a run can be
+ * pushed later with {@link LauncherSpoolReplay}.
+ *
+ * Each launcher client instance writes to its own stream in the spool. Streams
+ * are numbered per run and the record holds the id of the run, the class of
+ * the launcher client and the test instance id. Records of the current run are
+ * delivered to the launcher client instance which wrote them. Records left by
+ * an earlier run are delivered to launcher clients recreated per stream of
+ * that run, as done by {@link LauncherSpoolReplay}. Delivered segments are
+ * deleted
+ *
+ * @author sighil.sivadas
+ */
+final class LauncherSpool {
+
+	private static final Logger _logger = Logger.getLogger(LauncherSpool.class);
+	private static final Logger _backgroundLogger = Logger.getBackgroundLogger(LauncherSpool.class);
+
+	private static final long SEGMENT_SIZE_IN_BYTES = 8 * 1024 * 1024;
+	private static final long MIN_BACKOFF_IN_MILLISECONDS = 500;
+	private static final long MAX_BACKOFF_IN_MILLISECONDS = 30000;
+	private static final String OFFSET_FILE = "delivered.offset";
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	/**
+	 * Get the spool directory of the run
+	 *
+	 * @return Spool directory
+	 */
+	static Path getDefaultDirectory() {
+		return Paths.get(System.getProperty("automacent.reportdir", "." + File.separator + "report"),
+				"launcher-spool");
+	}
+
+	/**
+	 * Position in the spool
+	 */
+	static final class Position {
+
+		private final int segment;
+		private final long offset;
+
+		Position(int segment, long offset) {
+			this.segment = segment;
+			this.offset = offset;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Position))
+				return false;
+			Position position = (Position) object;
+			return segment == position.segment && offset == position.offset;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(segment, offset);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s", segment, offset);
+		}
+	}
+
+	/**
+	 * Batch of events of a launcher client stream
+	 */
+	static final class SpoolRecord {
+
+		private final String run;
+		private final long stream;
+		private final String launcherClientClass;
+		private final long testInstanceId;
+		private final List<LauncherEvent> launcherEvents;
+
+		SpoolRecord(String run, long stream, String launcherClientClass, long testInstanceId,
+				List<LauncherEvent> launcherEvents) {
+			this.run = run;
+			this.stream = stream;
+			this.launcherClientClass = launcherClientClass;
+			this.testInstanceId = testInstanceId;
+			this.launcherEvents = launcherEvents;
+		}
+
+		String getRun() {
+			return run;
+		}
+
+		long getStream() {
+			return stream;
+		}
+
+		/**
+		 * @return Key of the stream, unique across the runs writing to the spool
+		 */
+		String getStreamKey() {
+			return run + ":" + stream;
+		}
+
+		String getLauncherClientClass() {
+			return launcherClientClass;
+		}
+
+		long getTestInstanceId() {
+			return testInstanceId;
+		}
+
+		List<LauncherEvent> getLauncherEvents() {
+			return launcherEvents;
+		}
+	}
+
+	/**
+	 * Delivers a record read from the spool
+	 */
+	@FunctionalInterface
+	interface RecordDeliverer {
+
+		/**
+		 * Deliver the record
+		 *
+		 * @param spoolRecord {@link SpoolRecord}
+		 * @return true if delivered. The spool is not read further when false
+		 */
+		boolean deliver(SpoolRecord spoolRecord);
+	}
+
+	private final Path directory;
+	private final String run = UUID.randomUUID().toString();
+
+	// Writer
+	private final Map<ILauncherClient, Long> streams = new IdentityHashMap<>();
+	private final Map<Long, ILauncherClient> launcherClients = new ConcurrentHashMap<>();
+	private OutputStream outputStream;
+	private volatile Position committed;
+
+	// Forwarder
+	private final Map<String, ILauncherClient> replayLauncherClients = new ConcurrentHashMap<>();
+	private volatile Position delivered;
+	private volatile Thread forwarderThread;
+
+	/**
+	 * Create the spool in the directory. Records left undelivered in the
+	 * directory by an earlier run are forwarded as well. Records are appended to a
+	 * new segment
+	 *
+	 * @param directory Spool directory
+	 * @throws IOException on failure to create the spool
+	 */
+	LauncherSpool(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+		delivered = readOffset(directory);
+		Position end = readEnd(directory, delivered);
+		committed = end.offset > 0 ? new Position(end.segment + 1, 0) : end;
+		outputStream = new FileOutputStream(getSegment(directory, committed.segment).toFile(), true);
+		if (!isDelivered()) {
+			_logger.info(String.format("Forwarding launcher events left undelivered in spool %s", directory));
+			getForwarderThread();
+		}
+	}
+
+	/**
+	 * @return Spool directory
+	 */
+	Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Append the batch of events of the launcher client to the spool. The batch
+	 * is written with a single write, so the spool survives a crash of the test
+	 * run. The file is not synced to the storage device for each batch
+	 *
+	 * @param launcherClient {@link ILauncherClient}
+	 * @param launcherEvents List of {@link LauncherEvent}
+	 * @throws IOException on failure to write the spool
+	 */
+	synchronized void append(ILauncherClient launcherClient, List<LauncherEvent> launcherEvents)
+			throws IOException {
+		Long stream = streams.get(launcherClient);
+		if (stream == null) {
+			stream = (long) streams.size() + 1;
+			streams.put(launcherClient, stream);
+			launcherClients.put(stream, launcherClient);
+		}
+		long testInstanceId = launcherClient instanceof AbstractLauncherClient
+				? ((AbstractLauncherClient) launcherClient).getTestInstanceId()
+				: 0;
+		byte[] line = (toJson(new SpoolRecord(run, stream, launcherClient.getClass().getName(), testInstanceId,
+				launcherEvents)) + "\n").getBytes(StandardCharsets.UTF_8);
+
+		Position position = committed;
+		if (position.offset > 0 && position.offset + line.length > SEGMENT_SIZE_IN_BYTES) {
+			outputStream.close();
+			position = new Position(position.segment + 1, 0);
+			outputStream = new FileOutputStream(getSegment(directory, position.segment).toFile(), true);
+		}
+		outputStream.write(line);
+		committed = new Position(position.segment, position.offset + line.length);
+		LockSupport.unpark(getForwarderThread());
+	}
+
+	/**
+	 * Check if the spool is delivered to the launcher clients
+	 *
+	 * @return true if all the appended records are delivered
+	 */
+	boolean isDelivered() {
+		Position position = committed;
+		Position deliveredPosition = delivered;
+		return deliveredPosition.segment == position.segment && deliveredPosition.offset >= position.offset;
+	}
+
+	/**
+	 * Wait till the spool is delivered to the launcher clients
+	 *
+	 * @param timeoutInMilliSeconds Maximum time to wait
+	 * @return true if all the appended records are delivered
+	 */
+	boolean awaitDelivery(long timeoutInMilliSeconds) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMilliSeconds);
+		while (!isDelivered()) {
+			if (System.nanoTime() > deadline)
+				return false;
+			LockSupport.unpark(forwarderThread);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		return true;
+	}
+
+	private Thread getForwarderThread() {
+		Thread thread = forwarderThread;
+		if (thread == null) {
+			thread = new Thread(() -> {
+				Logger.setBackgroundThread();
+				forward();
+			}, "automacent-launcher-forwarder");
+			thread.setDaemon(true);
+			forwarderThread = thread;
+			thread.start();
+		}
+		return thread;
+	}
+
+	/**
+	 * Loop of the forwarder thread. Records of the current run are delivered to
+	 * the launcher client instance which wrote them and records left by an earlier
+	 * run to the launcher client recreated for their stream, retrying with backoff
+	 * till delivered. The thread is a background thread of the framework, so
+	 * messages logged by the launcher clients are written to the Log4J log only
+	 */
+	private void forward() {
+		long backoffInMilliSeconds = MIN_BACKOFF_IN_MILLISECONDS;
+		while (true) {
+			try {
+				if (isDelivered()) {
+					LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+					continue;
+				}
+				delivered = deliver(directory, delivered, committed, spoolRecord -> {
+					ILauncherClient launcherClient = run.equals(spoolRecord.getRun())
+							? launcherClients.get(spoolRecord.getStream())
+							: getReplayLauncherClient(replayLauncherClients, spoolRecord);
+					return launcherClient != null && deliver(launcherClient, spoolRecord);
+				});
+				if (!isDelivered()) {
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoffInMilliSeconds));
+					backoffInMilliSeconds = Math.min(backoffInMilliSeconds * 2, MAX_BACKOFF_IN_MILLISECONDS);
+				} else {
+					backoffInMilliSeconds = MIN_BACKOFF_IN_MILLISECONDS;
+				}
+			} catch (IOException | RuntimeException e) {
+				_backgroundLogger.warn(String.format("Error forwarding launcher spool %s", directory), e);
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(MAX_BACKOFF_IN_MILLISECONDS));
+			}
+		}
+	}
+
+	/**
+	 * Deliver the records of the spool from the start position till the end
+	 * position or till a record is not delivered. The delivered position is saved
+	 * after each record and fully delivered segments are deleted
+	 *
+	 * @param directory Spool directory
+	 * @param start     {@link Position} to start from
+	 * @param end       {@link Position} to stop at
+	 * @param deliverer {@link RecordDeliverer}
+	 * @return {@link Position} up to which the spool is delivered
+	 * @throws IOException on failure to read the spool
+	 */
+	static Position deliver(Path directory, Position start, Position end, RecordDeliverer deliverer)
+			throws IOException {
+		Position position = start;
+		while (position.segment < end.segment || position.offset < end.offset) {
+			Path segment = getSegment(directory, position.segment);
+			long limit = position.segment < end.segment ? Files.size(segment) : end.offset;
+			if (position.offset >= limit) {
+				Files.deleteIfExists(segment);
+				position = new Position(position.segment + 1, 0);
+				writeOffset(directory, position);
+				continue;
+			}
+
+			byte[] bytes = new byte[(int) (limit - position.offset)];
+			try (FileChannel channel = FileChannel.open(segment)) {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining())
+					if (channel.read(buffer, position.offset + buffer.position()) < 0)
+						throw new IOException(String.format("Launcher spool segment %s is truncated", segment));
+			}
+			int lineStart = 0;
+			for (int i = 0; i < bytes.length; i++) {
+				if (bytes[i] != '\n')
+					continue;
+				String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+				SpoolRecord spoolRecord = null;
+				try {
+					if (!line.trim().isEmpty())
+						spoolRecord = fromJson(line);
+				} catch (JsonProcessingException | IllegalArgumentException e) {
+					_backgroundLogger.warn(String.format("Skipping corrupt record in launcher spool segment %s", segment), e);
+				}
+				if (spoolRecord != null && !deliverer.deliver(spoolRecord))
+					return position;
+				position = new Position(position.segment, position.offset + i + 1 - lineStart);
+				lineStart = i + 1;
+				writeOffset(directory, position);
+			}
+			if (lineStart < bytes.length) {
+				if (position.segment == end.segment)
+					throw new IOException(
+							String.format("Launcher spool segment %s ends with a partial record", segment));
+				// Record cut short by a crash of the run which wrote the segment
+				_backgroundLogger.warn(
+						String.format("Skipping partial record at the end of launcher spool segment %s", segment));
+				position = new Position(position.segment, limit);
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Deliver the record to the launcher client. Events till a
+	 * {@link LauncherEvent.Type#STOP} event are delivered with
+	 * {@link ILauncherClient#logBatch(List)} and the STOP event with
+	 * {@link ILauncherClient#stopTest()}
+	 *
+	 * @param launcherClient {@link ILauncherClient}
+	 * @param spoolRecord    {@link SpoolRecord}
+	 * @return true if delivered
+	 */
+	static boolean deliver(ILauncherClient launcherClient, SpoolRecord spoolRecord) {
+		try {
+			LauncherEventDispatcher.deliverTo(launcherClient, spoolRecord.getLauncherEvents());
+			return true;
+		} catch (RuntimeException e) {
+			_backgroundLogger.warn(String.format("Delivering %s spooled events to launcher client %s failed. Will retry",
+					spoolRecord.getLauncherEvents().size(), spoolRecord.getLauncherClientClass()), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Create a launcher client for the record. The test instance id of the record
+	 * is set on launcher clients extending {@link AbstractLauncherClient}
+	 *
+	 * @param spoolRecord {@link SpoolRecord}
+	 * @return {@link ILauncherClient} or null if the launcher client cannot be
+	 *         created
+	 */
+	static ILauncherClient newLauncherClient(SpoolRecord spoolRecord) {
+		try {
+			ILauncherClient launcherClient = (ILauncherClient) Class.forName(spoolRecord.getLauncherClientClass())
+					.getDeclaredConstructor().newInstance();
+			if (launcherClient instanceof AbstractLauncherClient)
+				((AbstractLauncherClient) launcherClient)
+						.setTestInstanceId(String.valueOf(spoolRecord.getTestInstanceId()));
+			launcherClient.enableClient();
+			return launcherClient;
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			_backgroundLogger.warn(String.format("Error initializing launcher client class %s",
+					spoolRecord.getLauncherClientClass()), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Get the launcher client recreated for the stream of the record, creating it
+	 * on first use. Used for records of earlier runs, which are never delivered to
+	 * the launcher clients of the current run
+	 *
+	 * @param launcherClients Launcher clients recreated so far per stream key
+	 * @param spoolRecord     {@link SpoolRecord}
+	 * @return {@link ILauncherClient} or null if the launcher client cannot be
+	 *         created
+	 */
+	static ILauncherClient getReplayLauncherClient(Map<String, ILauncherClient> launcherClients,
+			SpoolRecord spoolRecord) {
+		ILauncherClient launcherClient = launcherClients.get(spoolRecord.getStreamKey());
+		if (launcherClient == null) {
+			launcherClient = newLauncherClient(spoolRecord);
+			if (launcherClient != null)
+				launcherClients.put(spoolRecord.getStreamKey(), launcherClient);
+		}
+		return launcherClient;
+	}
+
+	static Path getSegment(Path directory, int segment) {
+		return directory.resolve(String.format("segment-%06d.jsonl", segment));
+	}
+
+	/**
+	 * Read the position up to which the spool in the directory is delivered
+	 *
+	 * @param directory Spool directory
+	 * @return Delivered {@link Position}
+	 * @throws IOException on failure to read the offset file
+	 */
+	static Position readOffset(Path directory) throws IOException {
+		Path file = directory.resolve(OFFSET_FILE);
+		if (!Files.exists(file))
+			return new Position(1, 0);
+		String[] offset = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim().split(" ");
+		try {
+			return new Position(Integer.parseInt(offset[0]), Long.parseLong(offset[1]));
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new IOException(String.format("Invalid launcher spool offset file %s", file), e);
+		}
+	}
+
+	/**
+	 * Read the position up to which the spool in the directory is written
+	 *
+	 * @param directory Spool directory
+	 * @param start     Delivered {@link Position}
+	 * @return End {@link Position}
+	 * @throws IOException on failure to read the spool
+	 */
+	static Position readEnd(Path directory, Position start) throws IOException {
+		int segment = start.segment;
+		while (Files.exists(getSegment(directory, segment + 1)))
+			segment++;
+		Path file = getSegment(directory, segment);
+		return new Position(segment, Files.exists(file) ? Files.size(file) : 0);
+	}
+
+	private static void writeOffset(Path directory, Position position) throws IOException {
+		Path file = directory.resolve(OFFSET_FILE);
+		Path temporaryFile = directory.resolve(OFFSET_FILE + ".tmp");
+		Files.write(temporaryFile, position.toString().getBytes(StandardCharsets.UTF_8));
+		Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	// JSON -------------------------------------------------------
+
+	private static String toJson(SpoolRecord spoolRecord) throws IOException {
+		ObjectNode record = mapper.createObjectNode();
+		record.put("run", spoolRecord.run);
+		record.put("stream", spoolRecord.stream);
+		record.put("client", spoolRecord.launcherClientClass);
+		record.put("testInstanceId", spoolRecord.testInstanceId);
+		ArrayNode events = record.putArray("events");
+		for (LauncherEvent launcherEvent : spoolRecord.launcherEvents) {
+			ObjectNode event = events.addObject();
+			event.put("type", launcherEvent.getType().name());
+			event.put("method", launcherEvent.getMethodName());
+			event.put("methodType", launcherEvent.getMethodType() == null ? null
+					: launcherEvent.getMethodType().name());
+			event.put("iteration", launcherEvent.getIteration());
+			event.put("testStatus", launcherEvent.getTestStatus() == null ? null
+					: launcherEvent.getTestStatus().name());
+			event.put("duration", launcherEvent.getDuration());
+			event.put("timestamp", launcherEvent.getTimestamp());
+			Throwable throwable = launcherEvent.getThrowable();
+			if (throwable != null) {
+				ObjectNode error = event.putObject("error");
+				error.put("class", throwable instanceof SpooledLauncherEventException
+						? ((SpooledLauncherEventException) throwable).getExceptionClassName()
+						: throwable.getClass().getName());
+				error.put("message", throwable.getMessage());
+				ArrayNode stackTrace = error.putArray("stackTrace");
+				for (StackTraceElement element : throwable.getStackTrace())
+					stackTrace.addObject().put("class", element.getClassName())
+							.put("method", element.getMethodName()).put("file", element.getFileName())
+							.put("line", element.getLineNumber());
+			}
+		}
+		return mapper.writeValueAsString(record);
+	}
+
+	private static SpoolRecord fromJson(String line) throws IOException {
+		JsonNode record = mapper.readTree(line);
+		List<LauncherEvent> launcherEvents = new ArrayList<>();
+		for (JsonNode event : record.path("events")) {
+			Throwable throwable = null;
+			JsonNode error = event.get("error");
+			if (error != null) {
+				List<StackTraceElement> stackTrace = new ArrayList<>();
+				for (JsonNode element : error.path("stackTrace"))
+					stackTrace.add(new StackTraceElement(element.path("class").asText(),
+							element.path("method").asText(), element.path("file").textValue(),
+							element.path("line").asInt()));
+				throwable = new SpooledLauncherEventException(error.path("class").asText(),
+						error.path("message").textValue(), stackTrace.toArray(new StackTraceElement[0]));
+			}
+			launcherEvents.add(LauncherEvent.restore(LauncherEvent.Type.valueOf(event.path("type").asText()),
+					event.path("method").textValue(),
+					event.path("methodType").isTextual() ? MethodType.valueOf(event.path("methodType").asText())
+							: null,
+					event.path("iteration").asInt(),
+					event.path("testStatus").isTextual() ? TestStatus.valueOf(event.path("testStatus").asText())
+							: null,
+					event.path("duration").asLong(), throwable, event.path("timestamp").asLong()));
+		}
+		return new SpoolRecord(record.path("run").asText(), record.path("stream").asLong(), record.path("client").asText(),
+				record.path("testInstanceId").asLong(), launcherEvents);
+	}
+}
@@ -0,0 +1,104 @@
+package com.automacent.fwk.launcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.automacent.fwk.enums.LauncherDeliveryMode;
+import com.automacent.fwk.launcher.LauncherSpool.Position;
+import com.automacent.fwk.reporting.Logger;
+
+/**
+ * Pushes the launcher events left in a {@link LauncherSpool} by a finished run
+ * to the launcher clients. This is used when the launcher server was not
+ * available during a run with {@link LauncherDeliveryMode#SPOOL}.
+ *
+ * The launcher client classes recorded in the spool must be in the classpath.
+ * Events are delivered from the position saved in the delivered.offset file,
+ * so the replay can be run again after a failure
+ *
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.automacent.fwk.launcher.LauncherSpoolReplay [spool directory]
+ * </pre>
+ *
+ * @author sighil.sivadas
+ */
+public class LauncherSpoolReplay {
+
+	private static final Logger _logger = Logger.getLogger(LauncherSpoolReplay.class);
+
+	private static final int MAX_ATTEMPTS = 5;
+
+	private final Path directory;
+	private final Map<String, ILauncherClient> launcherClients = new HashMap<>();
+	private int deliveredRecords = 0;
+
+	/**
+	 * @param directory Spool directory
+	 */
+	public LauncherSpoolReplay(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Deliver the events in the spool. Each record is attempted a few times with
+	 * backoff before the replay stops
+	 *
+	 * @return true if the whole spool is delivered
+	 * @throws IOException on failure to read the spool
+	 */
+	public boolean replay() throws IOException {
+		if (!Files.isDirectory(directory))
+			throw new IOException(String.format("Launcher spool %s not found", directory));
+		Position start = LauncherSpool.readOffset(directory);
+		Position end = LauncherSpool.readEnd(directory, start);
+		Position delivered = LauncherSpool.deliver(directory, start, end, this::deliver);
+		_logger.info(String.format("%s launcher spool records delivered from %s", deliveredRecords, directory));
+		return delivered.equals(end);
+	}
+
+	private boolean deliver(LauncherSpool.SpoolRecord spoolRecord) {
+		ILauncherClient launcherClient = LauncherSpool.getReplayLauncherClient(launcherClients, spoolRecord);
+		if (launcherClient == null)
+			return false;
+		for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+			if (LauncherSpool.deliver(launcherClient, spoolRecord)) {
+				deliveredRecords++;
+				return true;
+			}
+			if (attempt < MAX_ATTEMPTS)
+				try {
+					Thread.sleep(1000L << attempt);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+		}
+		return false;
+	}
+
+	/**
+	 * Replay the spool given as the first argument. The spool of the report
+	 * directory set in the automacent.reportdir system property is replayed if no
+	 * argument is given
+	 *
+	 * @param args Spool directory
+	 */
+	public static void main(String[] args) {
+		Path directory = args.length > 0 ? Paths.get(args[0]) : LauncherSpool.getDefaultDirectory();
+		boolean delivered;
+		try {
+			delivered = new LauncherSpoolReplay(directory).replay();
+		} catch (IOException e) {
+			_logger.error(String.format("Error replaying launcher spool %s", directory), e);
+			delivered = false;
+		}
+		if (!delivered) {
+			_logger.error(String.format("Launcher spool %s is not fully delivered. Run the replay again", directory));
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package com.automacent.fwk.launcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.testng.ITestContext;
+
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.TestStatus;
+import com.automacent.fwk.exceptions.LauncherForceCompletedException;
+import com.automacent.fwk.reporting.Logger;
+
+/**
+ * Reference {@link AbstractLauncherClient} which updates the results to a
+ * launcher server over REST. The server URL is read from the
+ * automacent.launcher.url system property. The endpoints used are
+ *
+ * <pre>
+ * POST /api/testinstances                  {"name": ...}        -&gt; {"id": ..., "status": "RUNNING"}
+ * POST /api/testinstances/{id}/events      [{event}, ...]       -&gt; {"received": ...}
+ * POST /api/testinstances/{id}/heartbeat                        -&gt; {"status": ...}
+ * POST /api/testinstances/{id}/performance {method: {...}}      -&gt; {}
+ * POST /api/testinstances/{id}/stop                             -&gt; {"status": "COMPLETED"}
+ * </pre>
+ *
+ * Events are sent in batches through {@link #logBatch(List)}. Failed requests
+ * throw {@link RestClientException} so that the {@link LauncherSpool} retries
+ * them
+ *
+ * @author sighil.sivadas
+ */
+public class RestLauncherClient extends AbstractLauncherClient {
+
+	private static final Logger _logger = Logger.getLogger(RestLauncherClient.class);
+
+	private static final String RUNNING = "RUNNING";
+	private static final int TIMEOUT_IN_MILLISECONDS = 30000;
+
+	private static final RestTemplate restTemplate = newRestTemplate();
+
+	private static RestTemplate newRestTemplate() {
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(TIMEOUT_IN_MILLISECONDS);
+		requestFactory.setReadTimeout(TIMEOUT_IN_MILLISECONDS);
+		return new RestTemplate(requestFactory);
+	}
+
+	private final String url = System.getProperty("automacent.launcher.url", "http://localhost:8089");
+
+	/**
+	 * @return URL of the launcher server
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	@Override
+	protected HttpHeaders getHeaders() {
+		HttpHeaders headers = super.getHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return headers;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> post(String path, Object body) {
+		Map<String, Object> response = restTemplate.postForObject(url + path, new HttpEntity<>(body, getHeaders()),
+				Map.class);
+		return response == null ? Collections.emptyMap() : response;
+	}
+
+	private String getTestInstancePath(String path) {
+		return String.format("/api/testinstances/%s/%s", getTestInstanceId(), path);
+	}
+
+	/**
+	 * Create the test instance in the launcher server. The client is disabled if
+	 * the server is not reachable
+	 */
+	@Override
+	public void startTest(ITestContext testContext) {
+		if (!isEnabled())
+			return;
+		Map<String, Object> request = new LinkedHashMap<>();
+		request.put("name", testContext == null ? null : testContext.getName());
+		try {
+			setTestInstanceId(String.valueOf(post("/api/testinstances", request).get("id")));
+			_logger.debug(String.format("Test instance %s started in launcher %s", getTestInstanceId(), url));
+		} catch (RestClientException e) {
+			_logger.warn(String.format("Error starting test instance in launcher %s. Launcher client is disabled",
+					url), e);
+			disableClient();
+		}
+	}
+
+	@Override
+	public void logBatch(List<LauncherEvent> launcherEvents) {
+		if (!isEnabled() || launcherEvents.isEmpty())
+			return;
+		List<Map<String, Object>> request = new ArrayList<>(launcherEvents.size());
+		for (LauncherEvent launcherEvent : launcherEvents)
+			request.add(toMap(launcherEvent));
+		post(getTestInstancePath("events"), request);
+	}
+
+	private static Map<String, Object> toMap(LauncherEvent launcherEvent) {
+		Map<String, Object> event = new LinkedHashMap<>();
+		event.put("type", launcherEvent.getType());
+		event.put("method", launcherEvent.getMethodName());
+		event.put("methodType", launcherEvent.getMethodType());
+		event.put("iteration", launcherEvent.getIteration());
+		event.put("status", launcherEvent.getTestStatus());
+		event.put("duration", launcherEvent.getDuration());
+		event.put("timestamp", launcherEvent.getTimestamp());
+		if (launcherEvent.getThrowable() != null)
+			event.put("error", String.valueOf(launcherEvent.getThrowable()));
+		return event;
+	}
+
+	@Override
+	public void logStart(String methodWithArguments, MethodType methodType) {
+		logBatch(Collections.singletonList(LauncherEvent.start(methodWithArguments, methodType)));
+	}
+
+	@Override
+	public void logEnd(String methodWithArguments, MethodType methodType, TestStatus testStatus, long duration,
+			Throwable t) {
+		logBatch(Collections.singletonList(
+				LauncherEvent.end(methodWithArguments, methodType, testStatus, duration, t)));
+	}
+
+	@Override
+	public void logSuccess(String methodName, MethodType methodType, int iteration, long duration) {
+		logBatch(Collections.singletonList(LauncherEvent.success(methodName, methodType, iteration, duration)));
+	}
+
+	@Override
+	public void logFailure(String methodName, MethodType methodType, int iteration, Throwable e, long duration) {
+		logBatch(Collections.singletonList(LauncherEvent.failure(methodName, methodType, iteration, e, duration)));
+	}
+
+	@Override
+	public void ping() throws LauncherForceCompletedException {
+		if (!isEnabled())
+			return;
+		Object status = post(getTestInstancePath("heartbeat"), null).get("status");
+		if (status != null && !RUNNING.equals(status))
+			throw new LauncherForceCompletedException(
+					String.format("Test instance %s is %s", getTestInstanceId(), status));
+	}
+
+	@Override
+	public void logPerformance() {
+		if (isEnabled())
+			post(getTestInstancePath("performance"), null);
+	}
+
+	@Override
+	public void logPerformance(Map<String, Map<String, Object>> latencySummary) {
+		if (isEnabled())
+			post(getTestInstancePath("performance"), latencySummary);
+	}
+
+	@Override
+	public void stopTest() {
+		if (isEnabled())
+			post(getTestInstancePath("stop"), null);
+	}
+}
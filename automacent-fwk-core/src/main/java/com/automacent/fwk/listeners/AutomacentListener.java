@@ -1,5 +1,6 @@
 package com.automacent.fwk.listeners;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -19,17 +20,29 @@ import org.testng.TestNGException;
 
 import com.automacent.fwk.annotations.StepsAndPagesProcessor;
 import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.core.DriverPool;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.enums.DriverResolutionMode;
+import com.automacent.fwk.enums.ErrorCode;
+import com.automacent.fwk.enums.LauncherDeliveryMode;
 import com.automacent.fwk.enums.RepeatMode;
+import com.automacent.fwk.enums.ReportSinkType;
 import com.automacent.fwk.enums.RetryMode;
+import com.automacent.fwk.enums.ScreenshotFormat;
 import com.automacent.fwk.enums.ScreenshotMode;
 import com.automacent.fwk.enums.ScreenshotModeForIteration;
 import com.automacent.fwk.enums.ScreenshotType;
 import com.automacent.fwk.exceptions.TestOrConfigurationSkipException;
 import com.automacent.fwk.execution.IterationManager;
+import com.automacent.fwk.execution.LatencyRecorder;
 import com.automacent.fwk.launcher.LauncherClientManager;
+import com.automacent.fwk.launcher.LauncherHeartBeat;
 import com.automacent.fwk.reporting.ExecutionLogManager;
 import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.reporting.ReportSinkManager;
 import com.automacent.fwk.reporting.ReportingTools;
+import com.automacent.fwk.rest.RestClientMetrics;
+import com.automacent.fwk.utils.EnumUtils;
 import com.automacent.fwk.utils.FileUtils;
 import com.automacent.fwk.utils.ThreadUtils;
 
@@ -49,11 +62,14 @@ public class AutomacentListener extends TestListenerAdapter
 	private static final Logger _logger = Logger.getLogger(AutomacentListener.class);
 
 	/**
-	 * Override method for onStart where we start the {@link IterationManager} class
-	 * to track the iteration and time.
+	 * Override method for onStart where we bind a new {@link ExecutionContext} to
+	 * the thread and start the {@link IterationManager} class to track the
+	 * iteration and time. The {@link LauncherHeartBeat} of the test is started
+	 * once the test is started in the launcher clients.
 	 */
 	@Override
 	public void onStart(ITestContext testContext) {
+		ExecutionContext.bind();
 		_logger.info("----------------- Starting XML Test -------------------");
 		_logger.info(String.format("XML Test    : %s", testContext.getCurrentXmlTest().getName()));
 		_logger.info(String.format("Thread Name : %s", ThreadUtils.getThreadName()));
@@ -62,6 +78,8 @@ public class AutomacentListener extends TestListenerAdapter
 		_logger.debug("Starting timekeeper " + IterationManager.getManager().getElapsedTimeInMilliSeconds());
 		LauncherClientManager.getManager().enableClient();
 		LauncherClientManager.getManager().startTest(testContext);
+		if (LauncherClientManager.getManager().isEnabled())
+			LauncherHeartBeat.getManager().start(LauncherClientManager.getManager().getLauncherClients());
 		super.onStart(testContext);
 	}
 
@@ -105,6 +123,9 @@ public class AutomacentListener extends TestListenerAdapter
 		setDefaultParameters(parameters, "launcherClients", "");
 		setDefaultParameters(parameters, "runName", "");
 		setDefaultParameters(parameters, "batchNumber", "");
+		setDefaultParameters(parameters, "launcherBatchSize", "50");
+		setDefaultParameters(parameters, "launcherFlushIntervalInMilliSeconds", "1000");
+		setDefaultParameters(parameters, "launcherDeliveryMode", LauncherDeliveryMode.getDefault().name());
 
 		// automacentInternalSetParameters ----------------
 
@@ -112,6 +133,11 @@ public class AutomacentListener extends TestListenerAdapter
 		setDefaultParameters(parameters, "testDurationInSeconds", "0");
 		setDefaultParameters(parameters, "invocationCount", "0");
 		setDefaultParameters(parameters, "delayBetweenIterationInSeconds", "0");
+		setDefaultParameters(parameters, "concurrency", "1");
+		setDefaultParameters(parameters, "iterationsPerMinute", "0");
+		setDefaultParameters(parameters, "rampUpDurationInSeconds", "0");
+		setDefaultParameters(parameters, "rampDownDurationInSeconds", "0");
+		setDefaultParameters(parameters, "recordLatency", "false");
 		setDefaultParameters(parameters, "timeoutInSeconds", "20");
 		setDefaultParameters(parameters, "slowdownDurationInSeconds", "0");
 		setDefaultParameters(parameters, "retryMode", RetryMode.OFF.name());
@@ -125,6 +151,9 @@ public class AutomacentListener extends TestListenerAdapter
 		setDefaultParameters(parameters, "scriptTimeoutInSeconds", "300");
 		setDefaultParameters(parameters, "pageLoadTimeoutInSeconds", "300");
 		setDefaultParameters(parameters, "socketTimeoutInSeconds", "300");
+		setDefaultParameters(parameters, "driverPoolSize", "0");
+		setDefaultParameters(parameters, "driverPoolMaxLeases", "20");
+		setDefaultParameters(parameters, "driverResolutionMode", DriverResolutionMode.getDefault().name());
 
 		// automacentInternalSetWebTestParameters ---------
 
@@ -135,8 +164,17 @@ public class AutomacentListener extends TestListenerAdapter
 		setDefaultParameters(parameters, "screenshotMode", ScreenshotMode.ON_FAILURE.name());
 		setDefaultParameters(parameters, "screenshotModeForIteration",
 				ScreenshotModeForIteration.LAST_ITERATION.name());
+		setDefaultParameters(parameters, "screenshotFormat", ScreenshotFormat.getDefault().name());
+		setDefaultParameters(parameters, "screenshotQuality", "80");
+		setDefaultParameters(parameters, "screenshotThumbnailWidth", "0");
+		setDefaultParameters(parameters, "screenshotBufferSizeInMB", "32");
 		setDefaultParameters(parameters, "baseUrl", "");
 
+		// Reporting --------------------------------------
+
+		setDefaultParameters(parameters, "reportSink", ReportSinkType.getDefault().name());
+		setReportSink(parameters.get("reportSink"));
+
 		_logger.info("Setup default framework parameters completed");
 
 		_logger.info("Setting up global test parameters (Environment variables starting with automacent.global.<key>)");
@@ -146,6 +184,38 @@ public class AutomacentListener extends TestListenerAdapter
 		suite.getXmlSuite().setParameters(parameters);
 	}
 
+	/**
+	 * Set the {@link ReportSinkType} for the suite. If the value is invalid, the
+	 * default {@link ReportSinkType} is used
+	 * 
+	 * @param reportSink {@link ReportSinkType} name
+	 */
+	private void setReportSink(String reportSink) {
+		ReportSinkType reportSinkType = EnumUtils.getEnumFromString(ReportSinkType.class, reportSink);
+		if (reportSinkType == null) {
+			_logger.warn(String.format("%s for reportSink. Expected one of %s. Got %s",
+					ErrorCode.INVALID_PARAMETER_VALUE.name(),
+					Arrays.toString(EnumUtils.getEnumNames(ReportSinkType.class)), reportSink));
+			reportSinkType = ReportSinkType.getDefault();
+		}
+		ReportSinkManager.getManager().setReportSinkType(reportSinkType);
+	}
+
+	/**
+	 * Override {@link ISuiteListener#onFinish(ISuite)} method to complete the
+	 * report of the suite in the {@link ReportSinkManager} and the delivery of
+	 * launcher events, to quit the browser sessions in the {@link DriverPool} and
+	 * to log the {@link RestClientMetrics}
+	 */
+	@Override
+	public void onFinish(ISuite suite) {
+		ReportSinkManager.getManager().close();
+		LauncherClientManager.getManager().close();
+		DriverPool.getPool().close();
+		RestClientMetrics.getMetrics().logMetrics();
+		ISuiteListener.super.onFinish(suite);
+	}
+
 	/**
 	 * Override method for onTestFailure in the TestNG library. Override is done to
 	 * log test skips and test failure
@@ -189,15 +259,27 @@ public class AutomacentListener extends TestListenerAdapter
 
 	/**
 	 * Override method for onFinish in the TestNG library. Override is done to log
-	 * the iteration details and screenshot management according to the set
-	 * {@link ScreenshotModeForIteration} parameter.
+	 * the iteration details and the latency summary, and for screenshot
+	 * management according to the set {@link ScreenshotModeForIteration}
+	 * parameter. The {@link ExecutionContext} of the XML test is removed from the
+	 * thread once done.
 	 */
 	@Override
 	public void onFinish(ITestContext testContext) {
-		ExecutionLogManager.logIterationDetails();
-		ReportingTools.wipeScreenshotEntryInReports();
-		LauncherClientManager.getManager().stopTest();
-		super.onFinish(testContext);
+		try {
+			ExecutionLogManager.logIterationDetails();
+			ExecutionLogManager.logLatencySummary();
+			ReportingTools.flushScreenshots();
+			ReportingTools.wipeScreenshotEntryInReports();
+			ReportSinkManager.getManager().flush();
+			LauncherHeartBeat.getManager().stop();
+			if (BaseTest.getTestObject().isRecordLatency() && !LatencyRecorder.getRecorder().isEmpty())
+				LauncherClientManager.getManager().logPerformance(LatencyRecorder.getRecorder().getSummary());
+			LauncherClientManager.getManager().stopTest();
+			super.onFinish(testContext);
+		} finally {
+			ExecutionContext.unbind();
+		}
 	}
 
 	@Override
@@ -3,7 +3,6 @@ package com.automacent.fwk.reporting;
 import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.annotations.Test;
@@ -18,10 +17,11 @@ import com.automacent.fwk.enums.ScreenshotMode;
 import com.automacent.fwk.enums.TestStatus;
 import com.automacent.fwk.execution.ExceptionManager;
 import com.automacent.fwk.execution.IterationManager;
+import com.automacent.fwk.execution.LatencyRecorder;
+import com.automacent.fwk.execution.MethodArguments;
+import com.automacent.fwk.execution.MethodMetadata;
 import com.automacent.fwk.launcher.LauncherClientManager;
 import com.automacent.fwk.listeners.AutomacentListener;
-import com.automacent.fwk.utils.AspectJUtils;
-import com.automacent.fwk.utils.LoggingUtils;
 
 /**
  * Class which handles logging for {@link Action}, {@link Step}, {@link Test},
@@ -42,14 +42,21 @@ public class ExecutionLogManager {
 	 * @param methodType {@link MethodType}
 	 */
 	public static void logMethodStart(ProceedingJoinPoint point, MethodType methodType) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-				.info(String.format("%s%s", LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)));
-		LauncherClientManager.getManager()
-				.logStart(String.format("%s%s",
-						LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)), methodType);
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		logMethodStart(metadata, new MethodArguments(metadata, point), methodType);
+	}
+
+	/**
+	 * Log start of Step/Action method
+	 * 
+	 * @param metadata   {@link MethodMetadata} of the method
+	 * @param arguments  {@link MethodArguments} of the invocation
+	 * @param methodType {@link MethodType}
+	 */
+	public static void logMethodStart(MethodMetadata metadata, MethodArguments arguments, MethodType methodType) {
+		metadata.getLogger().info(arguments.getMethodNameWithArguments());
+		if (LauncherClientManager.getManager().isEnabled())
+			LauncherClientManager.getManager().logStart(arguments.getMethodNameWithArguments(), methodType);
 	}
 
 	/**
@@ -65,16 +72,30 @@ public class ExecutionLogManager {
 	 */
 	public static void logMethodEnd(ProceedingJoinPoint point, MethodType methodType, TestStatus testStatus,
 			long duration, Object result, Throwable t) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		if (methodName.startsWith("is"))
-			Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-					.info(String.format("%s %s",
-							LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-							result != null ? result.toString() : ""));
-		LauncherClientManager.getManager()
-				.logEnd(String.format("%s%s",
-						LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)), methodType, testStatus, duration, t);
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		logMethodEnd(metadata, new MethodArguments(metadata, point), methodType, testStatus, duration, result, t);
+	}
+
+	/**
+	 * 
+	 * Log end of Step/Action method
+	 * 
+	 * @param metadata   {@link MethodMetadata} of the method
+	 * @param arguments  {@link MethodArguments} of the invocation
+	 * @param methodType {@link MethodType}
+	 * @param testStatus {@link TestStatus}
+	 * @param duration   Execution duration for method in milliseconds
+	 * @param result     {@link ProceedingJoinPoint execution result}
+	 * @param t          {@link Throwable}
+	 */
+	public static void logMethodEnd(MethodMetadata metadata, MethodArguments arguments, MethodType methodType,
+			TestStatus testStatus, long duration, Object result, Throwable t) {
+		if (metadata.isQuestion())
+			metadata.getLogger().info(String.format("%s %s", metadata.getDisplayName(),
+					result != null ? result.toString() : ""));
+		if (LauncherClientManager.getManager().isEnabled())
+			LauncherClientManager.getManager().logEnd(arguments.getMethodNameWithArguments(), methodType, testStatus,
+					duration, t);
 	}
 
 	/**
@@ -84,16 +105,10 @@ public class ExecutionLogManager {
 	 * @param methodType {@link MethodType}
 	 */
 	public static void logTestStart(ProceedingJoinPoint point, MethodType methodType) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-				.infoHeading(
-						String.format("%s%s",
-								LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-								AspectJUtils.getArguments(point)));
-		LauncherClientManager.getManager()
-				.logStart(String.format("%s%s",
-						LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)), methodType);
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		MethodArguments arguments = new MethodArguments(metadata, point);
+		metadata.getLogger().infoHeading(arguments.getMethodNameWithArguments());
+		LauncherClientManager.getManager().logStart(arguments.getMethodNameWithArguments(), methodType);
 	}
 
 	/**
@@ -104,14 +119,11 @@ public class ExecutionLogManager {
 	 * @param duration   Execution duration for method in milliseconds
 	 */
 	public static void logTestSuccess(ProceedingJoinPoint point, MethodType methodType, long duration) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-				.infoHeading(String.format("%s completed successfully",
-						LoggingUtils.addSpaceToCamelCaseString(LoggingUtils.addGrammer(methodName))));
-		LauncherClientManager.getManager()
-				.logEnd(String.format("%s%s",
-						LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)), methodType, TestStatus.PASS, duration, null);
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		String methodName = metadata.getMethodName();
+		metadata.getLogger().infoHeading(String.format("%s completed successfully", metadata.getDisplayName()));
+		LauncherClientManager.getManager().logEnd(new MethodArguments(metadata, point).getMethodNameWithArguments(),
+				methodType, TestStatus.PASS, duration, null);
 		if (methodType.equals(MethodType.TEST) && !BaseTest.getTestObject().getRepeatMode().equals(RepeatMode.OFF))
 			return;
 		LauncherClientManager.getManager().logSuccess(methodName, methodType, 0, duration);
@@ -126,10 +138,9 @@ public class ExecutionLogManager {
 	 * @param duration   Duration of Execution of method
 	 */
 	public static void logTestFailure(ProceedingJoinPoint point, MethodType methodType, Throwable e, long duration) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType()).error(
-				String.format("%s failed", LoggingUtils.addSpaceToCamelCaseString(LoggingUtils.addGrammer(methodName))),
-				e);
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		String methodName = metadata.getMethodName();
+		metadata.getLogger().error(String.format("%s failed", metadata.getDisplayName()), e);
 
 		if (BaseTest.getTestObject().getScreenshotModes().contains(ScreenshotMode.ON_FAILURE))
 			if (ExceptionManager.isSocketTimeoutException(e))
@@ -137,10 +148,8 @@ public class ExecutionLogManager {
 			else
 				ReportingTools.logScreenshotOnFailure("Test failed : " + e.getMessage());
 
-		LauncherClientManager.getManager()
-				.logEnd(String.format("%s%s",
-						LoggingUtils.addGrammer(LoggingUtils.addSpaceToCamelCaseString(methodName)),
-						AspectJUtils.getArguments(point)), methodType, TestStatus.FAIL, duration, e);
+		LauncherClientManager.getManager().logEnd(new MethodArguments(metadata, point).getMethodNameWithArguments(),
+				methodType, TestStatus.FAIL, duration, e);
 
 		if (methodType.equals(MethodType.TEST) && !BaseTest.getTestObject().getRepeatMode().equals(RepeatMode.OFF))
 			return;
@@ -207,9 +216,9 @@ public class ExecutionLogManager {
 	 * @param duration Execution duration for method in milliseconds
 	 */
 	public static void logIterationSuccess(ProceedingJoinPoint point, long duration) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-				.info(String.format("iteration %s for %s method %s succeeded",
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		String methodName = metadata.getMethodName();
+		metadata.getLogger().info(String.format("iteration %s for %s method %s succeeded",
 						IterationManager.getManager().getIteration(), MethodType.TEST.name(), methodName));
 		LauncherClientManager.getManager().logSuccess(methodName, MethodType.TEST,
 				IterationManager.getManager().getIteration(), duration);
@@ -227,9 +236,9 @@ public class ExecutionLogManager {
 	 * @param duration Duration of Execution of iteration
 	 */
 	public static void logIterationFailure(ProceedingJoinPoint point, Throwable e, long duration) {
-		String methodName = MethodSignature.class.cast(point.getSignature()).getMethod().getName();
-		Logger.getLogger(MethodSignature.class.cast(point.getSignature()).getDeclaringType())
-				.error(String.format("Execution failed for %s method %s, iteration %s", MethodType.TEST.name(),
+		MethodMetadata metadata = MethodMetadata.getMetadata(point);
+		String methodName = metadata.getMethodName();
+		metadata.getLogger().error(String.format("Execution failed for %s method %s, iteration %s", MethodType.TEST.name(),
 						methodName, IterationManager.getManager().getIteration(), e.getMessage(), e.getStackTrace()),
 						e);
 
@@ -281,18 +290,40 @@ public class ExecutionLogManager {
 	 */
 	public static void logIterationDetails() {
 		if (BaseTest.getTestObject().getRepeatMode() != RepeatMode.OFF) {
-			String message = "Total Iteration Run " + IterationManager.getManager().getIteration();
+			String message = "Total Iteration Run " + IterationManager.getManager().getTotalIterations();
 
 			if (BaseTest.getTestObject().getRepeatMode() == RepeatMode.TEST_DURATION)
 				message += " [Elapsed Time: "
 						+ TimeUnit.MILLISECONDS.toSeconds(IterationManager.getManager().getElapsedTimeInMilliSeconds())
 						+ "/" + BaseTest.getTestObject().getTestDurationInSeconds() + " seconds]";
 			else
-				message += " of " + BaseTest.getTestObject().getInvocationCount();
+				message += " of " + BaseTest.getTestObject().getInvocationCount()
+						* BaseTest.getTestObject().getConcurrency();
+
+			if (BaseTest.getTestObject().getIterationsPerMinute() > 0)
+				message += String.format(" [Pacing: %s iterations/minute, Schedule lag avg/max: %s/%s ms]",
+						BaseTest.getTestObject().getIterationsPerMinute(),
+						IterationManager.getManager().getAverageScheduleLagInMilliSeconds(),
+						IterationManager.getManager().getMaxScheduleLagInMilliSeconds());
 
 			_logger.infoHeading(message);
 		} else {
 			_logger.infoHeading("No Iterations run");
 		}
 	}
+
+	/**
+	 * Log the latency percentiles of the {@link Step} methods after Test
+	 * completion, if latency recording is enabled
+	 */
+	public static void logLatencySummary() {
+		if (!BaseTest.getTestObject().isRecordLatency() || LatencyRecorder.getRecorder().isEmpty())
+			return;
+		LatencyRecorder latencyRecorder = LatencyRecorder.getRecorder();
+		_logger.infoHeading(String.format("Step latency over %.1f seconds",
+				latencyRecorder.getElapsedTimeInSeconds()));
+		latencyRecorder.getLatencyHistograms().keySet().stream().sorted()
+				.forEach(name -> _logger.info(String.format("%s : %s, failures %s", name,
+						latencyRecorder.getLatencyHistograms().get(name), latencyRecorder.getFailures(name))));
+	}
 }
@@ -0,0 +1,54 @@
+package com.automacent.fwk.reporting;
+
+import org.testng.ITestResult;
+
+import com.automacent.fwk.enums.ReportSinkType;
+
+/**
+ * Destination of the HTML report entries produced by {@link ReportingTools}.
+ * The sink in use is selected with the {@link ReportSinkType} suite parameter
+ *
+ * @author sighil.sivadas
+ */
+public interface IReportSink {
+
+	/**
+	 * Write an HTML entry to the report of the current test
+	 *
+	 * @param html HTML entry
+	 */
+	void log(String html);
+
+	/**
+	 * Write a screenshot entry to the report of the test. Screenshot entries are
+	 * written once the screenshot file is saved, which may be on a thread other
+	 * than the test thread, hence the test is passed explicitly. Screenshot
+	 * entries can be removed later with
+	 * {@link #wipeScreenshotEntries(String, int)}
+	 *
+	 * @param html       HTML entry
+	 * @param testName   Name of the test
+	 * @param iteration  Iteration in which the screenshot is taken
+	 * @param testResult {@link ITestResult} of the test method in which the
+	 *                   screenshot is taken. Null if taken outside a test method
+	 */
+	void logScreenshot(String html, String testName, int iteration, ITestResult testResult);
+
+	/**
+	 * Remove the screenshot entries of the iteration from the report of the test
+	 *
+	 * @param testName  Name of the test
+	 * @param iteration Iteration number
+	 */
+	void wipeScreenshotEntries(String testName, int iteration);
+
+	/**
+	 * Write the buffered entries. Called at the end of each XML test
+	 */
+	void flush();
+
+	/**
+	 * Complete the report. Called at the end of the suite
+	 */
+	void close();
+}
@@ -0,0 +1,151 @@
+package com.automacent.fwk.reporting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies recorded concurrently by many threads. Latencies are
+ * counted in log-linear buckets of microseconds: every power of two range is
+ * split in 64 equal buckets, so that percentiles are reported within 1.6% of
+ * the recorded value from microseconds to hours, with a fixed memory footprint
+ * and without locking while recording
+ * 
+ * @author sighil.sivadas
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT
+			+ (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+	private static final double NANOSECONDS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanoSeconds = new LongAdder();
+	private final LongAccumulator maxNanoSeconds = new LongAccumulator(Long::max, 0);
+
+	/**
+	 * Record a latency
+	 * 
+	 * @param nanoSeconds Latency in nanoseconds
+	 */
+	public void record(long nanoSeconds) {
+		if (nanoSeconds < 0)
+			nanoSeconds = 0;
+		counts.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMicros(nanoSeconds)));
+		count.increment();
+		totalNanoSeconds.add(nanoSeconds);
+		maxNanoSeconds.accumulate(nanoSeconds);
+	}
+
+	/**
+	 * Add the latencies recorded in the other histogram to this histogram
+	 * 
+	 * @param latencyHistogram {@link LatencyHistogram}
+	 */
+	public void add(LatencyHistogram latencyHistogram) {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			long bucketCount = latencyHistogram.counts.get(bucket);
+			if (bucketCount > 0)
+				counts.addAndGet(bucket, bucketCount);
+		}
+		count.add(latencyHistogram.count.sum());
+		totalNanoSeconds.add(latencyHistogram.totalNanoSeconds.sum());
+		maxNanoSeconds.accumulate(latencyHistogram.maxNanoSeconds.get());
+	}
+
+	private static int getBucket(long microSeconds) {
+		if (microSeconds < SUB_BUCKET_COUNT)
+			return (int) microSeconds;
+		int shift = Long.SIZE - Long.numberOfLeadingZeros(microSeconds) - SUB_BUCKET_BITS;
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+				+ (int) (microSeconds >>> shift) - SUB_BUCKET_HALF_COUNT;
+	}
+
+	/**
+	 * @return Highest latency in microseconds counted in the bucket
+	 */
+	private static long getHighestMicroSeconds(int bucket) {
+		if (bucket < SUB_BUCKET_COUNT)
+			return bucket;
+		int shift = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+		long subBucket = (bucket - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	/**
+	 * @return Number of latencies recorded
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return Mean latency in milliseconds
+	 */
+	public double getMeanInMilliSeconds() {
+		long recorded = count.sum();
+		return recorded == 0 ? 0 : totalNanoSeconds.sum() / (double) recorded / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	/**
+	 * @return Highest latency in milliseconds
+	 */
+	public double getMaxInMilliSeconds() {
+		return maxNanoSeconds.get() / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	/**
+	 * Get the latency at or below which the given percentage of the latencies
+	 * fall
+	 * 
+	 * @param percentile Percentile between 0 and 100
+	 * @return Latency in milliseconds
+	 */
+	public double getPercentileInMilliSeconds(double percentile) {
+		long total = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+			total += counts.get(bucket);
+		if (total == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			seen += counts.get(bucket);
+			if (seen >= rank)
+				return Math.min(getHighestMicroSeconds(bucket) / 1000.0, getMaxInMilliSeconds());
+		}
+		return getMaxInMilliSeconds();
+	}
+
+	/**
+	 * @return Count, mean, p50, p90, p99 and max in milliseconds
+	 */
+	public Map<String, Object> getSummary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", getCount());
+		summary.put("mean", round(getMeanInMilliSeconds()));
+		summary.put("p50", round(getPercentileInMilliSeconds(50)));
+		summary.put("p90", round(getPercentileInMilliSeconds(90)));
+		summary.put("p99", round(getPercentileInMilliSeconds(99)));
+		summary.put("max", round(getMaxInMilliSeconds()));
+		return summary;
+	}
+
+	private static double round(double milliSeconds) {
+		return Math.round(milliSeconds * 1000) / 1000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count %s, mean %.1f ms, p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms", getCount(),
+				getMeanInMilliSeconds(), getPercentileInMilliSeconds(50), getPercentileInMilliSeconds(90),
+				getPercentileInMilliSeconds(99), getMaxInMilliSeconds());
+	}
+}
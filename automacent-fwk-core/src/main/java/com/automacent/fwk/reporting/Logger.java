@@ -3,6 +3,9 @@ package com.automacent.fwk.reporting;
 import static com.automacent.fwk.enums.LogType.HTML;
 import static com.automacent.fwk.enums.LogType.TEXT;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.logging.log4j.LogManager;
 
 import com.automacent.fwk.utils.LoggingUtils;
@@ -15,6 +18,10 @@ import com.automacent.fwk.utils.LoggingUtils;
  */
 public class Logger {
 
+	private static final Map<Class<?>, Logger> loggerCache = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Logger> backgroundLoggerCache = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Boolean> backgroundThread = ThreadLocal.withInitial(() -> false);
+
 	protected org.apache.logging.log4j.Logger _logger;
 
 	protected Logger(Class<?> classToLog) {
@@ -25,8 +32,52 @@ public class Logger {
 		_logger = LogManager.getLogger(classToLog);
 	}
 
+	/**
+	 * Get the {@link Logger} for the class. Loggers are cached per class
+	 * 
+	 * @param classToLog Class for which logs are written
+	 * @return {@link Logger}
+	 */
 	public static Logger getLogger(Class<?> classToLog) {
-		return new Logger(classToLog);
+		Logger logger = loggerCache.get(classToLog);
+		if (logger == null)
+			logger = loggerCache.computeIfAbsent(classToLog, Logger::new);
+		return logger;
+	}
+
+	/**
+	 * Get the {@link Logger} for logging from background threads of the framework,
+	 * like the screenshot writer, launcher event dispatcher and schedulers. The
+	 * logger writes to the Log4J log only. Messages are not written to the HTML
+	 * report, since no test is executing on the background thread and logging to
+	 * the report would bind a stray test context to it. Loggers are cached per
+	 * class
+	 * 
+	 * @param classToLog Class for which logs are written
+	 * @return {@link Logger}
+	 */
+	public static Logger getBackgroundLogger(Class<?> classToLog) {
+		Logger logger = backgroundLoggerCache.get(classToLog);
+		if (logger == null)
+			logger = backgroundLoggerCache.computeIfAbsent(classToLog, BackgroundLogger::new);
+		return logger;
+	}
+
+	/**
+	 * Mark the current thread as a background thread of the framework. Messages
+	 * logged on the thread by any {@link Logger} are written to the Log4J log
+	 * only, as with {@link #getBackgroundLogger(Class)}. Used for threads running
+	 * framework code which also runs on the test threads, like starting browsers
+	 */
+	public static void setBackgroundThread() {
+		backgroundThread.set(true);
+	}
+
+	/**
+	 * @return True if the message is to be written to the HTML report as well
+	 */
+	private static boolean isReported() {
+		return !backgroundThread.get();
 	}
 
 	/**
@@ -83,7 +134,7 @@ public class Logger {
 	public void trace(String message) {
 		_logger.trace(formatMessageForText(message));
 		String level = _logger.getLevel().toString();
-		if (level.equalsIgnoreCase("TRACE"))
+		if (isReported() && level.equalsIgnoreCase("TRACE"))
 			ReportingTools.logMessage(formatMessageForHTML(message));
 	}
 
@@ -95,7 +146,7 @@ public class Logger {
 	public void debug(String message) {
 		_logger.debug(formatMessageForText(message));
 		String level = _logger.getLevel().toString();
-		if (level.equalsIgnoreCase("DEBUG") || level.equalsIgnoreCase("TRACE"))
+		if (isReported() && (level.equalsIgnoreCase("DEBUG") || level.equalsIgnoreCase("TRACE")))
 			ReportingTools.logMessage(formatMessageForHTML(message));
 	}
 
@@ -106,7 +157,8 @@ public class Logger {
 	 */
 	public void info(String message) {
 		_logger.info(formatMessageForText(message));
-		ReportingTools.logMessage(formatMessageForHTML(message));
+		if (isReported())
+			ReportingTools.logMessage(formatMessageForHTML(message));
 	}
 
 	/**
@@ -116,7 +168,8 @@ public class Logger {
 	 */
 	public void warn(String message) {
 		_logger.warn(formatMessageForText(message));
-		ReportingTools.logWarnMessage(formatMessageForHTML(message));
+		if (isReported())
+			ReportingTools.logWarnMessage(formatMessageForHTML(message));
 	}
 
 	/**
@@ -127,7 +180,8 @@ public class Logger {
 	 */
 	public void warn(String message, Throwable throwable) {
 		_logger.warn(formatMessageForText(message), throwable);
-		ReportingTools.logWarnMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
+		if (isReported())
+			ReportingTools.logWarnMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
 	}
 
 	/**
@@ -137,7 +191,8 @@ public class Logger {
 	 */
 	public void error(String message) {
 		_logger.error(formatMessageForText(message));
-		ReportingTools.logErrorMessage(formatMessageForHTML(message));
+		if (isReported())
+			ReportingTools.logErrorMessage(formatMessageForHTML(message));
 	}
 
 	/**
@@ -148,7 +203,8 @@ public class Logger {
 	 */
 	public void error(String message, Throwable throwable) {
 		_logger.error(formatMessageForText(message), throwable);
-		ReportingTools.logErrorMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
+		if (isReported())
+			ReportingTools.logErrorMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
 	}
 
 	/**
@@ -158,7 +214,8 @@ public class Logger {
 	 */
 	public void fatal(String message) {
 		_logger.fatal(formatMessageForText(message));
-		ReportingTools.logErrorMessage(formatMessageForHTML(message));
+		if (isReported())
+			ReportingTools.logErrorMessage(formatMessageForHTML(message));
 	}
 
 	/**
@@ -169,7 +226,8 @@ public class Logger {
 	 */
 	public void fatal(String message, Throwable throwable) {
 		_logger.fatal(formatMessageForText(message), throwable);
-		ReportingTools.logErrorMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
+		if (isReported())
+			ReportingTools.logErrorMessage(formatMessageForHTML(message) + "<br/>" + throwable.getMessage());
 	}
 
 	/**
@@ -179,6 +237,68 @@ public class Logger {
 	 */
 	public void infoHeading(String message) {
 		_logger.info(this.formatMessageForTextHeading(message));
-		ReportingTools.logHeadingMessage(this.formatMessageForHTMLHeading(message));
+		if (isReported())
+			ReportingTools.logHeadingMessage(this.formatMessageForHTMLHeading(message));
+	}
+
+	/**
+	 * {@link Logger} writing to the Log4J log only. See
+	 * {@link Logger#getBackgroundLogger(Class)}
+	 */
+	private static final class BackgroundLogger extends Logger {
+
+		private BackgroundLogger(Class<?> classToLog) {
+			super(classToLog);
+		}
+
+		@Override
+		public void trace(String message) {
+			_logger.trace(message);
+		}
+
+		@Override
+		public void debug(String message) {
+			_logger.debug(message);
+		}
+
+		@Override
+		public void info(String message) {
+			_logger.info(message);
+		}
+
+		@Override
+		public void warn(String message) {
+			_logger.warn(message);
+		}
+
+		@Override
+		public void warn(String message, Throwable throwable) {
+			_logger.warn(message, throwable);
+		}
+
+		@Override
+		public void error(String message) {
+			_logger.error(message);
+		}
+
+		@Override
+		public void error(String message, Throwable throwable) {
+			_logger.error(message, throwable);
+		}
+
+		@Override
+		public void fatal(String message) {
+			_logger.fatal(message);
+		}
+
+		@Override
+		public void fatal(String message, Throwable throwable) {
+			_logger.fatal(message, throwable);
+		}
+
+		@Override
+		public void infoHeading(String message) {
+			_logger.info(message);
+		}
 	}
 }
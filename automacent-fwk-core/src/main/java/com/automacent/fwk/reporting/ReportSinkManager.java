@@ -0,0 +1,74 @@
+package com.automacent.fwk.reporting;
+
+import com.automacent.fwk.enums.ReportSinkType;
+
+/**
+ * This class manages the {@link IReportSink} to which {@link ReportingTools}
+ * writes the HTML report entries. The sink is selected per suite with the
+ * reportSink suite parameter
+ *
+ * @author sighil.sivadas
+ */
+public class ReportSinkManager {
+
+	private static final Logger _logger = Logger.getLogger(ReportSinkManager.class);
+
+	private static final ReportSinkManager reportSinkManager = new ReportSinkManager();
+
+	/**
+	 * Get singleton instance of {@link ReportSinkManager}
+	 *
+	 * @return {@link ReportSinkManager}
+	 */
+	public static ReportSinkManager getManager() {
+		return reportSinkManager;
+	}
+
+	private volatile ReportSinkType reportSinkType = ReportSinkType.getDefault();
+	private volatile IReportSink reportSink = new TestNgReportSink();
+
+	private ReportSinkManager() {
+	}
+
+	/**
+	 * @return {@link ReportSinkType} in use
+	 */
+	public ReportSinkType getReportSinkType() {
+		return reportSinkType;
+	}
+
+	/**
+	 * @return {@link IReportSink} in use
+	 */
+	public IReportSink getReportSink() {
+		return reportSink;
+	}
+
+	/**
+	 * Set the {@link ReportSinkType} for the suite. A new {@link IReportSink} is
+	 * created for the suite
+	 *
+	 * @param reportSinkType {@link ReportSinkType}
+	 */
+	public void setReportSinkType(ReportSinkType reportSinkType) {
+		this.reportSinkType = reportSinkType;
+		this.reportSink = reportSinkType == ReportSinkType.STREAMING ? new StreamingReportSink()
+				: new TestNgReportSink();
+		_logger.info(String.format("reportSink set to %s", reportSinkType));
+	}
+
+	/**
+	 * Write the buffered entries of the {@link IReportSink}
+	 */
+	public void flush() {
+		reportSink.flush();
+	}
+
+	/**
+	 * Complete the report of the suite once the pending screenshots are saved
+	 */
+	public void close() {
+		ScreenshotWriter.flushAll();
+		reportSink.close();
+	}
+}
@@ -1,10 +1,10 @@
 package com.automacent.fwk.reporting;
 
 import java.awt.AWTError;
+import java.awt.HeadlessException;
 import java.awt.Rectangle;
 import java.awt.Robot;
 import java.awt.Toolkit;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -14,15 +14,12 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.ListIterator;
 
-import javax.imageio.ImageIO;
-
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
+import org.testng.ITestResult;
 import org.testng.Reporter;
 
 import com.automacent.fwk.core.BaseTest;
@@ -30,11 +27,15 @@ import com.automacent.fwk.enums.Color;
 import com.automacent.fwk.enums.Css;
 import com.automacent.fwk.enums.LogType;
 import com.automacent.fwk.enums.RetryMode;
+import com.automacent.fwk.enums.ScreenshotFormat;
 import com.automacent.fwk.enums.ScreenshotModeForIteration;
 import com.automacent.fwk.enums.ScreenshotType;
 import com.automacent.fwk.enums.TestStatus;
 import com.automacent.fwk.execution.IterationManager;
 import com.automacent.fwk.listeners.AutomacentListener;
+import com.automacent.fwk.reporting.ScreenshotStore.CapturedScreenshot;
+import com.automacent.fwk.reporting.ScreenshotStore.StoredScreenshot;
+import com.automacent.fwk.reporting.ScreenshotWriter.ScreenshotTask;
 import com.automacent.fwk.utils.DateUtils;
 import com.automacent.fwk.utils.LoggingUtils;
 
@@ -48,6 +49,7 @@ import com.automacent.fwk.utils.LoggingUtils;
 public class ReportingTools {
 
 	private static final Logger _logger = Logger.getLogger(ReportingTools.class);
+	private static final Logger _backgroundLogger = Logger.getBackgroundLogger(ReportingTools.class);
 
 	private static Rectangle screenshotFrame;
 
@@ -57,18 +59,24 @@ public class ReportingTools {
 					Toolkit.getDefaultToolkit().getScreenSize().height - 75);
 			_logger.info(String.format("Screen resolution is %sx%s", Toolkit.getDefaultToolkit().getScreenSize().width,
 					Toolkit.getDefaultToolkit().getScreenSize().height));
-		} catch (AWTError e) {
+		} catch (AWTError | HeadlessException e) {
 			screenshotFrame = new Rectangle(1024, 768);
 			BaseTest.getTestObject().setScreenshotType(ScreenshotType.BROWSER_SCREENSHOT);
 			_logger.warn("Error Initilizing DESKTOP SCREENSHOT. BROWSER_SCREENSHOT will be used.", e);
 		}
 	}
-	private static int screenshotNumber = 0;
 
 	/*----------------------Print Screenshot to Report------------------*/
 
 	/**
-	 * Method for taking screenshot, creating file and adding the file to the report
+	 * Method for taking screenshot, creating file and adding the file to the
+	 * report. The screenshot is captured on the calling thread while encoding and
+	 * writing the file is done in the background by the {@link ScreenshotWriter}.
+	 * Screenshots are saved in the {@link ScreenshotStore} in the set
+	 * {@link ScreenshotFormat}, so identical screenshots are saved only once. The
+	 * report entry is logged once the file is written. With
+	 * {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED} the screenshots
+	 * taken in an iteration are held in the {@link ScreenshotBuffer} instead
 	 * 
 	 * @param message        Message to the printed
 	 * @param status         Status of the test [FAIL/PASS]
@@ -83,14 +91,12 @@ public class ReportingTools {
 		// logMessage(message);
 
 		int iteration = IterationManager.getManager().getIteration();
-
-		String screenShotDirectory = String.format("screenshots%sitr_%s_%s", File.separator,
-				BaseTest.getTestObject().getTestName(), iteration);
-		String screenShotDirectoryPath = String.format("%s%s%s", System.getProperty("automacent.reportdir"),
-				File.separator, screenShotDirectory);
-		String screenShotName = String.format("scr%s.png", ++screenshotNumber);
-		String href = String.format("..%s%s%s%s", File.separator, screenShotDirectory, File.separator, screenShotName);
-		String screenShotFile = String.format("%s%s%s", screenShotDirectoryPath, File.separator, screenShotName);
+		String testName = BaseTest.getTestObject().getTestName();
+		ScreenshotFormat screenshotFormat = BaseTest.getTestObject().getScreenshotFormat();
+		int screenshotQuality = (int) BaseTest.getTestObject().getScreenshotQuality();
+		int screenshotThumbnailWidth = (int) BaseTest.getTestObject().getScreenshotThumbnailWidth();
+		boolean wipeable = iteration != 0 && BaseTest.getTestObject().getScreenshotModeForIteration()
+				.equals(ScreenshotModeForIteration.LAST_ITERATION);
 
 		if (screenshotType == ScreenshotType.BROWSER_SCREENSHOT)
 			try {
@@ -104,16 +110,14 @@ public class ReportingTools {
 						+ e.getMessage());
 			}
 
-		boolean isScreenshotTaken = false;
+		CapturedScreenshot capturedScreenshot = null;
 
 		try {
 			if (screenshotType == ScreenshotType.BROWSER_SCREENSHOT) {
-				FileUtils.copyFile(
-						((TakesScreenshot) BaseTest.getTestObject().getDriverManager().getActiveDriver().getWebDriver())
-								.getScreenshotAs(OutputType.FILE),
-						new File(screenShotFile));
-				_logger.debug("Browser Screenshot taken - " + screenShotFile);
-				isScreenshotTaken = true;
+				capturedScreenshot = CapturedScreenshot
+						.ofPng(((TakesScreenshot) BaseTest.getTestObject().getDriverManager().getActiveDriver()
+								.getWebDriver()).getScreenshotAs(OutputType.BYTES));
+				_logger.debug("Browser Screenshot taken");
 			}
 		} catch (Exception e) {
 			screenshotType = ScreenshotType.DESKTOP_SCREENSHOT;
@@ -122,32 +126,75 @@ public class ReportingTools {
 
 		if (screenshotType == ScreenshotType.DESKTOP_SCREENSHOT) {
 			try {
-				File screenShotDirectoryFile = new File(screenShotDirectoryPath);
-				if (!screenShotDirectoryFile.exists()) {
-					screenShotDirectoryFile.mkdirs();
-				}
-
-				BufferedImage image = new Robot().createScreenCapture(screenshotFrame);
-				File scrLocation = new File(screenShotFile);
-				ImageIO.write(image, "png", scrLocation);
-				_logger.debug("Desktop Screenshot taken - " + screenShotFile);
-				isScreenshotTaken = true;
+				capturedScreenshot = CapturedScreenshot.ofImage(new Robot().createScreenCapture(screenshotFrame));
+				_logger.debug("Desktop Screenshot taken");
 			} catch (Exception e) {
 				_logger.warn("Taking Desktop screenshot failed", e);
 			}
 		}
 
-		if (isScreenshotTaken) {
-			Reporter.log("<div style='color: " + Color.BLACK.getColorValue() + "; font-size: small; "
+		if (capturedScreenshot != null) {
+			CapturedScreenshot screenshot = capturedScreenshot;
+			ITestResult testResult = Reporter.getCurrentTestResult();
+			String entry = "<div style='color: " + Color.BLACK.getColorValue() + "; font-size: small; "
 					+ Css.UNDERLINE_NONE.getCssValue() + "'>" + DateUtils.getDate() + " : "
 					+ LoggingUtils.getSpaceForNestingLevel(LoggingUtils.getNestingLevelOfLogs() + 1, LogType.HTML)
-					+ (status == TestStatus.FAIL ? "" : message + " screenshot --&gt;")
-					+ "<a href='" + href + "'><img src='" + href + "' style='height:25%; width:25%;' alt='itr_"
-					+ BaseTest.getTestObject().getTestName() + "_" + IterationManager.getManager().getIteration()
-					+ "'/></a></div>");
+					+ (status == TestStatus.FAIL ? "" : message + " screenshot --&gt;");
+			ScreenshotTask task = () -> {
+				StoredScreenshot storedScreenshot = ScreenshotStore.getStore().save(testName, iteration, screenshot,
+						screenshotFormat, screenshotQuality, screenshotThumbnailWidth, wipeable);
+				_backgroundLogger.debug("Screenshot saved - " + storedScreenshot.getFileName());
+				String href = getScreenshotHref(storedScreenshot.getFileName());
+				String img = storedScreenshot.getThumbnailFileName() == null
+						? "<img src='" + href + "' style='height:25%; width:25%;'"
+						: "<img src='" + getScreenshotHref(storedScreenshot.getThumbnailFileName()) + "'";
+				String html = entry + "<a href='" + href + "'>" + img + " alt='itr_" + testName + "_" + iteration
+						+ "'/></a></div>";
+				ReportSinkManager.getManager().getReportSink().logScreenshot(html, testName, iteration, testResult);
+			};
+			if (BaseTest.getTestObject().getScreenshotModeForIteration()
+					.equals(ScreenshotModeForIteration.LAST_ITERATION_BUFFERED) && iteration != 0)
+				ScreenshotBuffer.getBuffer().add(screenshot.getSizeInBytes(), task,
+						BaseTest.getTestObject().getScreenshotBufferSizeInMB() * 1024 * 1024);
+			else
+				ScreenshotWriter.submit(testName, task);
 		}
 	}
 
+	/**
+	 * Get the link to the screenshot in the {@link ScreenshotStore} relative to the
+	 * report
+	 * 
+	 * @param fileName File name of the screenshot
+	 * @return Link to the screenshot
+	 */
+	private static String getScreenshotHref(String fileName) {
+		return String.format("..%s%s%s%s", File.separator, ScreenshotStore.getRelativeDirectory(), File.separator,
+				fileName);
+	}
+
+	/**
+	 * Wait till the screenshots taken by the current test are saved and logged to
+	 * the report. Screenshots are saved in the background and this method is
+	 * called at the end of the test
+	 */
+	public static void flushScreenshots() {
+		saveBufferedScreenshots();
+		ScreenshotWriter.flush(BaseTest.getTestObject().getTestName());
+	}
+
+	/**
+	 * Save the screenshots held in the {@link ScreenshotBuffer} when
+	 * {@link ScreenshotModeForIteration} is set to
+	 * {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED}. This method is
+	 * called once the last iteration of the test is complete
+	 */
+	public static void saveBufferedScreenshots() {
+		if (BaseTest.getTestObject().getScreenshotModeForIteration()
+				.equals(ScreenshotModeForIteration.LAST_ITERATION_BUFFERED))
+			ScreenshotBuffer.getBuffer().save(BaseTest.getTestObject().getTestName());
+	}
+
 	/**
 	 * Take screenshot with the set {@link ScreenshotType} without printing any
 	 * message to Report
@@ -240,28 +287,34 @@ public class ReportingTools {
 	 * is set to {@link ScreenshotModeForIteration#EACH_ITERATION} and the entries
 	 * before and after the {@link IterationManager} loop.Also, all the screenshots
 	 * of failed iteration when {@link RetryMode} is set to values other than OFF,
-	 * are saved
+	 * are saved. This method is called at the end of the test and of each
+	 * iteration worker, once the screenshots are flushed. The remaining
+	 * screenshots of the test are retained in the {@link ScreenshotStore}
+	 * afterwards
 	 */
 	public static void wipeScreenshotEntryInReports() {
+		String testName = BaseTest.getTestObject().getTestName();
 		if (BaseTest.getTestObject().getScreenshotModeForIteration()
 				.equals(ScreenshotModeForIteration.LAST_ITERATION)) {
 			int iteration = IterationManager.getManager().getIteration();
 			if (iteration != 0)
 				try {
+					IReportSink reportSink = ReportSinkManager.getManager().getReportSink();
 					while (--iteration > 0)
 						if (!IterationManager.getManager().isIterationFailed(iteration)) {
-							ListIterator<String> irt = Reporter.getOutput().listIterator();
-							while (irt.hasNext())
-								if (irt.next().contains(
-										"alt='itr_" + BaseTest.getTestObject().getTestName() + "_" + iteration + "'")) {
-									irt.set("<div></div>");
-								}
+							reportSink.wipeScreenshotEntries(testName, iteration);
+							ScreenshotStore.getStore().release(testName, iteration);
 						}
 					_logger.info("Screenshot logs wiped for all but last iteration");
 				} catch (Exception e) {
 					_logger.warn("Error wiping screenshot logs in Report", e);
 				}
 		}
+		try {
+			ScreenshotStore.getStore().retain(testName);
+		} catch (Exception e) {
+			_logger.warn("Error retaining screenshots", e);
+		}
 	}
 
 	/**
@@ -272,25 +325,45 @@ public class ReportingTools {
 	 * is set to {@link ScreenshotModeForIteration#EACH_ITERATION} and the entries
 	 * before and after the {@link IterationManager} loop. Also, all the screenshots
 	 * of failed iteration when {@link RetryMode} is set to values other than OFF,
-	 * are saved
+	 * are saved. The report entries of the wiped screenshots are removed from the
+	 * report as well. Screenshots in the {@link ScreenshotStore} are deleted once
+	 * no other iteration refers to them, while the screenshots of a failed
+	 * iteration are retained. When {@link ScreenshotModeForIteration}
+	 * is set to {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED}, the
+	 * screenshots of the iteration held in the {@link ScreenshotBuffer} are saved
+	 * if the iteration failed and discarded otherwise
 	 */
 	public static void wipeScreenshotDirectory() {
-		if (BaseTest.getTestObject().getScreenshotModeForIteration().equals(ScreenshotModeForIteration.LAST_ITERATION)
-				&& !IterationManager.getManager().isIterationFailed()) {
+		if (BaseTest.getTestObject().getScreenshotModeForIteration()
+				.equals(ScreenshotModeForIteration.LAST_ITERATION_BUFFERED)) {
+			if (IterationManager.getManager().isIterationFailed())
+				ScreenshotBuffer.getBuffer().save(BaseTest.getTestObject().getTestName());
+			else
+				ScreenshotBuffer.getBuffer().discard();
+			return;
+		}
+		if (BaseTest.getTestObject().getScreenshotModeForIteration()
+				.equals(ScreenshotModeForIteration.LAST_ITERATION)) {
 			int iteration = IterationManager.getManager().getIteration();
-			String screenShotDirectoryPath = System.getProperty("automacent.reportdir") + File.separator + "screenshots"
-					+ File.separator + "itr_" + BaseTest.getTestObject().getTestName() + "_" + iteration;
-
-			if (iteration != 0)
-				try {
-					File file = new File(screenShotDirectoryPath);
-					if (file.exists() && file.isDirectory()) {
-						FileUtils.cleanDirectory(file);
-						_logger.info("Screenshot directory wiped for the iteration");
+			if (iteration != 0) {
+				ScreenshotWriter.flush(BaseTest.getTestObject().getTestName());
+				if (IterationManager.getManager().isIterationFailed()) {
+					try {
+						ScreenshotStore.getStore().retain(BaseTest.getTestObject().getTestName(), iteration);
+					} catch (Exception e) {
+						_logger.warn("Error retaining screenshots", e);
 					}
+					return;
+				}
+				ReportSinkManager.getManager().getReportSink()
+						.wipeScreenshotEntries(BaseTest.getTestObject().getTestName(), iteration);
+				try {
+					ScreenshotStore.getStore().release(BaseTest.getTestObject().getTestName(), iteration);
+					_logger.info("Screenshots wiped for the iteration");
 				} catch (Exception e) {
-					_logger.warn("Error wiping screenshot directory", e);
+					_logger.warn("Error wiping screenshots", e);
 				}
+			}
 		}
 	}
 
@@ -305,8 +378,9 @@ public class ReportingTools {
 	 * @param messageType
 	 */
 	private static void log(Color textColor, Css underline, String message) {
-		Reporter.log("<div style='color: " + textColor.getColorValue() + "; font-size: small; "
-				+ underline.getCssValue() + "'>" + DateUtils.getDate() + " : " + message + "</div>");
+		ReportSinkManager.getManager().getReportSink().log("<div style='color: " + textColor.getColorValue()
+				+ "; font-size: small; " + underline.getCssValue() + "'>" + DateUtils.getDate() + " : " + message
+				+ "</div>");
 	}
 
 	/**
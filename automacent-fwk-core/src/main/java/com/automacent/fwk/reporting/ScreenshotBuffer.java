@@ -0,0 +1,96 @@
+package com.automacent.fwk.reporting;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.enums.ScreenshotModeForIteration;
+import com.automacent.fwk.reporting.ScreenshotWriter.ScreenshotTask;
+
+/**
+ * Ring buffer holding the screenshots of the current iteration in memory when
+ * {@link ScreenshotModeForIteration} is set to
+ * {@link ScreenshotModeForIteration#LAST_ITERATION_BUFFERED}. The screenshots
+ * are handed over to the {@link ScreenshotWriter} only if the iteration fails
+ * or is the last iteration and are discarded otherwise, so passed iterations do
+ * not write to disk at all.
+ * 
+ * The buffer is capped by size. Once full, the oldest screenshots of the
+ * iteration are dropped to make room for the new ones
+ * 
+ * @author sighil.sivadas
+ */
+final class ScreenshotBuffer {
+
+	private static final Logger _logger = Logger.getLogger(ScreenshotBuffer.class);
+
+	/**
+	 * Get the {@link ScreenshotBuffer} of the current test thread
+	 * 
+	 * @return {@link ScreenshotBuffer}
+	 */
+	static ScreenshotBuffer getBuffer() {
+		return ExecutionContext.getContext().getAttribute(ScreenshotBuffer.class, ScreenshotBuffer::new);
+	}
+
+	private static final class BufferedScreenshot {
+
+		private final long sizeInBytes;
+		private final ScreenshotTask task;
+
+		private BufferedScreenshot(long sizeInBytes, ScreenshotTask task) {
+			this.sizeInBytes = sizeInBytes;
+			this.task = task;
+		}
+	}
+
+	private final Deque<BufferedScreenshot> screenshots = new ArrayDeque<>();
+	private long sizeInBytes = 0;
+	private int droppedScreenshots = 0;
+
+	private ScreenshotBuffer() {
+	}
+
+	/**
+	 * Add the screenshot to the buffer. The oldest screenshots are dropped if the
+	 * buffer cannot hold the screenshot
+	 * 
+	 * @param screenshotSizeInBytes Size of the screenshot in memory
+	 * @param task                  {@link ScreenshotTask} saving the screenshot
+	 * @param capacityInBytes       Size of the buffer
+	 */
+	synchronized void add(long screenshotSizeInBytes, ScreenshotTask task, long capacityInBytes) {
+		while (!screenshots.isEmpty() && sizeInBytes + screenshotSizeInBytes > capacityInBytes) {
+			sizeInBytes -= screenshots.pollFirst().sizeInBytes;
+			droppedScreenshots++;
+		}
+		screenshots.addLast(new BufferedScreenshot(screenshotSizeInBytes, task));
+		sizeInBytes += screenshotSizeInBytes;
+	}
+
+	/**
+	 * Hand over the buffered screenshots to the {@link ScreenshotWriter} and
+	 * empty the buffer
+	 * 
+	 * @param testName Name of the test taking the screenshots
+	 */
+	synchronized void save(String testName) {
+		if (droppedScreenshots > 0)
+			_logger.warn(String.format(
+					"%s oldest screenshots of the iteration dropped as the screenshot buffer is full. "
+							+ "Increase screenshotBufferSizeInMB to keep them",
+					droppedScreenshots));
+		for (BufferedScreenshot screenshot : screenshots)
+			ScreenshotWriter.submit(testName, screenshot.task);
+		discard();
+	}
+
+	/**
+	 * Empty the buffer without saving the screenshots
+	 */
+	synchronized void discard() {
+		screenshots.clear();
+		sizeInBytes = 0;
+		droppedScreenshots = 0;
+	}
+}
@@ -0,0 +1,395 @@
+package com.automacent.fwk.reporting;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.automacent.fwk.enums.ScreenshotFormat;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Content addressed store of screenshots. Screenshots are named by the hash of
+ * their content, so identical screenshots are saved once and all the report
+ * entries refer to the same file. Optionally a downscaled thumbnail is saved
+ * along with the screenshot.
+ *
+ * The screenshots referred by each iteration of a test which may be wiped are
+ * tracked, so that the screenshots wiped for an iteration are deleted once no
+ * other iteration refers to them. The screenshots of an iteration are retained
+ * once the iteration is kept in the report and are no longer tracked. A
+ * screenshot file without a tracked entry is retained and is never deleted
+ *
+ * @author sighil.sivadas
+ */
+final class ScreenshotStore {
+
+	private static final ScreenshotStore screenshotStore = new ScreenshotStore();
+
+	/**
+	 * @return Singleton instance of {@link ScreenshotStore}
+	 */
+	static ScreenshotStore getStore() {
+		return screenshotStore;
+	}
+
+	private final Map<String, StoredScreenshot> screenshots = new HashMap<>();
+	private final Map<String, Map<Integer, List<StoredScreenshot>>> testScreenshots = new HashMap<>();
+
+	private ScreenshotStore() {
+	}
+
+	/**
+	 * Get the directory of the store relative to the report directory
+	 *
+	 * @return Relative directory
+	 */
+	static Path getRelativeDirectory() {
+		return Paths.get("screenshots", "store");
+	}
+
+	private static Path getDirectory() {
+		return Paths.get(String.valueOf(System.getProperty("automacent.reportdir"))).resolve(getRelativeDirectory());
+	}
+
+	/**
+	 * Screenshot as captured on the test thread. Browser screenshots are PNG
+	 * encoded bytes and desktop screenshots are images
+	 */
+	static final class CapturedScreenshot {
+
+		private final byte[] png;
+		private BufferedImage image;
+
+		private CapturedScreenshot(byte[] png, BufferedImage image) {
+			this.png = png;
+			this.image = image;
+		}
+
+		/**
+		 * @param png PNG encoded screenshot
+		 * @return {@link CapturedScreenshot}
+		 */
+		static CapturedScreenshot ofPng(byte[] png) {
+			return new CapturedScreenshot(png, null);
+		}
+
+		/**
+		 * @param image Screenshot image
+		 * @return {@link CapturedScreenshot}
+		 */
+		static CapturedScreenshot ofImage(BufferedImage image) {
+			return new CapturedScreenshot(null, image);
+		}
+
+		/**
+		 * Hash the content of the screenshot. PNG bytes are hashed as is and images
+		 * are hashed by their pixels
+		 *
+		 * @return Hash
+		 */
+		private String hash() {
+			if (png != null)
+				return Hashing.murmur3_128().hashBytes(png).toString();
+			Hasher hasher = Hashing.murmur3_128().newHasher().putInt(image.getWidth()).putInt(image.getHeight());
+			int[] row = new int[image.getWidth()];
+			for (int y = 0; y < image.getHeight(); y++)
+				for (int pixel : image.getRGB(0, y, image.getWidth(), 1, row, 0, image.getWidth()))
+					hasher.putInt(pixel);
+			return hasher.hash().toString();
+		}
+
+		/**
+		 * @return Approximate size of the screenshot in memory in bytes
+		 */
+		long getSizeInBytes() {
+			return png != null ? png.length : 4L * image.getWidth() * image.getHeight();
+		}
+
+		private BufferedImage getImage() throws IOException {
+			if (image == null) {
+				image = ImageIO.read(new ByteArrayInputStream(png));
+				if (image == null)
+					throw new IOException("Screenshot is not a valid image");
+			}
+			return image;
+		}
+	}
+
+	/**
+	 * Screenshot saved in the store
+	 */
+	static final class StoredScreenshot {
+
+		private final String fileName;
+		private final String thumbnailFileName;
+		private final CompletableFuture<Void> saved = new CompletableFuture<>();
+		private int references = 0;
+		private boolean retained = false;
+
+		private StoredScreenshot(String fileName, String thumbnailFileName) {
+			this.fileName = fileName;
+			this.thumbnailFileName = thumbnailFileName;
+		}
+
+		/**
+		 * @return File name of the screenshot
+		 */
+		String getFileName() {
+			return fileName;
+		}
+
+		/**
+		 * @return File name of the thumbnail or null if there is no thumbnail
+		 */
+		String getThumbnailFileName() {
+			return thumbnailFileName;
+		}
+	}
+
+	/**
+	 * Save the screenshot in the store unless an identical screenshot is already
+	 * saved. The screenshot is referred by the iteration of the test till the
+	 * iteration is released or retained. Screenshots which cannot be wiped are
+	 * retained right away
+	 *
+	 * @param testName       Name of the test
+	 * @param iteration      Iteration number
+	 * @param screenshot     {@link CapturedScreenshot}
+	 * @param format         {@link ScreenshotFormat}
+	 * @param quality        Quality (1-100) for lossy formats
+	 * @param thumbnailWidth Thumbnail width in pixels. 0 for no thumbnail
+	 * @param wipeable       true if the screenshots of the iteration may be wiped
+	 * @return {@link StoredScreenshot}
+	 * @throws IOException on failure to save the screenshot
+	 */
+	StoredScreenshot save(String testName, int iteration, CapturedScreenshot screenshot,
+			ScreenshotFormat format, int quality, int thumbnailWidth, boolean wipeable) throws IOException {
+		String name = format == ScreenshotFormat.JPEG
+				? String.format("%s_q%s_%s", screenshot.hash(), quality, thumbnailWidth)
+				: String.format("%s_%s", screenshot.hash(), thumbnailWidth);
+		String fileName = String.format("%s.%s", name, format.getExtension());
+		StoredScreenshot storedScreenshot;
+		boolean saveRequired = false;
+		synchronized (this) {
+			storedScreenshot = screenshots.get(fileName);
+			if (storedScreenshot == null) {
+				storedScreenshot = new StoredScreenshot(fileName,
+						thumbnailWidth > 0 ? String.format("%s_thumb.%s", name, format.getExtension()) : null);
+				screenshots.put(fileName, storedScreenshot);
+				saveRequired = true;
+			}
+			storedScreenshot.references++;
+		}
+
+		try {
+			if (saveRequired)
+				write(storedScreenshot, screenshot, format, quality, thumbnailWidth);
+			else
+				try {
+					storedScreenshot.saved.join();
+				} catch (CompletionException e) {
+					throw new IOException("Saving identical screenshot failed", e.getCause());
+				}
+		} catch (IOException | RuntimeException e) {
+			synchronized (this) {
+				storedScreenshot.references--;
+				screenshots.remove(fileName, storedScreenshot);
+			}
+			throw e;
+		}
+		synchronized (this) {
+			if (wipeable) {
+				testScreenshots.computeIfAbsent(testName, key -> new HashMap<>())
+						.computeIfAbsent(iteration, key -> new ArrayList<>()).add(storedScreenshot);
+			} else {
+				storedScreenshot.retained = true;
+				unreference(storedScreenshot);
+			}
+		}
+		return storedScreenshot;
+	}
+
+	/**
+	 * Write the screenshot and its thumbnail to the store. A screenshot whose
+	 * file exists without a tracked entry was retained earlier and is not written
+	 * again
+	 */
+	private void write(StoredScreenshot storedScreenshot, CapturedScreenshot screenshot, ScreenshotFormat format,
+			int quality, int thumbnailWidth) throws IOException {
+		Path directory = getDirectory();
+		Path file = directory.resolve(storedScreenshot.fileName);
+		try {
+			if (Files.exists(file)) {
+				synchronized (this) {
+					storedScreenshot.retained = true;
+				}
+			} else {
+				Files.createDirectories(directory);
+				write(screenshot, file, format, quality, 0);
+				if (storedScreenshot.thumbnailFileName != null)
+					write(screenshot, directory.resolve(storedScreenshot.thumbnailFileName), format, quality,
+							thumbnailWidth);
+			}
+			storedScreenshot.saved.complete(null);
+		} catch (IOException | RuntimeException e) {
+			storedScreenshot.saved.completeExceptionally(e);
+			Files.deleteIfExists(file);
+			if (storedScreenshot.thumbnailFileName != null)
+				Files.deleteIfExists(directory.resolve(storedScreenshot.thumbnailFileName));
+			throw e;
+		}
+	}
+
+	/**
+	 * Release the screenshots referred by the iteration of the test. Screenshots
+	 * which are no longer referred are deleted
+	 *
+	 * @param testName  Name of the test
+	 * @param iteration Iteration number
+	 * @throws IOException on failure to delete the screenshots
+	 */
+	synchronized void release(String testName, int iteration) throws IOException {
+		Map<Integer, List<StoredScreenshot>> iterationScreenshots = testScreenshots.get(testName);
+		if (iterationScreenshots == null)
+			return;
+		List<StoredScreenshot> storedScreenshots = iterationScreenshots.remove(iteration);
+		if (iterationScreenshots.isEmpty())
+			testScreenshots.remove(testName);
+		if (storedScreenshots != null)
+			for (StoredScreenshot storedScreenshot : storedScreenshots)
+				unreference(storedScreenshot);
+	}
+
+	/**
+	 * Retain the screenshots referred by the iteration of the test. The
+	 * screenshots are kept in the report and are no longer tracked
+	 *
+	 * @param testName  Name of the test
+	 * @param iteration Iteration number
+	 * @throws IOException on failure to delete the screenshots
+	 */
+	synchronized void retain(String testName, int iteration) throws IOException {
+		Map<Integer, List<StoredScreenshot>> iterationScreenshots = testScreenshots.get(testName);
+		if (iterationScreenshots == null)
+			return;
+		retain(iterationScreenshots.remove(iteration));
+		if (iterationScreenshots.isEmpty())
+			testScreenshots.remove(testName);
+	}
+
+	/**
+	 * Retain the screenshots referred by all the iterations of the test. This
+	 * method is called once the test is complete
+	 *
+	 * @param testName Name of the test
+	 * @throws IOException on failure to delete the screenshots
+	 */
+	synchronized void retain(String testName) throws IOException {
+		Map<Integer, List<StoredScreenshot>> iterationScreenshots = testScreenshots.remove(testName);
+		if (iterationScreenshots != null)
+			for (List<StoredScreenshot> storedScreenshots : iterationScreenshots.values())
+				retain(storedScreenshots);
+	}
+
+	private void retain(List<StoredScreenshot> storedScreenshots) throws IOException {
+		if (storedScreenshots != null)
+			for (StoredScreenshot storedScreenshot : storedScreenshots) {
+				storedScreenshot.retained = true;
+				unreference(storedScreenshot);
+			}
+	}
+
+	/**
+	 * Drop a reference to the screenshot. The entry of a screenshot which is no
+	 * longer referred is removed and its files are deleted unless it is retained
+	 */
+	private void unreference(StoredScreenshot storedScreenshot) throws IOException {
+		if (--storedScreenshot.references > 0)
+			return;
+		screenshots.remove(storedScreenshot.fileName, storedScreenshot);
+		if (storedScreenshot.retained)
+			return;
+		Path directory = getDirectory();
+		Files.deleteIfExists(directory.resolve(storedScreenshot.fileName));
+		if (storedScreenshot.thumbnailFileName != null)
+			Files.deleteIfExists(directory.resolve(storedScreenshot.thumbnailFileName));
+	}
+
+	/**
+	 * Write the screenshot to the file in the format. PNG screenshots which need
+	 * no conversion are written as is
+	 *
+	 * @param screenshot {@link CapturedScreenshot}
+	 * @param file       Screenshot file
+	 * @param format     {@link ScreenshotFormat}
+	 * @param quality    Quality (1-100) for lossy formats
+	 * @param width      Width to which the screenshot is downscaled. 0 to keep the
+	 *                   width of the screenshot
+	 * @throws IOException on failure to encode or write the screenshot
+	 */
+	private static void write(CapturedScreenshot screenshot, Path file, ScreenshotFormat format, int quality,
+			int width) throws IOException {
+		if (screenshot.png != null && format == ScreenshotFormat.PNG && width == 0) {
+			Files.write(file, screenshot.png);
+			return;
+		}
+
+		BufferedImage image = screenshot.getImage();
+		if ((width > 0 && width < image.getWidth()) || format == ScreenshotFormat.JPEG)
+			image = toRgb(image, width > 0 ? Math.min(width, image.getWidth()) : image.getWidth());
+
+		ImageWriter writer = ImageIO.getImageWritersByFormatName(format.getFormatName()).next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		if (format == ScreenshotFormat.JPEG) {
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(quality / 100f);
+		}
+		try (OutputStream outputStream = Files.newOutputStream(file);
+				ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+			writer.setOutput(imageOutputStream);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * Draw the image as an RGB image without alpha, scaled to the width
+	 *
+	 * @param image Image
+	 * @param width Width of the RGB image
+	 * @return RGB image
+	 */
+	private static BufferedImage toRgb(BufferedImage image, int width) {
+		int height = Math.max(1, (int) ((long) image.getHeight() * width / image.getWidth()));
+		BufferedImage rgbImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = rgbImage.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+		} finally {
+			graphics.dispose();
+		}
+		return rgbImage;
+	}
+}
@@ -0,0 +1,115 @@
+package com.automacent.fwk.reporting;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves screenshots in the background. The screenshot is captured on the test
+ * thread and handed over with a {@link ScreenshotTask} which saves the
+ * screenshot to disk and logs its report entry on a screenshot writer thread.
+ *
+ * The number of pending screenshots is bounded. When the queue is full the
+ * screenshot is saved on the test thread, slowing down the test instead of
+ * holding more screenshots in memory
+ *
+ * @author sighil.sivadas
+ */
+final class ScreenshotWriter {
+
+	private static final Logger _logger = Logger.getLogger(ScreenshotWriter.class);
+	private static final Logger _backgroundLogger = Logger.getBackgroundLogger(ScreenshotWriter.class);
+
+	private static final int WRITER_THREADS = 2;
+	private static final int QUEUE_CAPACITY = 16;
+	private static final long FLUSH_TIMEOUT_IN_SECONDS = 60;
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 0,
+			TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+				Thread thread = new Thread(runnable,
+						String.format("automacent-screenshot-writer-%s", threadCount.incrementAndGet()));
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.CallerRunsPolicy());
+
+	private static final Map<String, Queue<Future<?>>> pendingScreenshots = new ConcurrentHashMap<>();
+
+	private ScreenshotWriter() {
+	}
+
+	/**
+	 * Saves the captured screenshot and logs its report entry
+	 */
+	@FunctionalInterface
+	interface ScreenshotTask {
+
+		/**
+		 * Save the screenshot and log its report entry
+		 *
+		 * @throws IOException on failure to encode or write the screenshot
+		 */
+		void run() throws IOException;
+	}
+
+	/**
+	 * Save the screenshot in the background
+	 *
+	 * @param testName Name of the test taking the screenshot
+	 * @param task     {@link ScreenshotTask} holding the captured screenshot
+	 */
+	static void submit(String testName, ScreenshotTask task) {
+		Future<?> future = executor.submit(() -> {
+			try {
+				task.run();
+			} catch (IOException | RuntimeException e) {
+				_backgroundLogger.warn(String.format("Saving screenshot of test %s failed", testName), e);
+			}
+		});
+		Queue<Future<?>> futures = pendingScreenshots.computeIfAbsent(testName, key -> new ConcurrentLinkedQueue<>());
+		Future<?> head;
+		while ((head = futures.peek()) != null && head.isDone())
+			futures.remove(head);
+		if (!future.isDone())
+			futures.add(future);
+	}
+
+	/**
+	 * Wait till the pending screenshots of the test are saved
+	 *
+	 * @param testName Name of the test
+	 */
+	static void flush(String testName) {
+		Queue<Future<?>> futures = pendingScreenshots.get(testName);
+		if (futures == null)
+			return;
+		Future<?> future;
+		while ((future = futures.poll()) != null)
+			try {
+				future.get(FLUSH_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				_logger.warn("Interrupted while waiting for pending screenshots");
+				return;
+			} catch (ExecutionException | TimeoutException e) {
+				_logger.warn(String.format("Pending screenshot of test %s not saved", testName), e);
+			}
+	}
+
+	/**
+	 * Wait till the pending screenshots of all the tests are saved
+	 */
+	static void flushAll() {
+		for (String testName : pendingScreenshots.keySet())
+			flush(testName);
+	}
+}
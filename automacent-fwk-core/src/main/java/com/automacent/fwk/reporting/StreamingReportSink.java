@@ -0,0 +1,258 @@
+package com.automacent.fwk.reporting;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import com.automacent.fwk.core.BaseTest;
+import com.automacent.fwk.enums.ReportSinkType;
+import com.automacent.fwk.execution.IterationManager;
+import com.automacent.fwk.utils.ThreadUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link IReportSink} for {@link ReportSinkType#STREAMING}. Entries of each test
+ * are appended as JSON lines to &lt;reportdir&gt;/stream/&lt;test&gt;.jsonl as
+ * they are produced, so only a small write buffer per test is held in memory.
+ * At the end of the suite, an HTML page is rendered for each test by streaming
+ * through its JSON lines and an index.html linking the tests is written
+ *
+ * Each JSON line contains the timestamp, thread, test method, iteration,
+ * whether the entry is a screenshot and HTML of the entry
+ *
+ * @author sighil.sivadas
+ */
+public class StreamingReportSink implements IReportSink {
+
+	private static final Logger _logger = Logger.getLogger(StreamingReportSink.class);
+
+	private static final JsonFactory jsonFactory = new JsonFactory();
+	private static final ObjectMapper mapper = new ObjectMapper(jsonFactory);
+
+	private final Path streamDirectory;
+	private final Map<String, TestStream> testStreams = new ConcurrentHashMap<>();
+	private final Map<String, Set<Integer>> wipedScreenshotIterations = new ConcurrentHashMap<>();
+
+	/**
+	 * Create the sink writing to the stream directory under the report directory
+	 */
+	public StreamingReportSink() {
+		streamDirectory = Paths.get(System.getProperty("automacent.reportdir", "." + File.separator + "report"),
+				"stream");
+	}
+
+	@Override
+	public void log(String html) {
+		write(html, BaseTest.getTestObject().getTestName(), IterationManager.getManager().getIteration(), false,
+				Reporter.getCurrentTestResult());
+	}
+
+	@Override
+	public void logScreenshot(String html, String testName, int iteration, ITestResult testResult) {
+		write(html, testName, iteration, true, testResult);
+	}
+
+	/**
+	 * Write the entry to the stream of the test. If the stream cannot be written,
+	 * the entry is logged to the TestNG Reporter
+	 */
+	private void write(String html, String testName, int iteration, boolean screenshot, ITestResult testResult) {
+		TestStream testStream = testStreams.computeIfAbsent(testName, TestStream::new);
+		if (!testStream.write(html, iteration, screenshot, testResult))
+			Reporter.log(html);
+	}
+
+	@Override
+	public void wipeScreenshotEntries(String testName, int iteration) {
+		wipedScreenshotIterations.computeIfAbsent(testName, key -> ConcurrentHashMap.newKeySet()).add(iteration);
+	}
+
+	@Override
+	public void flush() {
+		for (TestStream testStream : testStreams.values())
+			testStream.flush();
+	}
+
+	@Override
+	public void close() {
+		Map<String, Long> entryCounts = new TreeMap<>();
+		for (TestStream testStream : testStreams.values()) {
+			testStream.close();
+			if (Files.exists(testStream.file))
+				entryCounts.put(testStream.testName, renderTest(testStream));
+		}
+		if (!entryCounts.isEmpty())
+			writeIndex(entryCounts);
+	}
+
+	/**
+	 * Get the file name used for the files of the test
+	 *
+	 * @param testName Name of the test
+	 * @return File name without extension
+	 */
+	private static String getFileName(String testName) {
+		return testName.replaceAll("[^A-Za-z0-9._-]", "_");
+	}
+
+	/**
+	 * Render the HTML page of the test from the JSON lines of the test. Entries of
+	 * the wiped screenshots are skipped
+	 *
+	 * @param testStream {@link TestStream} of the test
+	 * @return Number of entries rendered
+	 */
+	private long renderTest(TestStream testStream) {
+		long entryCount = 0;
+		Set<Integer> wipedIterations = wipedScreenshotIterations.getOrDefault(testStream.testName, Set.of());
+		Path htmlFile = streamDirectory.resolve(getFileName(testStream.testName) + ".html");
+		try (BufferedReader reader = Files.newBufferedReader(testStream.file, StandardCharsets.UTF_8);
+				BufferedWriter writer = Files.newBufferedWriter(htmlFile, StandardCharsets.UTF_8)) {
+			writer.write(String.format("<html><head><meta charset='UTF-8'><title>%1$s</title></head><body>"
+					+ "<h2>%1$s</h2>%n", StringEscapeUtils.escapeHtml4(testStream.testName)));
+			String method = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				JsonNode entry = mapper.readTree(line);
+				if (entry.path("screenshot").asBoolean()
+						&& wipedIterations.contains(entry.path("iteration").asInt()))
+					continue;
+				String html = entry.path("html").asText();
+				String entryMethod = entry.path("method").asText(null);
+				if (entryMethod != null && !entryMethod.equals(method)) {
+					method = entryMethod;
+					writer.write(String.format("<h3>%s</h3>%n", StringEscapeUtils.escapeHtml4(method)));
+				}
+				writer.write(html);
+				writer.newLine();
+				entryCount++;
+			}
+			writer.write("</body></html>");
+		} catch (IOException e) {
+			_logger.warn(String.format("Error rendering streamed report of test %s", testStream.testName), e);
+		}
+		return entryCount;
+	}
+
+	/**
+	 * Write the index.html of the streamed report
+	 *
+	 * @param entryCounts &lt;Test name, Number of entries&gt;
+	 */
+	private void writeIndex(Map<String, Long> entryCounts) {
+		Path indexFile = streamDirectory.resolve("index.html");
+		try (BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+			writer.write("<html><head><meta charset='UTF-8'><title>Automacent Report</title></head><body>"
+					+ "<h2>Automacent Report</h2><table><tr><th>Test</th><th>Entries</th></tr>");
+			writer.newLine();
+			for (Map.Entry<String, Long> entryCount : entryCounts.entrySet()) {
+				String fileName = getFileName(entryCount.getKey());
+				writer.write(String.format("<tr><td><a href='%s.html'>%s</a> (<a href='%s.jsonl'>jsonl</a>)</td>"
+						+ "<td>%s</td></tr>", fileName, StringEscapeUtils.escapeHtml4(entryCount.getKey()), fileName,
+						entryCount.getValue()));
+				writer.newLine();
+			}
+			writer.write("</table></body></html>");
+			_logger.info(String.format("Streamed report written to %s", indexFile.toAbsolutePath()));
+		} catch (IOException e) {
+			_logger.warn("Error writing index of streamed report", e);
+		}
+	}
+
+	/**
+	 * JSON lines stream of a test. Writes are synchronized as iteration workers
+	 * and the test thread may log to the same test
+	 */
+	private class TestStream {
+
+		private final String testName;
+		private final Path file;
+		private JsonGenerator generator;
+		private boolean failed = false;
+		private boolean closed = false;
+
+		private TestStream(String testName) {
+			this.testName = testName;
+			this.file = streamDirectory.resolve(getFileName(testName) + ".jsonl");
+		}
+
+		/**
+		 * Append the entry to the stream. The stream is opened on first write
+		 *
+		 * @param html       HTML entry
+		 * @param iteration  Iteration number
+		 * @param screenshot true if the entry is a screenshot
+		 * @param testResult {@link ITestResult} of the test method or null
+		 * @return False if the entry could not be written or the stream is closed
+		 */
+		private synchronized boolean write(String html, int iteration, boolean screenshot, ITestResult testResult) {
+			if (failed || closed)
+				return false;
+			try {
+				if (generator == null) {
+					Files.createDirectories(streamDirectory);
+					OutputStream outputStream = Files.newOutputStream(file);
+					generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8);
+					generator.setRootValueSeparator(new SerializedString(System.lineSeparator()));
+				}
+				generator.writeStartObject();
+				generator.writeNumberField("timestamp", System.currentTimeMillis());
+				generator.writeStringField("thread", ThreadUtils.getThreadName());
+				generator.writeStringField("method",
+						testResult == null ? null : testResult.getMethod().getMethodName());
+				generator.writeNumberField("iteration", iteration);
+				generator.writeBooleanField("screenshot", screenshot);
+				generator.writeStringField("html", html);
+				generator.writeEndObject();
+				return true;
+			} catch (IOException e) {
+				failed = true;
+				_logger.warn(String.format("Error writing streamed report of test %s. "
+						+ "Entries will be logged to the TestNG Reporter", testName), e);
+				return false;
+			}
+		}
+
+		private synchronized void flush() {
+			try {
+				if (generator != null)
+					generator.flush();
+			} catch (IOException e) {
+				_logger.warn(String.format("Error flushing streamed report of test %s", testName), e);
+			}
+		}
+
+		private synchronized void close() {
+			try {
+				if (generator != null) {
+					generator.writeRaw(System.lineSeparator());
+					generator.close();
+				}
+			} catch (IOException e) {
+				_logger.warn(String.format("Error closing streamed report of test %s", testName), e);
+			} finally {
+				generator = null;
+				closed = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.automacent.fwk.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import com.automacent.fwk.enums.ReportSinkType;
+
+/**
+ * {@link IReportSink} for {@link ReportSinkType#TESTNG_REPORTER}. Entries are
+ * logged to the TestNG {@link Reporter} and rendered by the TestNG reporters at
+ * the end of the suite.
+ *
+ * The position of each screenshot entry in the {@link Reporter} output is
+ * indexed by test and iteration, so that the screenshot entries of an
+ * iteration can be wiped without scanning the whole output
+ *
+ * @author sighil.sivadas
+ */
+public class TestNgReportSink implements IReportSink {
+
+	private final Map<String, List<Integer>> screenshotEntryIndex = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the marker included in the screenshot entries of the iteration
+	 *
+	 * @param testName  Name of the test
+	 * @param iteration Iteration number
+	 * @return Marker
+	 */
+	private static String getScreenshotMarker(String testName, int iteration) {
+		return String.format("alt='itr_%s_%s'", testName, iteration);
+	}
+
+	@Override
+	public void log(String html) {
+		Reporter.log(html);
+	}
+
+	/**
+	 * {@inheritDoc} The entry is logged against the {@link ITestResult} of the
+	 * test method and the position of the entry is recorded under the
+	 * {@link Reporter} lock. Entries logged outside a test method are held by
+	 * TestNG till the next test method and are not indexed
+	 */
+	@Override
+	public void logScreenshot(String html, String testName, int iteration, ITestResult testResult) {
+		synchronized (Reporter.class) {
+			ITestResult currentTestResult = Reporter.getCurrentTestResult();
+			Reporter.setCurrentTestResult(testResult);
+			try {
+				Reporter.log(html);
+			} finally {
+				Reporter.setCurrentTestResult(currentTestResult);
+			}
+			if (testResult != null)
+				screenshotEntryIndex
+						.computeIfAbsent(getScreenshotMarker(testName, iteration), key -> new ArrayList<>())
+						.add(Reporter.getOutput().size() - 1);
+		}
+	}
+
+	@Override
+	public void wipeScreenshotEntries(String testName, int iteration) {
+		String marker = getScreenshotMarker(testName, iteration);
+		List<Integer> positions = screenshotEntryIndex.remove(marker);
+		if (positions == null)
+			return;
+		synchronized (Reporter.class) {
+			List<String> output = Reporter.getOutput();
+			for (int position : positions)
+				if (position < output.size() && output.get(position).contains(marker))
+					output.set(position, "<div></div>");
+		}
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+		screenshotEntryIndex.clear();
+	}
+}
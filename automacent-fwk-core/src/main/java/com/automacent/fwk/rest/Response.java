@@ -1,53 +1,111 @@
 package com.automacent.fwk.rest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 
+import com.automacent.fwk.exceptions.JsonPathEvaluationException;
 import com.automacent.fwk.utils.JacksonUtils;
+import com.automacent.fwk.utils.JsonPath;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Custom Object holding response obtained by REST API calls. The class provides
  * responses in the following formats
  * <ul>
+ * <li>byte[]</li>
  * <li>String</li>
  * <li>{@link LinkedHashMap}&lt;String, Object&gt;</li>
  * <li>{@link JsonNode}</li>
+ * <li>{@link JsonParser} for streaming large responses</li>
  * </ul>
  * 
+ * Only the format the response is created from is held. The other formats are
+ * converted from it on first use and kept for the following calls, so that a
+ * response is parsed at most once per format used.
+ * 
+ * Values can be extracted with {@link JsonPath} expressions, which are evaluated
+ * in a single streaming pass over the response without converting it to a
+ * {@link JsonNode} or {@link Map}
+ * 
  * @author sighil.sivadas
- *
+ * 
  */
 public class Response {
-	private Map<String, Object> responseBodyAsMap = new LinkedHashMap<>();
+	private byte[] responseBody;
 	private String responseBodyAsString;
+	private Map<String, Object> responseBodyAsMap;
 	private JsonNode responseBodyAsJsonNode;
+	private boolean responseBodyAsMapConverted;
+	private boolean responseBodyAsJsonNodeConverted;
 	private HttpStatus status;
+	private int statusCode;
+
+	/**
+	 * @param responseBody UTF-8 encoded JSON response body as received
+	 * @param status       {@link HttpStatus}
+	 */
+	public Response(byte[] responseBody, HttpStatus status) {
+		this(responseBody, status == null ? 0 : status.value());
+	}
+
+	/**
+	 * @param responseBody UTF-8 encoded JSON response body as received
+	 * @param statusCode   HTTP status code, which may not be a standard
+	 *                     {@link HttpStatus}
+	 */
+	public Response(byte[] responseBody, int statusCode) {
+		super();
+		this.responseBody = responseBody == null ? new byte[0] : responseBody;
+		this.status = HttpStatus.resolve(statusCode);
+		this.statusCode = statusCode;
+	}
 
 	public Response(Map<String, Object> jsonMap, HttpStatus status) {
 		super();
 		this.responseBodyAsMap = jsonMap;
-		this.responseBodyAsString = JacksonUtils.getString(jsonMap);
-		this.responseBodyAsJsonNode = JacksonUtils.getJsonNode(jsonMap);
+		this.responseBodyAsMapConverted = true;
 		this.status = status;
+		this.statusCode = status == null ? 0 : status.value();
 	}
 
 	public Response(String jsonString, HttpStatus status) {
 		super();
 		this.responseBodyAsString = jsonString;
-		this.responseBodyAsMap = JacksonUtils.getJsonMap(jsonString);
-		this.responseBodyAsJsonNode = JacksonUtils.getJsonNode(jsonString);
 		this.status = status;
+		this.statusCode = status == null ? 0 : status.value();
 	}
 
 	public Response(JsonNode jsonNode, HttpStatus status) {
 		super();
 		this.responseBodyAsJsonNode = jsonNode;
-		this.responseBodyAsMap = JacksonUtils.getJsonMap(jsonNode);
-		this.responseBodyAsString = JacksonUtils.getString(jsonNode);
+		this.responseBodyAsJsonNodeConverted = true;
 		this.status = status;
+		this.statusCode = status == null ? 0 : status.value();
+	}
+
+	/**
+	 * Get response as UTF-8 encoded JSON
+	 * 
+	 * @return UTF-8 encoded JSON
+	 */
+	public synchronized byte[] getResponseBody() {
+		if (responseBody == null) {
+			if (responseBodyAsString != null)
+				responseBody = responseBodyAsString.getBytes(StandardCharsets.UTF_8);
+			else if (responseBodyAsJsonNode != null)
+				responseBody = JacksonUtils.getBytes(responseBodyAsJsonNode);
+			else
+				responseBody = JacksonUtils.getBytes(responseBodyAsMap);
+		}
+		return responseBody;
 	}
 
 	/**
@@ -55,7 +113,16 @@ public class Response {
 	 * 
 	 * @return {@link LinkedHashMap}&lt;String, Object&gt;
 	 */
-	public Map<String, Object> getResponseBodyAsMap() {
+	public synchronized Map<String, Object> getResponseBodyAsMap() {
+		if (!responseBodyAsMapConverted) {
+			if (responseBodyAsJsonNode != null)
+				responseBodyAsMap = JacksonUtils.getJsonMap(responseBodyAsJsonNode);
+			else if (responseBodyAsString != null)
+				responseBodyAsMap = JacksonUtils.getJsonMap(responseBodyAsString);
+			else
+				responseBodyAsMap = JacksonUtils.getJsonMap(getResponseBody());
+			responseBodyAsMapConverted = true;
+		}
 		return responseBodyAsMap;
 	}
 
@@ -64,7 +131,9 @@ public class Response {
 	 * 
 	 * @return JSON String
 	 */
-	public String getResponseBodyAsString() {
+	public synchronized String getResponseBodyAsString() {
+		if (responseBodyAsString == null)
+			responseBodyAsString = new String(getResponseBody(), StandardCharsets.UTF_8);
 		return responseBodyAsString;
 	}
 
@@ -73,16 +142,104 @@ public class Response {
 	 * 
 	 * @return {@link JsonNode}
 	 */
-	public JsonNode getResponseBodyAsJsonNode() {
+	public synchronized JsonNode getResponseBodyAsJsonNode() {
+		if (!responseBodyAsJsonNodeConverted) {
+			if (responseBodyAsString != null)
+				responseBodyAsJsonNode = JacksonUtils.getJsonNode(responseBodyAsString);
+			else if (responseBody != null)
+				responseBodyAsJsonNode = JacksonUtils.getJsonNode(responseBody);
+			else
+				responseBodyAsJsonNode = JacksonUtils.getJsonNode(responseBodyAsMap);
+			responseBodyAsJsonNodeConverted = true;
+		}
 		return responseBodyAsJsonNode;
 	}
 
+	/**
+	 * Get a streaming {@link JsonParser} over the response. Use this for responses
+	 * too large to be converted to a {@link JsonNode} or {@link Map}. Each call
+	 * returns a new parser positioned at the start of the response, which must be
+	 * closed by the caller
+	 * 
+	 * @return {@link JsonParser}
+	 */
+	public synchronized JsonParser getResponseBodyAsParser() {
+		if (responseBody == null && responseBodyAsString == null && responseBodyAsJsonNode != null)
+			return JacksonUtils.getJsonParser(responseBodyAsJsonNode);
+		return JacksonUtils.getJsonParser(getResponseBody());
+	}
+
+	/**
+	 * Get the value at the JSON path in the response
+	 * 
+	 * @param jsonPath JSON path expression. See {@link JsonPath}
+	 * @return Value at the path, null if the path is not found. Objects and
+	 *         arrays are returned as {@link LinkedHashMap} and {@link List}, and
+	 *         paths with wildcards return the {@link List} of the values matched
+	 * @throws JsonPathEvaluationException if the response is not valid JSON
+	 */
+	public Object getValue(String jsonPath) {
+		return getValue(JsonPath.compile(jsonPath));
+	}
+
+	/**
+	 * Get the value at the {@link JsonPath} in the response
+	 * 
+	 * @param jsonPath {@link JsonPath}
+	 * @return Value at the path, null if the path is not found. Objects and
+	 *         arrays are returned as {@link LinkedHashMap} and {@link List}, and
+	 *         paths with wildcards return the {@link List} of the values matched
+	 * @throws JsonPathEvaluationException if the response is not valid JSON
+	 */
+	public Object getValue(JsonPath jsonPath) {
+		return JsonPath.evaluate(getResponseBodyAsParser(), Collections.singletonList(jsonPath)).get(jsonPath);
+	}
+
+	/**
+	 * Get the values at the JSON paths in the response, read in a single pass
+	 * 
+	 * @param jsonPaths JSON path expressions. See {@link JsonPath}
+	 * @return Value per JSON path expression. Paths not found are left out
+	 * @throws JsonPathEvaluationException if the response is not valid JSON
+	 */
+	public Map<String, Object> getValues(String... jsonPaths) {
+		List<JsonPath> compiledJsonPaths = new ArrayList<>(jsonPaths.length);
+		for (String jsonPath : jsonPaths)
+			compiledJsonPaths.add(JsonPath.compile(jsonPath));
+		return getValues(compiledJsonPaths);
+	}
+
+	/**
+	 * Get the values at the {@link JsonPath}s in the response, read in a single
+	 * pass
+	 * 
+	 * @param jsonPaths {@link JsonPath}s
+	 * @return Value per JSON path expression. Paths not found are left out
+	 * @throws JsonPathEvaluationException if the response is not valid JSON
+	 */
+	public Map<String, Object> getValues(Collection<JsonPath> jsonPaths) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		JsonPath.evaluate(getResponseBodyAsParser(), jsonPaths)
+				.forEach((jsonPath, value) -> values.put(jsonPath.getExpression(), value));
+		return values;
+	}
+
 	/**
 	 * Get {@link HttpStatus}
 	 * 
-	 * @return {@link HttpStatus}
+	 * @return {@link HttpStatus} or null if the status code is not a standard
+	 *         {@link HttpStatus}. See {@link #getStatusCode()}
 	 */
 	public HttpStatus getStatus() {
 		return status;
 	}
+
+	/**
+	 * Get the HTTP status code
+	 * 
+	 * @return HTTP status code or 0 if the response has no status
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
 }
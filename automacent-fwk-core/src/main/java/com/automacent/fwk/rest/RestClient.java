@@ -0,0 +1,295 @@
+package com.automacent.fwk.rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.automacent.fwk.annotations.Step;
+import com.automacent.fwk.core.ExecutionContext;
+import com.automacent.fwk.core.WebServiceTestSteps;
+import com.automacent.fwk.exceptions.RestClientExecutionException;
+import com.automacent.fwk.exceptions.RestClientInvocationException;
+import com.automacent.fwk.reporting.Logger;
+import com.automacent.fwk.utils.JacksonUtils;
+
+/**
+ * REST client for {@link WebServiceTestSteps}. All the clients share one
+ * {@link HttpClient}, whose pool keeps the connections to each service alive
+ * between calls. The headers and timeout are held by the client and are not
+ * shared between tests. Calls to services supporting HTTP/2 are multiplexed over a
+ * single connection, so requests sent together with
+ * {@link #sendAsync(RestRequest)} or {@link #sendAll(List)} are in flight at
+ * the same time without opening a connection each.
+ * 
+ * Calls return a {@link Response}. A call which could not be made throws
+ * {@link RestClientInvocationException}. A call answered with an error status
+ * (4xx or 5xx) throws {@link RestClientExecutionException} holding the
+ * {@link Response}. When made from a {@link Step} method the failure fails the
+ * step. The latency of each call is recorded in {@link RestClientMetrics}
+ * 
+ * @author sighil.sivadas
+ */
+public class RestClient {
+
+	private static final Logger _logger = Logger.getLogger(RestClient.class);
+
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+	private static final int MAX_MESSAGE_BODY_LENGTH = 1000;
+
+	private static final ExecutorService executorService = newExecutorService();
+
+	private static ExecutorService newExecutorService() {
+		AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newCachedThreadPool(runnable -> {
+			// Asynchronous calls complete on these threads, where no test is bound
+			Thread thread = new Thread(() -> {
+				Logger.setBackgroundThread();
+				runnable.run();
+			}, String.format("automacent-rest-client-%s", threadCount.incrementAndGet()));
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_2)
+			.followRedirects(HttpClient.Redirect.NORMAL)
+			.connectTimeout(CONNECT_TIMEOUT)
+			.executor(executorService)
+			.build();
+
+	/**
+	 * {@link RestClient}s of the {@link ExecutionContext} per base URL
+	 */
+	private static final class ContextClients {
+		private final Map<String, RestClient> restClients = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Get the {@link RestClient} of the service for the test executing on the
+	 * current thread. Headers and timeout set on the client apply to the calls
+	 * of the test only. The client of an iteration worker starts with the headers
+	 * and timeout of the client of the test which started the worker
+	 * 
+	 * @param baseUrl Base URL of the service
+	 * @return {@link RestClient}
+	 */
+	public static RestClient getClient(String baseUrl) {
+		ExecutionContext context = ExecutionContext.getContext();
+		return getClients(context).computeIfAbsent(baseUrl, key -> {
+			RestClient restClient = new RestClient(key);
+			RestClient testRestClient = context.isWorker() ? getClients(context.getParent()).get(key) : null;
+			if (testRestClient != null) {
+				restClient.headers.putAll(testRestClient.headers);
+				restClient.timeout = testRestClient.timeout;
+			}
+			return restClient;
+		});
+	}
+
+	private static Map<String, RestClient> getClients(ExecutionContext context) {
+		return context.getAttribute(ContextClients.class, ContextClients::new).restClients;
+	}
+
+	private final String baseUrl;
+	private final Map<String, String> headers = new ConcurrentHashMap<>();
+	private volatile Duration timeout = Duration.ofSeconds(300);
+
+	/**
+	 * Create a client not shared with other tests
+	 * 
+	 * @param baseUrl Base URL of the service
+	 */
+	public RestClient(String baseUrl) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+	}
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	/**
+	 * Set a header sent with every request of the client
+	 * 
+	 * @param name  Header name
+	 * @param value Header value
+	 */
+	public void setHeader(String name, String value) {
+		headers.put(name, value);
+	}
+
+	/**
+	 * Remove a header set with {@link #setHeader(String, String)}
+	 * 
+	 * @param name Header name
+	 */
+	public void removeHeader(String name) {
+		headers.remove(name);
+	}
+
+	/**
+	 * Set the time to wait for the response of a request
+	 * 
+	 * @param timeoutInSeconds Timeout in seconds
+	 */
+	public void setTimeoutInSeconds(long timeoutInSeconds) {
+		this.timeout = Duration.ofSeconds(timeoutInSeconds);
+	}
+
+	public Response get(String path) {
+		return send(RestRequest.get(path));
+	}
+
+	public Response post(String path, Object body) {
+		return send(RestRequest.post(path, body));
+	}
+
+	public Response put(String path, Object body) {
+		return send(RestRequest.put(path, body));
+	}
+
+	public Response patch(String path, Object body) {
+		return send(RestRequest.patch(path, body));
+	}
+
+	public Response delete(String path) {
+		return send(RestRequest.delete(path));
+	}
+
+	/**
+	 * Send the request and wait for the {@link Response}
+	 * 
+	 * @param restRequest {@link RestRequest}
+	 * @return {@link Response}
+	 */
+	public Response send(RestRequest restRequest) {
+		HttpRequest httpRequest = newHttpRequest(restRequest);
+		long startTime = System.nanoTime();
+		HttpResponse<byte[]> httpResponse;
+		try {
+			httpResponse = httpClient.send(httpRequest, BodyHandlers.ofByteArray());
+		} catch (IOException e) {
+			return toResponse(httpRequest, startTime, null, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return toResponse(httpRequest, startTime, null, e);
+		}
+		return toResponse(httpRequest, startTime, httpResponse, null);
+	}
+
+	/**
+	 * Send the request without waiting for the {@link Response}. The returned
+	 * future completes exceptionally with {@link RestClientInvocationException} or
+	 * {@link RestClientExecutionException} on failure
+	 * 
+	 * @param restRequest {@link RestRequest}
+	 * @return {@link CompletableFuture} of the {@link Response}
+	 */
+	public CompletableFuture<Response> sendAsync(RestRequest restRequest) {
+		HttpRequest httpRequest = newHttpRequest(restRequest);
+		long startTime = System.nanoTime();
+		return httpClient.sendAsync(httpRequest, BodyHandlers.ofByteArray())
+				.handle((httpResponse, t) -> toResponse(httpRequest, startTime, httpResponse, t));
+	}
+
+	/**
+	 * Send all the requests together and wait for all the {@link Response}s. If
+	 * requests fail, one of the failures is thrown after all the requests are
+	 * completed
+	 * 
+	 * @param restRequests {@link RestRequest}s
+	 * @return {@link Response}s in the order of the requests
+	 */
+	public List<Response> sendAll(List<RestRequest> restRequests) {
+		List<CompletableFuture<Response>> futures = new ArrayList<>(restRequests.size());
+		for (RestRequest restRequest : restRequests)
+			futures.add(sendAsync(restRequest));
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+		List<Response> responses = new ArrayList<>(futures.size());
+		for (CompletableFuture<Response> future : futures)
+			responses.add(future.join());
+		return responses;
+	}
+
+	private HttpRequest newHttpRequest(RestRequest restRequest) {
+		HttpRequest.Builder builder;
+		try {
+			builder = HttpRequest.newBuilder(URI.create(baseUrl + restRequest.getPath()));
+		} catch (IllegalArgumentException e) {
+			throw new RestClientInvocationException(String.format("Invalid URL %s%s", baseUrl,
+					restRequest.getPath()), e);
+		}
+		builder.timeout(timeout);
+		builder.method(restRequest.getMethod(), getBodyPublisher(restRequest.getBody()));
+		if (restRequest.getBody() != null)
+			builder.header("Content-Type", "application/json");
+		builder.header("Accept", "application/json");
+		headers.forEach(builder::setHeader);
+		restRequest.getHeaders().forEach(builder::setHeader);
+		return builder.build();
+	}
+
+	private static BodyPublisher getBodyPublisher(Object body) {
+		if (body == null)
+			return BodyPublishers.noBody();
+		if (body instanceof byte[])
+			return BodyPublishers.ofByteArray((byte[]) body);
+		if (body instanceof String)
+			return BodyPublishers.ofString((String) body, StandardCharsets.UTF_8);
+		return BodyPublishers.ofByteArray(JacksonUtils.getBytes(body));
+	}
+
+	/**
+	 * Record the call and convert its outcome to a {@link Response}. Failed calls
+	 * throw the exception mapped to the failure
+	 */
+	private Response toResponse(HttpRequest httpRequest, long startTime, HttpResponse<byte[]> httpResponse,
+			Throwable t) {
+		long duration = System.nanoTime() - startTime;
+		String endpoint = RestClientMetrics.getEndpoint(httpRequest.method(), httpRequest.uri().toString());
+		if (t != null) {
+			RestClientMetrics.getMetrics().record(endpoint, duration, true);
+			if (t instanceof CompletionException && t.getCause() != null)
+				t = t.getCause();
+			throw new RestClientInvocationException(String.format("Error invoking %s %s", httpRequest.method(),
+					httpRequest.uri()), t);
+		}
+
+		int statusCode = httpResponse.statusCode();
+		boolean failed = statusCode >= 400;
+		RestClientMetrics.getMetrics().record(endpoint, duration, failed);
+		Response response = new Response(httpResponse.body(), statusCode);
+		_logger.debug(String.format("%s %s returned %s in %s ms", httpRequest.method(), httpRequest.uri(),
+				statusCode, duration / 1000000));
+		if (failed) {
+			String responseBody = response.getResponseBodyAsString();
+			if (responseBody.length() > MAX_MESSAGE_BODY_LENGTH)
+				responseBody = responseBody.substring(0, MAX_MESSAGE_BODY_LENGTH) + "...";
+			throw new RestClientExecutionException(String.format("%s %s returned %s %s", httpRequest.method(),
+					httpRequest.uri(), statusCode, responseBody), response);
+		}
+		return response;
+	}
+}
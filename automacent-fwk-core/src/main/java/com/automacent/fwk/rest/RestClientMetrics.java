@@ -0,0 +1,127 @@
+package com.automacent.fwk.rest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import com.automacent.fwk.reporting.Logger;
+
+/**
+ * Latency metrics of the calls made by the {@link RestClient}, per endpoint.
+ * The endpoint of a call is its method and URL without the query, with the
+ * numeric and UUID path segments replaced by {id} so that calls to the same
+ * resource are measured together
+ * 
+ * @author sighil.sivadas
+ */
+public class RestClientMetrics {
+
+	private static final Logger _logger = Logger.getLogger(RestClientMetrics.class);
+
+	private static final Pattern ID_SEGMENT = Pattern
+			.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+
+	private static final RestClientMetrics restClientMetrics = new RestClientMetrics();
+
+	/**
+	 * @return Singleton instance of {@link RestClientMetrics}
+	 */
+	public static RestClientMetrics getMetrics() {
+		return restClientMetrics;
+	}
+
+	private final Map<String, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+
+	private RestClientMetrics() {
+	}
+
+	/**
+	 * Latency metrics of an endpoint
+	 */
+	public static class EndpointMetrics {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder failedCalls = new LongAdder();
+		private final LongAdder totalNanoSeconds = new LongAdder();
+		private final LongAccumulator maxNanoSeconds = new LongAccumulator(Long::max, 0);
+
+		private void record(long nanoSeconds, boolean failed) {
+			calls.increment();
+			if (failed)
+				failedCalls.increment();
+			totalNanoSeconds.add(nanoSeconds);
+			maxNanoSeconds.accumulate(nanoSeconds);
+		}
+
+		public long getCalls() {
+			return calls.sum();
+		}
+
+		public long getFailedCalls() {
+			return failedCalls.sum();
+		}
+
+		public double getAverageInMilliSeconds() {
+			long count = calls.sum();
+			return count == 0 ? 0 : totalNanoSeconds.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+		}
+
+		public double getMaxInMilliSeconds() {
+			return maxNanoSeconds.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s calls, %s failed, avg %.1f ms, max %.1f ms", getCalls(), getFailedCalls(),
+					getAverageInMilliSeconds(), getMaxInMilliSeconds());
+		}
+	}
+
+	/**
+	 * @param method HTTP method
+	 * @param url    URL called
+	 * @return Endpoint the call is measured under
+	 */
+	public static String getEndpoint(String method, String url) {
+		int queryIndex = url.indexOf('?');
+		String path = queryIndex < 0 ? url : url.substring(0, queryIndex);
+		return String.format("%s %s", method, ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+	}
+
+	/**
+	 * Record a call
+	 * 
+	 * @param endpoint    Endpoint called
+	 * @param nanoSeconds Duration of the call
+	 * @param failed      True if the call failed
+	 */
+	void record(String endpoint, long nanoSeconds, boolean failed) {
+		endpointMetrics.computeIfAbsent(endpoint, key -> new EndpointMetrics()).record(nanoSeconds, failed);
+	}
+
+	/**
+	 * @return {@link EndpointMetrics} per endpoint, sorted by endpoint
+	 */
+	public Map<String, EndpointMetrics> getEndpointMetrics() {
+		return Collections.unmodifiableMap(new TreeMap<>(endpointMetrics));
+	}
+
+	/**
+	 * Log the metrics of the endpoints called
+	 */
+	public void logMetrics() {
+		for (Map.Entry<String, EndpointMetrics> entry : getEndpointMetrics().entrySet())
+			_logger.info(String.format("REST %s : %s", entry.getKey(), entry.getValue()));
+	}
+
+	/**
+	 * Clear the metrics
+	 */
+	public void reset() {
+		endpointMetrics.clear();
+	}
+}
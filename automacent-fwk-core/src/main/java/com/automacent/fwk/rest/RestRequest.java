@@ -0,0 +1,82 @@
+package com.automacent.fwk.rest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Request sent by the {@link RestClient}. The body can be a JSON String,
+ * UTF-8 encoded JSON bytes, a {@link Map}&lt;String, Object&gt; or a
+ * {@link JsonNode}
+ * 
+ * @author sighil.sivadas
+ */
+public class RestRequest {
+
+	private final String method;
+	private final String path;
+	private final Object body;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+
+	public RestRequest(String method, String path, Object body) {
+		this.method = method;
+		this.path = path;
+		this.body = body;
+	}
+
+	public static RestRequest get(String path) {
+		return new RestRequest("GET", path, null);
+	}
+
+	public static RestRequest post(String path, Object body) {
+		return new RestRequest("POST", path, body);
+	}
+
+	public static RestRequest put(String path, Object body) {
+		return new RestRequest("PUT", path, body);
+	}
+
+	public static RestRequest patch(String path, Object body) {
+		return new RestRequest("PATCH", path, body);
+	}
+
+	public static RestRequest delete(String path) {
+		return new RestRequest("DELETE", path, null);
+	}
+
+	/**
+	 * Add a header sent with this request only. Headers of the request override
+	 * the headers of the {@link RestClient}
+	 * 
+	 * @param name  Header name
+	 * @param value Header value
+	 * @return this
+	 */
+	public RestRequest header(String name, String value) {
+		headers.put(name, value);
+		return this;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public Object getBody() {
+		return body;
+	}
+
+	public Map<String, String> getHeaders() {
+		return Collections.unmodifiableMap(headers);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s", method, path);
+	}
+}
@@ -31,26 +31,39 @@ public class AspectJUtils {
 	 * @return Arguments in the format (arg1_value, arg2_value ...)
 	 */
 	public static String getArguments(ProceedingJoinPoint point) {
-		int count = 0;
-		Object[] signatureArgs = point.getArgs();
-		String arguments = " (";
-		for (Object signatureArg : signatureArgs) {
-			if (++count > 1)
-				arguments += ", ";
+		return formatArguments(point.getArgs());
+	}
+
+	/**
+	 * Format the arguments/parameters of a method
+	 * 
+	 * @param signatureArgs Argument values
+	 * @return Arguments in the format (arg1_value, arg2_value ...)
+	 */
+	public static String formatArguments(Object[] signatureArgs) {
+		if (signatureArgs == null || signatureArgs.length == 0)
+			return "";
+		StringBuilder arguments = new StringBuilder(" (");
+		for (int count = 0; count < signatureArgs.length; count++) {
+			Object signatureArg = signatureArgs[count];
+			if (count > 0)
+				arguments.append(", ");
 
 			if (signatureArg instanceof WebElement)
-				arguments += "webelement";
+				arguments.append("webelement");
 			else if (signatureArg instanceof WebDriver)
-				arguments += "webdriver";
+				arguments.append("webdriver");
 			else if (signatureArg == null)
-				arguments += "null";
-			else
-				arguments += signatureArg.toString().length() > 40
-						? String.format("%s... %s more chars ...", signatureArg.toString().substring(0, 39),
-								signatureArg.toString().length() - 40)
-						: signatureArg.toString();
+				arguments.append("null");
+			else {
+				String argument = signatureArg.toString();
+				if (argument.length() > 40)
+					arguments.append(argument, 0, 39).append("... ").append(argument.length() - 40)
+							.append(" more chars ...");
+				else
+					arguments.append(argument);
+			}
 		}
-		arguments += ")";
-		return count == 0 ? "" : arguments;
+		return arguments.append(")").toString();
 	}
 }
@@ -1,16 +1,36 @@
 package com.automacent.fwk.utils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.automacent.fwk.reporting.Logger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
- * Utils class for Jackson JSON manipulations
+ * Utils class for Jackson JSON manipulations. All the conversions share one
+ * {@link ObjectMapper} and reuse pre-built {@link ObjectReader} and
+ * {@link ObjectWriter} instances, which are immutable and safe to be used by
+ * many threads. Readers for the POJO types bound with
+ * {@link #getObject(byte[], Class)} and the related methods are built on first
+ * use and cached.
+ * 
+ * The serializers and deserializers of POJOs can be accelerated with bytecode
+ * generation by setting the system property automacent.jackson.accelerate to
+ * true and adding jackson-module-blackbird or jackson-module-afterburner to the
+ * classpath
  * 
  * @author sighil.sivadas
  */
@@ -18,7 +38,76 @@ public class JacksonUtils {
 
 	private static final Logger _logger = Logger.getLogger(JacksonUtils.class);
 
-	private static ObjectMapper mapper = new ObjectMapper();
+	private static final String[] ACCELERATOR_MODULES = {
+			"com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+			"com.fasterxml.jackson.module.afterburner.AfterburnerModule" };
+
+	private static final ObjectMapper mapper = newObjectMapper();
+
+	private static final ObjectReader treeReader = mapper.reader();
+	private static final ObjectReader mapReader = mapper
+			.readerFor(new TypeReference<LinkedHashMap<String, Object>>() {
+			});
+	private static final ObjectWriter writer = mapper.writer();
+	private static final ObjectWriter prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+	private static final ObjectWriter streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	private static final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	private static ObjectMapper newObjectMapper() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		if (Boolean.getBoolean("automacent.jackson.accelerate"))
+			registerAcceleratorModule(objectMapper);
+		return objectMapper;
+	}
+
+	/**
+	 * Register the first bytecode accelerator module found in the classpath
+	 */
+	private static void registerAcceleratorModule(ObjectMapper objectMapper) {
+		for (String moduleClassName : ACCELERATOR_MODULES)
+			try {
+				objectMapper.registerModule((Module) Class.forName(moduleClassName).getDeclaredConstructor()
+						.newInstance());
+				_logger.info(String.format("Jackson accelerated with %s", moduleClassName));
+				return;
+			} catch (ClassNotFoundException e) {
+				continue;
+			} catch (ReflectiveOperationException | LinkageError e) {
+				_logger.warn(String.format("Error registering Jackson module %s", moduleClassName), e);
+			}
+		_logger.warn("automacent.jackson.accelerate is set but neither jackson-module-blackbird nor "
+				+ "jackson-module-afterburner is in the classpath");
+	}
+
+	/**
+	 * Get the cached {@link ObjectReader} binding JSON to the type
+	 * 
+	 * @param <T>  Type to bind to
+	 * @param type Class of the type
+	 * @return {@link ObjectReader}
+	 */
+	public static <T> ObjectReader getReader(Class<T> type) {
+		return readers.computeIfAbsent(type, key -> mapper.readerFor(type));
+	}
+
+	/**
+	 * Get the cached {@link ObjectReader} binding JSON to the generic type
+	 * 
+	 * @param <T>           Type to bind to
+	 * @param typeReference {@link TypeReference} of the type
+	 * @return {@link ObjectReader}
+	 */
+	public static <T> ObjectReader getReader(TypeReference<T> typeReference) {
+		return readers.computeIfAbsent(typeReference.getType(), key -> mapper.readerFor(typeReference));
+	}
+
+	/**
+	 * @return Shared {@link ObjectWriter}
+	 */
+	public static ObjectWriter getWriter() {
+		return writer;
+	}
 
 	/**
 	 * Convert String to JSON pretty print
@@ -28,7 +117,7 @@ public class JacksonUtils {
 	 */
 	public static String getPrettyString(String jsonString) {
 		try {
-			return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonString);
+			return prettyWriter.writeValueAsString(treeReader.readTree(jsonString));
 		} catch (JsonProcessingException e) {
 			_logger.warn(String.format("Error parsing Json String as pretty %s ", jsonString), e);
 			return "";
@@ -43,7 +132,7 @@ public class JacksonUtils {
 	 */
 	public static String getString(JsonNode jsonNode) {
 		try {
-			return mapper.writeValueAsString(jsonNode);
+			return writer.writeValueAsString(jsonNode);
 		} catch (JsonProcessingException e) {
 			_logger.warn(String.format("Error parsing Json Node as String %s ", jsonNode), e);
 			return "";
@@ -57,7 +146,22 @@ public class JacksonUtils {
 	 * @return JSON String
 	 */
 	public static String getString(Map<String, Object> jsonMap) {
-		return jsonMap.toString();
+		return getString((Object) jsonMap);
+	}
+
+	/**
+	 * Serialize an object to JSON String
+	 * 
+	 * @param value Object to be serialized
+	 * @return JSON String
+	 */
+	public static String getString(Object value) {
+		try {
+			return writer.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			_logger.warn(String.format("Error serializing %s as JSON", value), e);
+			return "";
+		}
 	}
 
 	/**
@@ -67,10 +171,9 @@ public class JacksonUtils {
 	 * @param jsonString JSON String to be converted
 	 * @return {@link LinkedHashMap}&lt;String, Object&gt;
 	 */
-	@SuppressWarnings("unchecked")
 	public static Map<String, Object> getJsonMap(String jsonString) {
 		try {
-			return (LinkedHashMap<String, Object>) mapper.readValue(jsonString, LinkedHashMap.class);
+			return mapReader.readValue(jsonString);
 		} catch (IOException e) {
 			_logger.warn(String.format("Error parsing String as JSON Node %s ", jsonString), e);
 			return null;
@@ -83,9 +186,13 @@ public class JacksonUtils {
 	 * @param jsonNode {@link JsonNode} to be converted
 	 * @return {@link LinkedHashMap}&lt;String, Object&gt;
 	 */
-	@SuppressWarnings("unchecked")
 	public static Map<String, Object> getJsonMap(JsonNode jsonNode) {
-		return (LinkedHashMap<String, Object>) mapper.convertValue(jsonNode, Map.class);
+		try {
+			return mapReader.readValue(jsonNode);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error converting JSON Node as JSON Map %s ", jsonNode), e);
+			return null;
+		}
 	}
 
 	/**
@@ -96,7 +203,7 @@ public class JacksonUtils {
 	 */
 	public static JsonNode getJsonNode(String jsonString) {
 		try {
-			return mapper.readTree(jsonString);
+			return treeReader.readTree(jsonString);
 		} catch (IOException e) {
 			_logger.warn(String.format("Error parsing String as JSON Node %s ", jsonString), e);
 			return null;
@@ -112,4 +219,214 @@ public class JacksonUtils {
 	public static JsonNode getJsonNode(Map<String, Object> jsonMap) {
 		return mapper.valueToTree(jsonMap);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Convert JSON bytes to {@link LinkedHashMap}&lt;String, Object&gt;
+	 * 
+	 * @param jsonBytes UTF-8 encoded JSON to be converted
+	 * @return {@link LinkedHashMap}&lt;String, Object&gt;
+	 */
+	public static Map<String, Object> getJsonMap(byte[] jsonBytes) {
+		try {
+			return mapReader.readValue(jsonBytes);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error parsing %s bytes as JSON Map", jsonBytes.length), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Convert JSON bytes to {@link JsonNode}
+	 * 
+	 * @param jsonBytes UTF-8 encoded JSON to be converted
+	 * @return {@link JsonNode}
+	 */
+	public static JsonNode getJsonNode(byte[] jsonBytes) {
+		try {
+			return treeReader.readTree(jsonBytes);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error parsing %s bytes as JSON Node", jsonBytes.length), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Read JSON from the stream to {@link JsonNode}. The stream is not closed
+	 * 
+	 * @param inputStream {@link InputStream} of UTF-8 encoded JSON
+	 * @return {@link JsonNode}
+	 */
+	public static JsonNode getJsonNode(InputStream inputStream) {
+		try {
+			return treeReader.readTree(inputStream);
+		} catch (IOException e) {
+			_logger.warn("Error parsing stream as JSON Node", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON String to the type
+	 * 
+	 * @param <T>        Type to bind to
+	 * @param jsonString JSON String
+	 * @param type       Class of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(String jsonString, Class<T> type) {
+		try {
+			return getReader(type).readValue(jsonString);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding String as %s %s", type.getName(), jsonString), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON bytes to the type
+	 * 
+	 * @param <T>       Type to bind to
+	 * @param jsonBytes UTF-8 encoded JSON
+	 * @param type      Class of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(byte[] jsonBytes, Class<T> type) {
+		try {
+			return getReader(type).readValue(jsonBytes);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding %s bytes as %s", jsonBytes.length, type.getName()), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON read from the stream to the type. The stream is not closed
+	 * 
+	 * @param <T>         Type to bind to
+	 * @param inputStream {@link InputStream} of UTF-8 encoded JSON
+	 * @param type        Class of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(InputStream inputStream, Class<T> type) {
+		try {
+			return getReader(type).readValue(inputStream);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding stream as %s", type.getName()), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON String to the generic type
+	 * 
+	 * @param <T>           Type to bind to
+	 * @param jsonString    JSON String
+	 * @param typeReference {@link TypeReference} of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(String jsonString, TypeReference<T> typeReference) {
+		try {
+			return getReader(typeReference).readValue(jsonString);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding String as %s %s", typeReference.getType(), jsonString), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON bytes to the generic type
+	 * 
+	 * @param <T>           Type to bind to
+	 * @param jsonBytes     UTF-8 encoded JSON
+	 * @param typeReference {@link TypeReference} of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(byte[] jsonBytes, TypeReference<T> typeReference) {
+		try {
+			return getReader(typeReference).readValue(jsonBytes);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding %s bytes as %s", jsonBytes.length, typeReference.getType()),
+					e);
+			return null;
+		}
+	}
+
+	/**
+	 * Bind JSON read from the stream to the generic type. The stream is not
+	 * closed
+	 * 
+	 * @param <T>           Type to bind to
+	 * @param inputStream   {@link InputStream} of UTF-8 encoded JSON
+	 * @param typeReference {@link TypeReference} of the type
+	 * @return Bound object
+	 */
+	public static <T> T getObject(InputStream inputStream, TypeReference<T> typeReference) {
+		try {
+			return getReader(typeReference).readValue(inputStream);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error binding stream as %s", typeReference.getType()), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Serialize an object, {@link Map}&lt;String, Object&gt; or {@link JsonNode}
+	 * to UTF-8 encoded JSON
+	 * 
+	 * @param json Object to be serialized
+	 * @return UTF-8 encoded JSON
+	 */
+	public static byte[] getBytes(Object json) {
+		try {
+			return writer.writeValueAsBytes(json);
+		} catch (JsonProcessingException e) {
+			_logger.warn(String.format("Error serializing %s as JSON", json), e);
+			return new byte[0];
+		}
+	}
+
+	/**
+	 * Serialize an object as UTF-8 encoded JSON to the stream. The stream is not
+	 * closed
+	 * 
+	 * @param outputStream {@link OutputStream}
+	 * @param value        Object to be serialized
+	 * @return True if serialized
+	 */
+	public static boolean write(OutputStream outputStream, Object value) {
+		try {
+			streamWriter.writeValue(outputStream, value);
+			return true;
+		} catch (IOException e) {
+			_logger.warn(String.format("Error serializing %s as JSON to stream", value), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Get a streaming {@link JsonParser} over JSON bytes, for reading payloads
+	 * too large to be converted to a {@link JsonNode} or {@link Map}. The caller
+	 * must close the parser
+	 * 
+	 * @param jsonBytes UTF-8 encoded JSON
+	 * @return {@link JsonParser}
+	 */
+	public static JsonParser getJsonParser(byte[] jsonBytes) {
+		try {
+			return mapper.getFactory().createParser(jsonBytes);
+		} catch (IOException e) {
+			_logger.warn(String.format("Error creating JSON parser over %s bytes", jsonBytes.length), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Get a streaming {@link JsonParser} over the tokens of a {@link JsonNode}
+	 * 
+	 * @param jsonNode {@link JsonNode}
+	 * @return {@link JsonParser}
+	 */
+	public static JsonParser getJsonParser(JsonNode jsonNode) {
+		return mapper.treeAsTokens(jsonNode);
+	}
+}
@@ -0,0 +1,400 @@
+package com.automacent.fwk.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.automacent.fwk.exceptions.InvalidJsonPathException;
+import com.automacent.fwk.exceptions.JsonPathEvaluationException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Compiled JSON path expression. The following subset of the JSON path syntax
+ * is supported
+ * <ul>
+ * <li><code>$</code> for the root, which may be left out, e.g., <code>a.b</code>
+ * is <code>$.a.b</code></li>
+ * <li><code>.name</code> and <code>['name']</code> for a field</li>
+ * <li><code>[0]</code> for an element of an array</li>
+ * <li><code>.*</code> and <code>[*]</code> for all fields or elements</li>
+ * </ul>
+ * 
+ * Paths are evaluated in a single streaming pass over a {@link JsonParser},
+ * without building the document. Only the matched values are read, the rest of
+ * the document is skipped, and the pass stops as soon as every path is
+ * resolved. Compiled paths are cached by expression and can be shared between
+ * threads
+ * 
+ * @author sighil.sivadas
+ */
+public final class JsonPath {
+
+	private static final int MAX_CACHED_PATHS = 1024;
+	private static final Map<String, JsonPath> jsonPaths = new ConcurrentHashMap<>();
+
+	private static final Object WILDCARD = new Object();
+
+	/**
+	 * Get the compiled {@link JsonPath} of the expression, from the cache if the
+	 * expression is already compiled
+	 * 
+	 * @param expression JSON path expression
+	 * @return {@link JsonPath}
+	 * @throws InvalidJsonPathException if the expression is not valid
+	 */
+	public static JsonPath compile(String expression) {
+		if (expression == null)
+			throw new InvalidJsonPathException("JSON path expression is null");
+		JsonPath jsonPath = jsonPaths.get(expression);
+		if (jsonPath == null) {
+			jsonPath = new JsonPath(expression);
+			if (jsonPaths.size() < MAX_CACHED_PATHS)
+				jsonPaths.putIfAbsent(expression, jsonPath);
+		}
+		return jsonPath;
+	}
+
+	private final String expression;
+	private final Object[] segments;
+	private final boolean definite;
+
+	private JsonPath(String expression) {
+		this.expression = expression;
+		this.segments = parse(expression);
+		boolean definite = true;
+		for (Object segment : segments)
+			if (segment == WILDCARD)
+				definite = false;
+		this.definite = definite;
+	}
+
+	/**
+	 * Parse the expression into segments, which are field names, array indices
+	 * or {@link #WILDCARD}
+	 */
+	private static Object[] parse(String expression) {
+		String path = expression.trim();
+		if (!path.startsWith("$"))
+			path = path.startsWith(".") || path.startsWith("[") ? "$" + path : "$." + path;
+		List<Object> segments = new ArrayList<>();
+		int position = 1;
+		int length = path.length();
+		while (position < length) {
+			char c = path.charAt(position);
+			if (c == '.') {
+				position++;
+				if (position < length && path.charAt(position) == '*') {
+					segments.add(WILDCARD);
+					position++;
+					continue;
+				}
+				int end = position;
+				while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[')
+					end++;
+				if (end == position)
+					throw invalid(expression, position);
+				segments.add(path.substring(position, end));
+				position = end;
+			} else if (c == '[') {
+				position++;
+				if (position < length && (path.charAt(position) == '\'' || path.charAt(position) == '"')) {
+					int end = path.indexOf(path.charAt(position), position + 1);
+					if (end < 0 || end + 1 >= length || path.charAt(end + 1) != ']')
+						throw invalid(expression, position);
+					segments.add(path.substring(position + 1, end));
+					position = end + 2;
+					continue;
+				}
+				int end = path.indexOf(']', position);
+				if (end < 0)
+					throw invalid(expression, position);
+				String index = path.substring(position, end).trim();
+				if (index.equals("*"))
+					segments.add(WILDCARD);
+				else {
+					try {
+						int arrayIndex = Integer.parseInt(index);
+						if (arrayIndex < 0)
+							throw invalid(expression, position);
+						segments.add(arrayIndex);
+					} catch (NumberFormatException e) {
+						throw invalid(expression, position);
+					}
+				}
+				position = end + 1;
+			} else
+				throw invalid(expression, position);
+		}
+		return segments.toArray();
+	}
+
+	private static InvalidJsonPathException invalid(String expression, int position) {
+		return new InvalidJsonPathException(String.format("Invalid JSON path %s near position %s", expression, position));
+	}
+
+	/**
+	 * @return JSON path expression the path is compiled from
+	 */
+	public String getExpression() {
+		return expression;
+	}
+
+	/**
+	 * @return True if the path has no wildcard and matches at most one value
+	 */
+	public boolean isDefinite() {
+		return definite;
+	}
+
+	/**
+	 * Evaluate the paths in a single pass over the parser. The parser is closed
+	 * when the evaluation completes. Matched objects and arrays are read as
+	 * {@link LinkedHashMap} and {@link List}, as in
+	 * {@link JacksonUtils#getJsonMap(byte[])}
+	 * 
+	 * @param parser    {@link JsonParser} positioned before the JSON value
+	 * @param jsonPaths {@link JsonPath}s to evaluate
+	 * @return Value per {@link JsonPath}. Definite paths not found in the JSON
+	 *         are left out, and paths with wildcards map to the {@link List} of
+	 *         the values matched
+	 * @throws JsonPathEvaluationException if the JSON is malformed or truncated
+	 *                                     before every path is resolved. JSON
+	 *                                     after the last resolved path is not
+	 *                                     read and not validated
+	 */
+	public static Map<JsonPath, Object> evaluate(JsonParser parser, Collection<JsonPath> jsonPaths) {
+		Evaluation evaluation = new Evaluation(jsonPaths);
+		if (parser == null)
+			return evaluation.getValues();
+		try (JsonParser jsonParser = parser) {
+			if (!evaluation.isDone() && jsonParser.nextToken() != null)
+				evaluation.walk(jsonParser, evaluation.getRootCursors());
+		} catch (IOException e) {
+			throw new JsonPathEvaluationException(String.format("Error evaluating JSON paths %s", jsonPaths), e);
+		}
+		return evaluation.getValues();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		return object instanceof JsonPath && ((JsonPath) object).expression.equals(expression);
+	}
+
+	@Override
+	public int hashCode() {
+		return expression.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	/**
+	 * Position of a {@link JsonPath} in the document, i.e., the number of
+	 * segments of the path matched so far
+	 */
+	private static final class Cursor {
+		private final int path;
+		private final int depth;
+
+		private Cursor(int path, int depth) {
+			this.path = path;
+			this.depth = depth;
+		}
+	}
+
+	/**
+	 * State of an evaluation. Every {@link JsonPath} has the count of its live
+	 * {@link Cursor}s, and the evaluation is done when no path has a live
+	 * {@link Cursor}
+	 */
+	private static final class Evaluation {
+		private final List<JsonPath> jsonPaths;
+		private final Object[] values;
+		private final boolean[] found;
+		private final int[] liveCursors;
+		private int remainingPaths;
+
+		private Evaluation(Collection<JsonPath> jsonPaths) {
+			this.jsonPaths = new ArrayList<>(new LinkedHashSet<>(jsonPaths));
+			int size = this.jsonPaths.size();
+			values = new Object[size];
+			found = new boolean[size];
+			liveCursors = new int[size];
+			for (int path = 0; path < size; path++) {
+				if (!this.jsonPaths.get(path).definite)
+					values[path] = new ArrayList<>();
+				liveCursors[path] = 1;
+			}
+			remainingPaths = size;
+		}
+
+		private List<Cursor> getRootCursors() {
+			List<Cursor> cursors = new ArrayList<>(jsonPaths.size());
+			for (int path = 0; path < jsonPaths.size(); path++)
+				cursors.add(new Cursor(path, 0));
+			return cursors;
+		}
+
+		private boolean isDone() {
+			return remainingPaths == 0;
+		}
+
+		private Object getSegment(Cursor cursor) {
+			return jsonPaths.get(cursor.path).segments[cursor.depth];
+		}
+
+		private boolean isMatched(Cursor cursor) {
+			return cursor.depth == jsonPaths.get(cursor.path).segments.length;
+		}
+
+		private Cursor advance(Cursor cursor) {
+			liveCursors[cursor.path]++;
+			return new Cursor(cursor.path, cursor.depth + 1);
+		}
+
+		private void retire(Cursor cursor) {
+			if (--liveCursors[cursor.path] == 0)
+				remainingPaths--;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void record(Cursor cursor, Object value) {
+			if (jsonPaths.get(cursor.path).definite) {
+				values[cursor.path] = value;
+				found[cursor.path] = true;
+			} else
+				((List<Object>) values[cursor.path]).add(value);
+			retire(cursor);
+		}
+
+		/**
+		 * Walk the JSON value the parser is positioned at, leaving the parser at the
+		 * last token of the value
+		 */
+		private void walk(JsonParser parser, List<Cursor> cursors) throws IOException {
+			List<Cursor> matched = new ArrayList<>();
+			List<Cursor> descending = new ArrayList<>();
+			for (Cursor cursor : cursors)
+				(isMatched(cursor) ? matched : descending).add(cursor);
+
+			JsonToken token = parser.currentToken();
+			if (!matched.isEmpty()) {
+				if (descending.isEmpty() || !token.isStructStart()) {
+					Object value = parser.readValueAs(Object.class);
+					matched.forEach(cursor -> record(cursor, value));
+					descending.forEach(this::retire);
+					return;
+				}
+				// The value is both matched and descended into by longer paths
+				JsonNode jsonNode = parser.readValueAsTree();
+				try (JsonParser nodeParser = JacksonUtils.getJsonParser(jsonNode)) {
+					nodeParser.nextToken();
+					Object value = nodeParser.readValueAs(Object.class);
+					matched.forEach(cursor -> record(cursor, value));
+				}
+				try (JsonParser nodeParser = JacksonUtils.getJsonParser(jsonNode)) {
+					nodeParser.nextToken();
+					walk(nodeParser, descending);
+				}
+				return;
+			}
+
+			if (token == JsonToken.START_OBJECT)
+				walkObject(parser, descending);
+			else if (token == JsonToken.START_ARRAY)
+				walkArray(parser, descending);
+			else
+				descending.forEach(this::retire);
+		}
+
+		private void walkObject(JsonParser parser, List<Cursor> cursors) throws IOException {
+			List<Cursor> active = new ArrayList<>();
+			for (Cursor cursor : cursors) {
+				if (getSegment(cursor) instanceof Integer)
+					retire(cursor);
+				else
+					active.add(cursor);
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.getCurrentName();
+				parser.nextToken();
+				List<Cursor> children = null;
+				for (Iterator<Cursor> iterator = active.iterator(); iterator.hasNext();) {
+					Cursor cursor = iterator.next();
+					Object segment = getSegment(cursor);
+					if (segment == WILDCARD || name.equals(segment)) {
+						if (children == null)
+							children = new ArrayList<>();
+						children.add(advance(cursor));
+						if (segment != WILDCARD) {
+							iterator.remove();
+							retire(cursor);
+						}
+					}
+				}
+				if (children == null)
+					parser.skipChildren();
+				else {
+					walk(parser, children);
+					if (isDone())
+						return;
+				}
+			}
+			active.forEach(this::retire);
+		}
+
+		private void walkArray(JsonParser parser, List<Cursor> cursors) throws IOException {
+			List<Cursor> active = new ArrayList<>();
+			for (Cursor cursor : cursors) {
+				if (getSegment(cursor) instanceof String)
+					retire(cursor);
+				else
+					active.add(cursor);
+			}
+			int index = 0;
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				List<Cursor> children = null;
+				for (Iterator<Cursor> iterator = active.iterator(); iterator.hasNext();) {
+					Cursor cursor = iterator.next();
+					Object segment = getSegment(cursor);
+					if (segment == WILDCARD || segment.equals(index)) {
+						if (children == null)
+							children = new ArrayList<>();
+						children.add(advance(cursor));
+						if (segment != WILDCARD) {
+							iterator.remove();
+							retire(cursor);
+						}
+					}
+				}
+				if (children == null)
+					parser.skipChildren();
+				else {
+					walk(parser, children);
+					if (isDone())
+						return;
+				}
+				index++;
+			}
+			active.forEach(this::retire);
+		}
+
+		private Map<JsonPath, Object> getValues() {
+			Map<JsonPath, Object> jsonPathValues = new LinkedHashMap<>();
+			for (int path = 0; path < jsonPaths.size(); path++)
+				if (found[path] || !jsonPaths.get(path).definite)
+					jsonPathValues.put(jsonPaths.get(path), values[path]);
+			return jsonPathValues;
+		}
+	}
+}
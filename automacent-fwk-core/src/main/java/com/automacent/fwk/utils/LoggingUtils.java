@@ -3,9 +3,12 @@ package com.automacent.fwk.utils;
 import static com.automacent.fwk.enums.LogType.HTML;
 import static com.automacent.fwk.enums.LogType.TEXT;
 
+import java.util.regex.Pattern;
+
 import com.automacent.fwk.annotations.Action;
 import com.automacent.fwk.annotations.Step;
 import com.automacent.fwk.enums.LogType;
+import com.automacent.fwk.execution.ExecutionFrameStack;
 
 /**
  * Utils class for manipulating logs and log statements
@@ -13,26 +16,19 @@ import com.automacent.fwk.enums.LogType;
  * @author sighil.sivadas
  */
 public class LoggingUtils {
+
+	private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("(?=[A-Z])");
+
 	/**
 	 * Get the nesting level of logs. If test failed on {@link Action}, it checks
 	 * how nested the {@link Action} call is i.e., how many {@link Step} calls are
-	 * made before it in the execution stack.
+	 * made before it in the execution stack. The level is tracked by
+	 * {@link ExecutionFrameStack} as the framework aspects enter and exit methods
 	 * 
 	 * @return nesting level * 4
 	 */
 	public static int getNestingLevelOfLogs() {
-		StackTraceElement[] stackTraceElements = Thread.currentThread().getStackTrace();
-		int nestingLevel = 0;
-		for (StackTraceElement stackTraceElement : stackTraceElements) {
-			String methodName = stackTraceElement.getMethodName();
-			if (methodName.contains("aroundBody") || methodName.contains("aroundActionCompilerAspect")
-					|| methodName.contains("aroundStepCompilerAspect")
-					|| methodName.contains("aroundBeforeCompilerAspect")
-					|| methodName.contains("aroundAfterCompilerAspect")
-					|| methodName.contains("aroundTestCompilerAspect"))
-				nestingLevel += 2;
-		}
-		return nestingLevel;
+		return ExecutionFrameStack.getNestingLevel();
 	}
 
 	/**
@@ -60,7 +56,7 @@ public class LoggingUtils {
 	 * @return String with spaces
 	 */
 	public static String addSpaceToCamelCaseString(String source) {
-		return source.replaceAll(String.format("%s", "(?=[A-Z])"), " ").toLowerCase();
+		return CAMEL_CASE_BOUNDARY.matcher(source).replaceAll(" ").toLowerCase();
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package com.automacent.fwk.utils;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import com.automacent.fwk.enums.MethodType;
 import com.automacent.fwk.enums.TestStatus;
@@ -19,6 +20,8 @@ import com.automacent.fwk.reporting.Logger;
 public class ThreadUtils {
 	private static final Logger _logger = Logger.getLogger(ThreadUtils.class);
 
+	private static final long SCAN_INTERVAL_IN_MILLISECONDS = TimeUnit.SECONDS.toMillis(30);
+
 	public static Long getThreadId() {
 		return Thread.currentThread().getId();
 	}
@@ -38,21 +41,33 @@ public class ThreadUtils {
 	 * @param sleepTimeInSeconds Sleep time in seconds
 	 */
 	public static void sleepFor(int sleepTimeInSeconds) {
+		if (sleepTimeInSeconds > 10)
+			_logger.info(String.format("Sleeping for %s seconds", sleepTimeInSeconds));
+		sleepForMilliSeconds(TimeUnit.SECONDS.toMillis(sleepTimeInSeconds));
+	}
+
+	/**
+	 * When called execution will sleep for the specified time. Test duration and
+	 * force completion of the test in the launcher are checked every 30 seconds
+	 * during the sleep
+	 * 
+	 * @param sleepTimeInMilliSeconds Sleep time in milliseconds
+	 */
+	public static void sleepForMilliSeconds(long sleepTimeInMilliSeconds) {
 		long startTime = new Date().getTime();
 		LauncherClientManager.getManager().logStart("sleep", MethodType.SLEEP);
-		int currentSleepTime = sleepTimeInSeconds;
-		if (currentSleepTime > 10)
-			_logger.info(String.format("Sleeping for %s seconds", sleepTimeInSeconds));
+		long currentSleepTime = sleepTimeInMilliSeconds;
 
 		try {
 			do {
-				int scanInterval = currentSleepTime < 30 ? currentSleepTime : 30;
-				_logger.debug(String.format("Sleeping for %s seconds of %s seconds remaining", scanInterval,
+				long scanInterval = currentSleepTime < SCAN_INTERVAL_IN_MILLISECONDS ? currentSleepTime
+						: SCAN_INTERVAL_IN_MILLISECONDS;
+				_logger.debug(String.format("Sleeping for %s milliseconds of %s milliseconds remaining", scanInterval,
 						currentSleepTime));
-				Thread.sleep(scanInterval * 1000);
+				Thread.sleep(scanInterval);
 				IterationManager.getManager().checkIfTestDurationExceeded();
-				LauncherHeartBeat.getManager().ping();
-			} while ((currentSleepTime = currentSleepTime - 30) > 0);
+				LauncherHeartBeat.getManager().checkIfForceCompleted();
+			} while ((currentSleepTime = currentSleepTime - SCAN_INTERVAL_IN_MILLISECONDS) > 0);
 			LauncherClientManager.getManager().logEnd("sleep", MethodType.SLEEP, TestStatus.PASS,
 					new Date().getTime() - startTime, null);
 		} catch (InterruptedException e) {
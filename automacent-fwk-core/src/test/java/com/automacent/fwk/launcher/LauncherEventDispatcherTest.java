@@ -0,0 +1,103 @@
+package com.automacent.fwk.launcher;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.automacent.fwk.enums.MethodType;
+
+/**
+ * Tests that a flush of the {@link LauncherEventDispatcher} delivers the events
+ * of the calling thread while other threads keep dispatching to their own
+ * launcher clients
+ * 
+ * @author sighil.sivadas
+ */
+public class LauncherEventDispatcherTest {
+
+	private static final int THREADS = 8;
+	private static final int ROUNDS = 5;
+	private static final int EVENTS_PER_ROUND = 200;
+
+	private final LauncherEventDispatcher dispatcher = LauncherEventDispatcher.getDispatcher();
+
+	@BeforeMethod
+	public void setUp() {
+		// Events are delivered only on flush or when a batch fills up
+		dispatcher.setLauncherSpool(null);
+		dispatcher.setBatchSize(EVENTS_PER_ROUND * THREADS);
+		dispatcher.setFlushIntervalInMilliSeconds(TimeUnit.MINUTES.toMillis(10));
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void tearDown() {
+		dispatcher.setBatchSize(50);
+		dispatcher.setFlushIntervalInMilliSeconds(1000);
+	}
+
+	@Test
+	public void testFlushDeliversEventsOfCallerUnderParallelClients() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < THREADS; thread++)
+				futures.add(executorService.submit(() -> {
+					RecordingLauncherClient launcherClient = new RecordingLauncherClient();
+					start.await();
+					for (int round = 1; round <= ROUNDS; round++) {
+						for (int event = 1; event <= EVENTS_PER_ROUND; event++)
+							dispatcher.dispatch(launcherClient,
+									LauncherEvent.success("test", MethodType.TEST, event, round));
+						dispatcher.flush();
+
+						List<LauncherEvent> launcherEvents = launcherClient.getLauncherEvents();
+						assertEquals(launcherEvents.size(), round * EVENTS_PER_ROUND,
+								"Events of the caller not delivered on flush");
+						for (int i = 0; i < launcherEvents.size(); i++) {
+							assertEquals(launcherEvents.get(i).getDuration(), i / EVENTS_PER_ROUND + 1);
+							assertEquals(launcherEvents.get(i).getIteration(), i % EVENTS_PER_ROUND + 1);
+						}
+					}
+					return null;
+				}));
+			start.countDown();
+			for (Future<?> future : futures)
+				future.get(2, TimeUnit.MINUTES);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testFailingClientDoesNotStopDelivery() {
+		ILauncherClient failingLauncherClient = new RecordingLauncherClient() {
+			@Override
+			public void logBatch(List<LauncherEvent> launcherEvents) {
+				throw new AssertionError("Launcher client failure");
+			}
+		};
+		RecordingLauncherClient launcherClient = new RecordingLauncherClient();
+
+		dispatcher.dispatch(failingLauncherClient, LauncherEvent.start("test", MethodType.TEST));
+		dispatcher.dispatch(launcherClient, LauncherEvent.start("test", MethodType.TEST));
+		dispatcher.flush();
+		dispatcher.dispatch(launcherClient, LauncherEvent.stop());
+		dispatcher.flush();
+
+		assertEquals(launcherClient.getLauncherEvents().size(), 1);
+		assertEquals(launcherClient.getStopCount(), 1);
+		assertTrue(launcherClient.getLauncherEvents().get(0).getType() == LauncherEvent.Type.START);
+	}
+}
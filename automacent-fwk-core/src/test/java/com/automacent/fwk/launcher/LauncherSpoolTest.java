@@ -0,0 +1,114 @@
+package com.automacent.fwk.launcher;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.automacent.fwk.enums.MethodType;
+
+/**
+ * Tests that a {@link LauncherSpool} created over the spool of an earlier run
+ * forwards the records left behind to recreated launcher clients, and that
+ * {@link LauncherSpoolReplay} pushes a spool in order
+ * 
+ * @author sighil.sivadas
+ */
+public class LauncherSpoolTest {
+
+	private Path directory;
+
+	@BeforeMethod
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("launcher-spool");
+		RecordingLauncherClient.clearInstances();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+				Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testRestartForwardsRecordsOfEarlierRun() throws IOException {
+		writeEarlierRun(true);
+		RecordingLauncherClient launcherClient = new RecordingLauncherClient();
+
+		LauncherSpool launcherSpool = new LauncherSpool(directory);
+		List<LauncherEvent> launcherEvents = new ArrayList<>();
+		launcherEvents.add(LauncherEvent.start("live", MethodType.TEST));
+		launcherEvents.add(LauncherEvent.stop());
+		launcherSpool.append(launcherClient, launcherEvents);
+		assertTrue(launcherSpool.awaitDelivery(30000), "Launcher spool not delivered");
+
+		assertEquals(getMethodNames(launcherClient), List.of("live"));
+		assertEquals(launcherClient.getStopCount(), 1);
+
+		RecordingLauncherClient replayLauncherClient = getReplayLauncherClient(launcherClient);
+		assertEquals(replayLauncherClient.getTestInstanceId(), 42);
+		assertEquals(getMethodNames(replayLauncherClient), List.of("first", "second"));
+		assertEquals(replayLauncherClient.getStopCount(), 1);
+		assertFalse(Files.exists(LauncherSpool.getSegment(directory, 1)), "Delivered segment not deleted");
+	}
+
+	@Test
+	public void testReplayDeliversInOrder() throws IOException {
+		writeEarlierRun(false);
+
+		assertTrue(new LauncherSpoolReplay(directory).replay(), "Launcher spool not delivered");
+
+		RecordingLauncherClient replayLauncherClient = getReplayLauncherClient(null);
+		assertEquals(replayLauncherClient.getTestInstanceId(), 42);
+		assertEquals(getMethodNames(replayLauncherClient), List.of("first", "second"));
+		assertEquals(replayLauncherClient.getStopCount(), 1);
+		assertTrue(new LauncherSpoolReplay(directory).replay(), "Delivered spool not empty");
+		assertEquals(RecordingLauncherClient.getInstances().size(), 1, "Delivered records replayed again");
+	}
+
+	/**
+	 * Write the segment left by an earlier run. The segment ends with a record cut
+	 * short by a crash when partial is true
+	 */
+	private void writeEarlierRun(boolean partial) throws IOException {
+		String client = RecordingLauncherClient.class.getName();
+		String segment = getRecord(client, "{\"type\":\"START\",\"method\":\"first\",\"methodType\":\"TEST\"}")
+				+ getRecord(client, "{\"type\":\"START\",\"method\":\"second\",\"methodType\":\"TEST\"},"
+						+ "{\"type\":\"STOP\"}");
+		if (partial)
+			segment += "{\"run\":\"earlier\",\"stream\":1,\"client\":\"" + client + "\",\"eve";
+		Files.write(LauncherSpool.getSegment(directory, 1), segment.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String getRecord(String client, String events) {
+		return "{\"run\":\"earlier\",\"stream\":1,\"client\":\"" + client + "\",\"testInstanceId\":42,\"events\":["
+				+ events + "]}\n";
+	}
+
+	private RecordingLauncherClient getReplayLauncherClient(RecordingLauncherClient launcherClient) {
+		List<RecordingLauncherClient> replayLauncherClients = RecordingLauncherClient.getInstances().stream()
+				.filter(instance -> instance != launcherClient).collect(Collectors.toList());
+		assertEquals(replayLauncherClients.size(), 1, "Launcher client not recreated once for the stream");
+		return replayLauncherClients.get(0);
+	}
+
+	private List<String> getMethodNames(RecordingLauncherClient launcherClient) {
+		return launcherClient.getLauncherEvents().stream().map(LauncherEvent::getMethodName)
+				.collect(Collectors.toList());
+	}
+}
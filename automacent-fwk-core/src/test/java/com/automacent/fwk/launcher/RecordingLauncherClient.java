@@ -0,0 +1,93 @@
+package com.automacent.fwk.launcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.testng.ITestContext;
+
+import com.automacent.fwk.enums.MethodType;
+import com.automacent.fwk.enums.TestStatus;
+
+/**
+ * Launcher client recording the events delivered to it. Instances created by
+ * the framework, e.g., when replaying a spool, are registered in
+ * {@link #getInstances()}
+ * 
+ * @author sighil.sivadas
+ */
+public class RecordingLauncherClient extends AbstractLauncherClient {
+
+	private static final List<RecordingLauncherClient> instances = new CopyOnWriteArrayList<>();
+
+	private final List<LauncherEvent> launcherEvents = Collections.synchronizedList(new ArrayList<>());
+	private volatile int stopCount = 0;
+
+	public RecordingLauncherClient() {
+		instances.add(this);
+	}
+
+	/**
+	 * @return Instances created since the last {@link #clearInstances()}
+	 */
+	static List<RecordingLauncherClient> getInstances() {
+		return instances;
+	}
+
+	static void clearInstances() {
+		instances.clear();
+	}
+
+	/**
+	 * @return Copy of the events delivered so far
+	 */
+	List<LauncherEvent> getLauncherEvents() {
+		synchronized (launcherEvents) {
+			return new ArrayList<>(launcherEvents);
+		}
+	}
+
+	int getStopCount() {
+		return stopCount;
+	}
+
+	@Override
+	public void logBatch(List<LauncherEvent> launcherEvents) {
+		this.launcherEvents.addAll(launcherEvents);
+	}
+
+	@Override
+	public void startTest(ITestContext testContext) {
+	}
+
+	@Override
+	public void logSuccess(String methodName, MethodType methodType, int iteration, long duration) {
+	}
+
+	@Override
+	public void logFailure(String methodName, MethodType methodType, int iteration, Throwable e, long duration) {
+	}
+
+	@Override
+	public void stopTest() {
+		stopCount++;
+	}
+
+	@Override
+	public void ping() {
+	}
+
+	@Override
+	public void logStart(String methodWithArguments, MethodType methodType) {
+	}
+
+	@Override
+	public void logEnd(String methodWithArguments, MethodType methodType, TestStatus testStatus, long duration,
+			Throwable t) {
+	}
+
+	@Override
+	public void logPerformance() {
+	}
+}
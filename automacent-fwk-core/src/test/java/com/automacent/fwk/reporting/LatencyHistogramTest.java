@@ -0,0 +1,94 @@
+package com.automacent.fwk.reporting;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the accuracy of the percentiles reported by {@link LatencyHistogram}
+ * 
+ * @author sighil.sivadas
+ */
+public class LatencyHistogramTest {
+
+	private static final double RELATIVE_ERROR = 1.0 / 64;
+
+	@Test
+	public void testEmptyHistogram() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		assertEquals(latencyHistogram.getCount(), 0);
+		assertEquals(latencyHistogram.getMeanInMilliSeconds(), 0.0);
+		assertEquals(latencyHistogram.getPercentileInMilliSeconds(99), 0.0);
+		assertEquals(latencyHistogram.getMaxInMilliSeconds(), 0.0);
+	}
+
+	@Test
+	public void testLatenciesBelowSubBucketCountAreExact() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		for (long microSeconds = 1; microSeconds <= 100; microSeconds++)
+			latencyHistogram.record(TimeUnit.MICROSECONDS.toNanos(microSeconds));
+		assertEquals(latencyHistogram.getPercentileInMilliSeconds(50), 0.050);
+		assertEquals(latencyHistogram.getPercentileInMilliSeconds(90), 0.090);
+		assertEquals(latencyHistogram.getPercentileInMilliSeconds(100), 0.100);
+	}
+
+	@Test
+	public void testPercentilesAreWithinRelativeError() {
+		Random random = new Random(42);
+		long[] latencies = new long[100000];
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		for (int i = 0; i < latencies.length; i++) {
+			// Log uniform from 1 microsecond to 1 hour
+			latencies[i] = TimeUnit.MICROSECONDS.toNanos((long) Math.pow(10, random.nextDouble() * 9.6));
+			latencyHistogram.record(latencies[i]);
+		}
+		Arrays.sort(latencies);
+
+		for (double percentile : new double[] { 1, 10, 50, 90, 99, 99.9, 100 }) {
+			long exact = latencies[(int) Math.ceil(percentile / 100 * latencies.length) - 1];
+			double expected = exact / 1e6;
+			double actual = latencyHistogram.getPercentileInMilliSeconds(percentile);
+			assertTrue(actual >= expected - 0.001 && actual <= expected * (1 + RELATIVE_ERROR) + 0.001,
+					String.format("p%s is %s ms, expected %s ms", percentile, actual, expected));
+		}
+		assertEquals(latencyHistogram.getMaxInMilliSeconds(), latencies[latencies.length - 1] / 1e6);
+		assertEquals(latencyHistogram.getMeanInMilliSeconds(),
+				Arrays.stream(latencies).average().getAsDouble() / 1e6, 1e-6);
+	}
+
+	@Test
+	public void testPercentileDoesNotExceedMax() {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		latencyHistogram.record(TimeUnit.MILLISECONDS.toNanos(1000) + 1);
+		assertEquals(latencyHistogram.getPercentileInMilliSeconds(99), latencyHistogram.getMaxInMilliSeconds());
+	}
+
+	@Test
+	public void testConcurrentRecordingAndMerge() throws InterruptedException {
+		LatencyHistogram latencyHistogram = new LatencyHistogram();
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++)
+			executorService.execute(() -> {
+				for (long microSeconds = 1; microSeconds <= 10000; microSeconds++)
+					latencyHistogram.record(TimeUnit.MICROSECONDS.toNanos(microSeconds));
+			});
+		executorService.shutdown();
+		assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+		assertEquals(latencyHistogram.getCount(), 80000);
+
+		LatencyHistogram merged = new LatencyHistogram();
+		merged.record(TimeUnit.MILLISECONDS.toNanos(20));
+		merged.add(latencyHistogram);
+		assertEquals(merged.getCount(), 80001);
+		assertEquals(merged.getMaxInMilliSeconds(), 20.0);
+		double median = merged.getPercentileInMilliSeconds(50);
+		assertTrue(median >= 5.0 && median <= 5.0 * (1 + RELATIVE_ERROR), String.valueOf(median));
+	}
+}
@@ -0,0 +1,150 @@
+package com.automacent.fwk.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.automacent.fwk.exceptions.InvalidJsonPathException;
+import com.automacent.fwk.exceptions.JsonPathEvaluationException;
+
+/**
+ * Tests the parsing of {@link JsonPath} expressions and their evaluation in a
+ * single streaming pass, which stops once every path is resolved
+ * 
+ * @author sighil.sivadas
+ */
+public class JsonPathTest {
+
+	private static final String JSON = "{\"name\":\"order\",\"total\":12.5,\"paid\":true,\"note\":null,"
+			+ "\"customer\":{\"id\":7,\"first name\":\"Ann\",\"tags\":[\"new\",\"vip\"]},"
+			+ "\"items\":[{\"sku\":\"a\",\"qty\":1},{\"sku\":\"b\",\"qty\":2},{\"sku\":\"c\",\"qty\":3}]}";
+
+	@DataProvider
+	public Object[][] expressions() {
+		return new Object[][] { { "$.name", "order" }, { "name", "order" }, { ".name", "order" },
+				{ "$['name']", "order" }, { "$[\"name\"]", "order" }, { "$.customer.id", 7 },
+				{ "$.customer['first name']", "Ann" }, { "$.customer.tags[1]", "vip" },
+				{ "$.items[2].sku", "c" }, { "$.items[ 0 ]['qty']", 1 }, { "$.total", 12.5 },
+				{ "$.paid", true } };
+	}
+
+	@Test(dataProvider = "expressions")
+	public void testDefinitePath(String expression, Object value) {
+		JsonPath jsonPath = JsonPath.compile(expression);
+		assertTrue(jsonPath.isDefinite());
+		assertEquals(jsonPath.getExpression(), expression);
+		assertEquals(evaluate(JSON, jsonPath).get(jsonPath), value);
+	}
+
+	@Test
+	public void testRootPath() {
+		JsonPath jsonPath = JsonPath.compile("$");
+		Map<?, ?> document = (Map<?, ?>) evaluate(JSON, jsonPath).get(jsonPath);
+		assertEquals(document.keySet(), List.of("name", "total", "paid", "note", "customer", "items"));
+	}
+
+	@Test
+	public void testCompiledPathIsCached() {
+		assertSame(JsonPath.compile("$.items[0].sku"), JsonPath.compile("$.items[0].sku"));
+	}
+
+	@DataProvider
+	public Object[][] invalidExpressions() {
+		return new Object[][] { { null }, { "$." }, { "$..name" }, { "$name" }, { "$[" }, { "$[0" }, { "$[-1]" },
+				{ "$[x]" }, { "$['name'" }, { "$['name'x]" }, { "$.items[0]sku" } };
+	}
+
+	@Test(dataProvider = "invalidExpressions", expectedExceptions = InvalidJsonPathException.class)
+	public void testInvalidPath(String expression) {
+		JsonPath.compile(expression);
+	}
+
+	@Test
+	public void testWildcardPaths() {
+		JsonPath skus = JsonPath.compile("$.items[*].sku");
+		JsonPath customer = JsonPath.compile("$.customer.*");
+		assertFalse(skus.isDefinite());
+
+		Map<JsonPath, Object> values = evaluate(JSON, skus, customer);
+		assertEquals(values.get(skus), List.of("a", "b", "c"));
+		assertEquals(values.get(customer), List.of(7, "Ann", List.of("new", "vip")));
+	}
+
+	@Test
+	public void testOverlappingPaths() {
+		JsonPath customer = JsonPath.compile("$.customer");
+		JsonPath tags = JsonPath.compile("$.customer.tags");
+		JsonPath tag = JsonPath.compile("$.customer.tags[0]");
+		JsonPath quantities = JsonPath.compile("$.items[*].qty");
+		JsonPath firstQuantity = JsonPath.compile("$.items[0].qty");
+
+		Map<JsonPath, Object> values = evaluate(JSON, customer, tags, tag, quantities, firstQuantity);
+		assertEquals(((Map<?, ?>) values.get(customer)).get("id"), 7);
+		assertEquals(values.get(tags), List.of("new", "vip"));
+		assertEquals(values.get(tag), "new");
+		assertEquals(values.get(quantities), List.of(1, 2, 3));
+		assertEquals(values.get(firstQuantity), 1);
+	}
+
+	@Test
+	public void testMissingPaths() {
+		JsonPath note = JsonPath.compile("$.note");
+		JsonPath missingField = JsonPath.compile("$.customer.email");
+		JsonPath missingIndex = JsonPath.compile("$.items[5].sku");
+		JsonPath fieldOfArray = JsonPath.compile("$.items.sku");
+		JsonPath indexOfObject = JsonPath.compile("$.customer[0]");
+		JsonPath missingWildcard = JsonPath.compile("$.items[*].price");
+
+		Map<JsonPath, Object> values = evaluate(JSON, note, missingField, missingIndex, fieldOfArray, indexOfObject,
+				missingWildcard);
+		assertTrue(values.containsKey(note), "Null value left out");
+		assertEquals(values.get(note), null);
+		assertEquals(List.copyOf(values.keySet()), List.of(note, missingWildcard));
+		assertEquals(values.get(missingWildcard), List.of());
+	}
+
+	@Test
+	public void testEvaluationStopsOnceResolved() {
+		JsonPath name = JsonPath.compile("$.name");
+		JsonPath sku = JsonPath.compile("$.items[0].sku");
+
+		assertEquals(evaluate("{\"name\":\"order\",\"items\":[{\"sku\":\"a\"}, not json", name, sku),
+				Map.of(name, "order", sku, "a"));
+	}
+
+	@Test
+	public void testMalformedJsonBeforeResolution() {
+		JsonPath jsonPath = JsonPath.compile("$.items[1].sku");
+		try {
+			evaluate("{\"name\":\"order\",\"items\":[{\"sku\":\"a\"}, not json", jsonPath);
+		} catch (JsonPathEvaluationException e) {
+			assertTrue(e.getCause() != null, "Parser error not set as cause");
+			return;
+		}
+		throw new AssertionError("JsonPathEvaluationException not thrown");
+	}
+
+	@Test(expectedExceptions = JsonPathEvaluationException.class)
+	public void testTruncatedJsonBeforeResolution() {
+		evaluate("{\"name\":\"order\",\"items\":[{\"sku\":", JsonPath.compile("$.items[0].sku"));
+	}
+
+	@Test
+	public void testEmptyJson() {
+		assertEquals(evaluate("", JsonPath.compile("$.name")), Map.of());
+	}
+
+	private Map<JsonPath, Object> evaluate(String json, JsonPath... jsonPaths) {
+		return JsonPath.evaluate(JacksonUtils.getJsonParser(json.getBytes(StandardCharsets.UTF_8)),
+				Arrays.asList(jsonPaths));
+	}
+}